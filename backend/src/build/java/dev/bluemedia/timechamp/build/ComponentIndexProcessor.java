@@ -0,0 +1,156 @@
+package dev.bluemedia.timechamp.build;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.FilerException;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.NoSuchFileException;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor generating the index of all API components during compilation.
+ * Every concrete class annotated with {@code jakarta.ws.rs.Path} or {@code jakarta.ws.rs.ext.Provider} is listed
+ * in {@link #INDEX_RESOURCE}, so the REST application can register them without scanning the classpath.
+ * The processor is compiled in a separate execution of the maven-compiler-plugin and not packaged with the
+ * application, see the backend pom.xml.
+ * <p>
+ * An incremental compilation only passes the changed sources to the processor. The components of the existing
+ * index are therefore kept as long as their classes are still components, otherwise the rewritten index would lose
+ * every unchanged controller.
+ */
+@SupportedAnnotationTypes({"jakarta.ws.rs.Path", "jakarta.ws.rs.ext.Provider"})
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+    /** Classpath location of the generated index, read by {@code RestApplication} */
+    public static final String INDEX_RESOURCE = "META-INF/timechamp/components.idx";
+
+    /** Binary names of all found components, sorted to keep the index reproducible */
+    private final Set<String> components = new TreeSet<>();
+
+    /** Whether the components of the index of a previous compilation were already read */
+    private boolean previousIndexRead;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!previousIndexRead) {
+            readPreviousIndex();
+            previousIndexRead = true;
+        }
+
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (isComponent(element)) {
+                    components.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+                }
+            }
+        }
+
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    /**
+     * Read the index of a previous compilation from the class output and keep all of its components which are
+     * still concrete, annotated classes. Components which were changed are checked against their new source,
+     * deleted components can no longer be found and are dropped.
+     */
+    private void readPreviousIndex() {
+        FileObject index;
+        try {
+            index = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+        } catch (FilerException | IllegalArgumentException ex) {
+            return;
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    String.format("Failed to locate the previous component index: %s", ex.getMessage()));
+            return;
+        }
+
+        int kept = 0;
+        try (Reader reader = index.openReader(true); BufferedReader lines = new BufferedReader(reader)) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                String component = line.trim();
+                if (component.isEmpty()) {
+                    continue;
+                }
+                TypeElement element = processingEnv.getElementUtils().getTypeElement(component.replace('$', '.'));
+                if (element != null && isComponent(element) && components.add(component)) {
+                    kept++;
+                }
+            }
+        } catch (FileNotFoundException | NoSuchFileException ex) {
+            // First compilation, there is no previous index
+            return;
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    String.format("Failed to read the previous component index: %s", ex.getMessage()));
+            return;
+        }
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                String.format("Kept %d API components of the previous %s", kept, INDEX_RESOURCE));
+    }
+
+    /**
+     * Check whether the given element is a concrete class annotated as API component.
+     * @param element Element to check.
+     * @return True if the element belongs into the index, false otherwise.
+     */
+    private static boolean isComponent(Element element) {
+        // Resource methods are annotated with @Path as well, only classes are components
+        if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            String name = ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+            if (name.equals("jakarta.ws.rs.Path") || name.equals("jakarta.ws.rs.ext.Provider")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Write the index containing all found components.
+     */
+    private void writeIndex() {
+        try {
+            FileObject index = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (Writer writer = index.openWriter()) {
+                for (String component : components) {
+                    writer.write(component);
+                    writer.write('\n');
+                }
+            }
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    String.format("Indexed %d API components in %s", components.size(), INDEX_RESOURCE));
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    String.format("Failed to write the component index: %s", ex.getMessage()));
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package dev.bluemedia.timechamp.build;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.bluemedia.timechamp.db.MigrationIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Generates the {@link MigrationIndex} of the migration files during the build.
+ * Executed in its own JVM by the exec-maven-plugin in the process-classes phase and not packaged with the
+ * application, see the backend pom.xml.
+ * The build fails if the schema versions of the migration files are not consecutive starting at 0.
+ */
+public class MigrationIndexGenerator {
+
+    /** SLF4J logger for usage in this class */
+    private static final Logger LOG = LoggerFactory.getLogger(MigrationIndexGenerator.class.getName());
+
+    /** Pattern matching the names of migration files */
+    private static final Pattern migrationFilePattern = Pattern.compile("migration-([0-9]+)\\.sql");
+
+    /**
+     * Generate the migration index.
+     * @param args Path of the output directory containing the migrations folder.
+     * @throws IOException Exception thrown if the migration files could not be read or the index could not be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: MigrationIndexGenerator <output directory>");
+        }
+        Path outputDirectory = Paths.get(args[0]);
+        Path migrationsDirectory = outputDirectory.resolve("migrations");
+
+        // Sort by the numeric schema version, not by the file name
+        TreeMap<Long, Path> migrationFiles = new TreeMap<>();
+        try (Stream<Path> paths = Files.list(migrationsDirectory)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Matcher matcher = migrationFilePattern.matcher(path.getFileName().toString());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                Path duplicate = migrationFiles.put(Long.parseLong(matcher.group(1)), path);
+                if (duplicate != null) {
+                    throw new IllegalStateException(String.format("Migration files %s and %s have the same version",
+                            duplicate.getFileName(), path.getFileName()));
+                }
+            }
+        }
+
+        List<MigrationIndex.Entry> entries = new ArrayList<>();
+        long expectedVersion = 0;
+        for (var migrationFile : migrationFiles.entrySet()) {
+            if (migrationFile.getKey() != expectedVersion) {
+                throw new IllegalStateException(String.format("Migration for schema version %d is missing",
+                        expectedVersion));
+            }
+            entries.add(new MigrationIndex.Entry(migrationFile.getKey(),
+                    migrationFile.getValue().getFileName().toString(),
+                    MigrationIndex.checksum(Files.readAllBytes(migrationFile.getValue()))));
+            expectedVersion++;
+        }
+        if (entries.isEmpty()) {
+            throw new IllegalStateException(String.format("No migration files found in %s", migrationsDirectory));
+        }
+
+        Path indexFile = outputDirectory.resolve(MigrationIndex.RESOURCE);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(indexFile.toFile(), new MigrationIndex(entries));
+        LOG.info("Wrote index of {} migrations to {}", entries.size(), indexFile);
+    }
+
+}
@@ -0,0 +1,83 @@
+package dev.bluemedia.timechamp.api;
+
+import dev.bluemedia.timechamp.api.provider.ObjectMapperProvider;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.jackson.JacksonFeature;
+import org.glassfish.jersey.media.multipart.MultiPartFeature;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time from creating the REST application in a fresh JVM until its first request is answered.
+ * The components are either registered from the compile-time index or found by scanning the packages, like
+ * before the index existed. Every fork measures a single cold start.
+ * <p>
+ * Scanning is cheap on the exploded classes of the build, it only gets expensive within the fat JAR. Build the JAR
+ * with {@code mvn -Pjmh package} and put it on the classpath of the runner instead of the build output:
+ * <pre>
+ * java -cp target/jmh-classes:target/backend-1.0-SNAPSHOT-jar-with-dependencies.jar:&lt;JMH and its dependencies&gt;
+ *     org.openjdk.jmh.Main StartupBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+
+    private static final URI BASE_URI = URI.create("http://localhost/api/");
+
+    @Benchmark
+    public ContainerResponse firstRequestIndexed() throws InterruptedException, ExecutionException {
+        return firstRequest(new RestApplication());
+    }
+
+    @Benchmark
+    public ContainerResponse firstRequestScanned() throws InterruptedException, ExecutionException {
+        ResourceConfig application = new ResourceConfig();
+        application.packages(
+                "dev.bluemedia.timechamp.api.filter",
+                "dev.bluemedia.timechamp.api.controller",
+                "dev.bluemedia.timechamp.api.exception.mapper"
+        );
+        application.register(MultiPartFeature.class);
+        application.register(ObjectMapperProvider.class);
+        application.register(JacksonFeature.class);
+        return firstRequest(application);
+    }
+
+    /**
+     * Initialize the given application and send a request to the liveness probe, which is available while the
+     * application is starting.
+     * @param application Application that should answer the request.
+     * @return Response of the request.
+     * @throws InterruptedException Exception thrown if the thread was interrupted while waiting for the response.
+     * @throws ExecutionException Exception thrown if the request failed.
+     */
+    private static ContainerResponse firstRequest(ResourceConfig application)
+            throws InterruptedException, ExecutionException {
+        ApplicationHandler handler = new ApplicationHandler(application);
+        ContainerRequest request = new ContainerRequest(BASE_URI, BASE_URI.resolve("system/health/live"), "GET",
+                null, new MapPropertiesDelegate(), handler.getConfiguration());
+        ContainerResponse response = handler.apply(request).get();
+        if (response.getStatus() != 200) {
+            throw new IllegalStateException("First request failed with status " + response.getStatus());
+        }
+        return response;
+    }
+
+}
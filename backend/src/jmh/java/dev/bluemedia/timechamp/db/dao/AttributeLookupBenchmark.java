@@ -0,0 +1,115 @@
+package dev.bluemedia.timechamp.db.dao;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.table.TableUtils;
+import dev.bluemedia.timechamp.model.object.TimeEntry;
+import dev.bluemedia.timechamp.model.object.TimeRollup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the attribute lookups of {@link GenericDao}, which reuse compiled queries, with building and preparing
+ * a new query on every call like before. Run with {@code -prof gc} to compare the allocations per lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AttributeLookupBenchmark {
+
+    /** Amount of stored entries */
+    private static final int ENTRIES = 10_000;
+
+    /** Amount of entries per user */
+    private static final int ENTRIES_PER_USER = 10;
+
+    private JdbcConnectionSource connectionSource;
+
+    private Dao<TimeEntry, String> dao;
+
+    private TimeEntryDaoImpl entryDao;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createDatabase() throws SQLException {
+        connectionSource = new JdbcConnectionSource("jdbc:h2:mem:lookups;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        TableUtils.createTable(connectionSource, TimeEntry.class);
+        TableUtils.createTable(connectionSource, TimeRollup.class);
+        dao = DaoManager.createDao(connectionSource, TimeEntry.class);
+        Dao<TimeRollup, String> rollups = DaoManager.createDao(connectionSource, TimeRollup.class);
+        entryDao = new TimeEntryDaoImpl(dao, dao, new TimeRollupDaoImpl(rollups, rollups));
+
+        List<TimeEntry> entries = new ArrayList<>(ENTRIES);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < ENTRIES; i++) {
+            entries.add(new TimeEntry("entry-" + i, "user-" + i / ENTRIES_PER_USER, "project",
+                    start.plusHours(i), start.plusHours(i).plusMinutes(30), null));
+        }
+        dao.create(entries);
+    }
+
+    @TearDown(Level.Trial)
+    public void dropDatabase() throws Exception {
+        TableUtils.dropTable(connectionSource, TimeEntry.class, false);
+        TableUtils.dropTable(connectionSource, TimeRollup.class, false);
+        connectionSource.close();
+    }
+
+    @Benchmark
+    public TimeEntry getByAttributeMatch() {
+        return entryDao.getByAttributeMatch("id", nextEntryId());
+    }
+
+    @Benchmark
+    public TimeEntry getByAttributeMatchNewQuery() throws SQLException {
+        QueryBuilder<TimeEntry, String> queryBuilder = dao.queryBuilder();
+        queryBuilder.where().eq("id", nextEntryId());
+        List<TimeEntry> results = dao.query(queryBuilder.prepare());
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    @Benchmark
+    public List<TimeEntry> getAllByAttributeMatch() {
+        return entryDao.getAllByAttributeMatch("userId", nextUserId());
+    }
+
+    @Benchmark
+    public List<TimeEntry> getAllByAttributeMatchNewQuery() throws SQLException {
+        QueryBuilder<TimeEntry, String> queryBuilder = dao.queryBuilder();
+        queryBuilder.where().eq("userId", nextUserId());
+        return dao.query(queryBuilder.prepare());
+    }
+
+    private String nextEntryId() {
+        next = (next + 7919) % ENTRIES;
+        return "entry-" + next;
+    }
+
+    private String nextUserId() {
+        next = (next + 7919) % ENTRIES;
+        return "user-" + next / ENTRIES_PER_USER;
+    }
+
+}
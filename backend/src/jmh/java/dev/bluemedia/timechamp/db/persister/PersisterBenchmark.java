@@ -0,0 +1,192 @@
+package dev.bluemedia.timechamp.db.persister;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.table.DatabaseTable;
+import com.j256.ormlite.table.TableUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ISO string based {@link LocalDateTimePersister} with the {@link EpochMillisLocalDateTimePersister},
+ * both for the conversion of single values and for reading a range of rows filtered by the stored date time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PersisterBenchmark {
+
+    /** Amount of values converted per invocation */
+    private static final int VALUES = 1024;
+
+    private final LocalDateTime[] dateTimes = new LocalDateTime[VALUES];
+
+    private final Object[] isoStrings = new Object[VALUES];
+
+    private final Object[] epochMillis = new Object[VALUES];
+
+    @Setup(Level.Trial)
+    public void createValues() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < VALUES; i++) {
+            dateTimes[i] = start.plusMinutes(i * 97L).plusSeconds(i % 60).plusNanos(i * 1_000_000L % 1_000_000_000L);
+            isoStrings[i] = LocalDateTimePersister.getSingleton().javaToSqlArg(null, dateTimes[i]);
+            epochMillis[i] = EpochMillisLocalDateTimePersister.getSingleton().javaToSqlArg(null, dateTimes[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void decodeIsoString(Blackhole blackhole) {
+        for (Object value : isoStrings) {
+            blackhole.consume(LocalDateTimePersister.getSingleton().sqlArgToJava(null, value, 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void decodeEpochMillis(Blackhole blackhole) {
+        for (Object value : epochMillis) {
+            blackhole.consume(EpochMillisLocalDateTimePersister.getSingleton().sqlArgToJava(null, value, 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void encodeIsoString(Blackhole blackhole) {
+        for (LocalDateTime dateTime : dateTimes) {
+            blackhole.consume(LocalDateTimePersister.getSingleton().javaToSqlArg(null, dateTime));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void encodeEpochMillis(Blackhole blackhole) {
+        for (LocalDateTime dateTime : dateTimes) {
+            blackhole.consume(EpochMillisLocalDateTimePersister.getSingleton().javaToSqlArg(null, dateTime));
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<IsoStringRow> readRangeIsoString(RangeState state) throws SQLException {
+        return state.isoStringDao.queryBuilder().where()
+                .between("time", state.from, state.to).query();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<EpochMillisRow> readRangeEpochMillis(RangeState state) throws SQLException {
+        return state.epochMillisDao.queryBuilder().where()
+                .between("time", state.from, state.to).query();
+    }
+
+    /**
+     * Tables of the same rows with the date time stored by either persister. The range covers a quarter of them.
+     */
+    @State(Scope.Benchmark)
+    public static class RangeState {
+
+        /** Amount of stored rows per table */
+        private static final int ROWS = 100_000;
+
+        private JdbcConnectionSource connectionSource;
+
+        private Dao<IsoStringRow, String> isoStringDao;
+
+        private Dao<EpochMillisRow, String> epochMillisDao;
+
+        private final LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(ROWS * 15L / 4);
+
+        private final LocalDateTime to = from.plusMinutes(ROWS * 15L / 4);
+
+        @Setup(Level.Trial)
+        public void createDatabase() throws SQLException {
+            connectionSource = new JdbcConnectionSource("jdbc:h2:mem:persisters;MODE=MySQL;DB_CLOSE_DELAY=-1");
+            TableUtils.createTable(connectionSource, IsoStringRow.class);
+            TableUtils.createTable(connectionSource, EpochMillisRow.class);
+            isoStringDao = DaoManager.createDao(connectionSource, IsoStringRow.class);
+            epochMillisDao = DaoManager.createDao(connectionSource, EpochMillisRow.class);
+
+            List<IsoStringRow> isoStringRows = new ArrayList<>(ROWS);
+            List<EpochMillisRow> epochMillisRows = new ArrayList<>(ROWS);
+            LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+            for (int i = 0; i < ROWS; i++) {
+                // Rows are not inserted in order of their date time, like entries of different users
+                LocalDateTime time = start.plusMinutes((i * 7919L % ROWS) * 15);
+                isoStringRows.add(new IsoStringRow("row-" + i, time));
+                epochMillisRows.add(new EpochMillisRow("row-" + i, time));
+            }
+            isoStringDao.create(isoStringRows);
+            epochMillisDao.create(epochMillisRows);
+        }
+
+        @TearDown(Level.Trial)
+        public void dropDatabase() throws Exception {
+            TableUtils.dropTable(connectionSource, IsoStringRow.class, false);
+            TableUtils.dropTable(connectionSource, EpochMillisRow.class, false);
+            connectionSource.close();
+        }
+
+    }
+
+    @DatabaseTable(tableName = "benchmark_iso_string_rows")
+    public static class IsoStringRow {
+
+        @DatabaseField(id = true)
+        private String id;
+
+        @DatabaseField(persisterClass = LocalDateTimePersister.class, index = true)
+        private LocalDateTime time;
+
+        private IsoStringRow() {}
+
+        IsoStringRow(String id, LocalDateTime time) {
+            this.id = id;
+            this.time = time;
+        }
+
+    }
+
+    @DatabaseTable(tableName = "benchmark_epoch_millis_rows")
+    public static class EpochMillisRow {
+
+        @DatabaseField(id = true)
+        private String id;
+
+        @DatabaseField(persisterClass = EpochMillisLocalDateTimePersister.class, index = true)
+        private LocalDateTime time;
+
+        private EpochMillisRow() {}
+
+        EpochMillisRow(String id, LocalDateTime time) {
+            this.id = id;
+            this.time = time;
+        }
+
+    }
+
+}
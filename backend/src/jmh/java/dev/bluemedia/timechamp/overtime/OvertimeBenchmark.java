@@ -0,0 +1,173 @@
+package dev.bluemedia.timechamp.overtime;
+
+import dev.bluemedia.timechamp.model.response.OvertimeBalance;
+import dev.bluemedia.timechamp.model.type.RollupPeriod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calculates the overtime balances of 1000 users over 10 years. The primitive engine is compared with the natural
+ * implementation walking date time objects in lists, both starting from the worked time per day, and the bulk
+ * calculation on the common fork/join pool is compared with a single thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class OvertimeBenchmark {
+
+    private static final int USERS = 1000;
+
+    private static final LocalDate FROM = LocalDate.of(2015, 1, 1);
+
+    private static final LocalDate TO = LocalDate.of(2024, 12, 31);
+
+    /** Minutes that have to be worked from Monday to Sunday */
+    private static final int[] WEEKDAY_TARGETS = {480, 480, 480, 480, 480, 0, 0};
+
+    /** Days with worked time of every user */
+    private long[][] workedDays;
+
+    /** Worked seconds on the days of every user */
+    private long[][] workedSeconds;
+
+    private OvertimeEngine parallelEngine;
+
+    private ForkJoinPool singleThreadPool;
+
+    private OvertimeEngine singleThreadEngine;
+
+    @Setup(Level.Trial)
+    public void createWorkedTime() {
+        Random random = new Random(42);
+        int days = (int) (TO.toEpochDay() - FROM.toEpochDay() + 1);
+        workedDays = new long[USERS][];
+        workedSeconds = new long[USERS][];
+        for (int user = 0; user < USERS; user++) {
+            long[] userDays = new long[days];
+            long[] userSeconds = new long[days];
+            int count = 0;
+            for (long day = FROM.toEpochDay(); day <= TO.toEpochDay(); day++) {
+                // Work on weekdays and some weekends, between 6 and 10 hours
+                if (LocalDate.ofEpochDay(day).getDayOfWeek().getValue() <= 5 || random.nextInt(20) == 0) {
+                    userDays[count] = day;
+                    userSeconds[count] = 6 * 3600 + random.nextInt(4 * 3600);
+                    count++;
+                }
+            }
+            workedDays[user] = Arrays.copyOf(userDays, count);
+            workedSeconds[user] = Arrays.copyOf(userSeconds, count);
+        }
+        parallelEngine = new OvertimeEngine(WEEKDAY_TARGETS);
+        singleThreadPool = new ForkJoinPool(1);
+        singleThreadEngine = new OvertimeEngine(WEEKDAY_TARGETS, singleThreadPool);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdownPool() {
+        singleThreadPool.shutdown();
+    }
+
+    @Benchmark
+    public List<OvertimeBalance> bulkBalancesParallel() {
+        return parallelEngine.calculateAll(createTimelines());
+    }
+
+    @Benchmark
+    public List<OvertimeBalance> bulkBalancesSingleThread() {
+        return singleThreadEngine.calculateAll(createTimelines());
+    }
+
+    @Benchmark
+    public void monthlyBalancesPrimitive(Blackhole blackhole) {
+        for (WorkTimeline timeline : createTimelines()) {
+            blackhole.consume(singleThreadEngine.calculate(timeline, RollupPeriod.MONTH));
+        }
+    }
+
+    @Benchmark
+    public void monthlyBalancesObjects(Blackhole blackhole) {
+        for (int user = 0; user < USERS; user++) {
+            List<LocalDateTime[]> intervals = new ArrayList<>(workedDays[user].length);
+            for (int i = 0; i < workedDays[user].length; i++) {
+                LocalDateTime start = LocalDate.ofEpochDay(workedDays[user][i]).atTime(8, 0);
+                intervals.add(new LocalDateTime[] {start, start.plusSeconds(workedSeconds[user][i])});
+            }
+            blackhole.consume(monthlyBalancesOfObjects(intervals));
+        }
+    }
+
+    /**
+     * Create the timelines of all users from their worked time per day.
+     * @return List containing the timeline of every user.
+     */
+    private List<WorkTimeline> createTimelines() {
+        int days = (int) (TO.toEpochDay() - FROM.toEpochDay() + 1);
+        List<WorkTimeline> timelines = new ArrayList<>(USERS);
+        for (int user = 0; user < USERS; user++) {
+            WorkTimeline timeline = new WorkTimeline("user-" + user, FROM.toEpochDay(), days);
+            for (int i = 0; i < workedDays[user].length; i++) {
+                timeline.addSeconds(workedDays[user][i], workedSeconds[user][i]);
+            }
+            timelines.add(timeline);
+        }
+        return timelines;
+    }
+
+    /**
+     * Natural implementation of the monthly breakdown, walking the days as {@link LocalDate}s and keeping the sums
+     * in boxed collections.
+     * @param intervals Worked intervals of a user.
+     * @return Worked minutes, target minutes and running balance at the end of every month.
+     */
+    private static Map<YearMonth, List<Long>> monthlyBalancesOfObjects(List<LocalDateTime[]> intervals) {
+        Map<LocalDate, Long> workedPerDay = new HashMap<>();
+        for (LocalDateTime[] interval : intervals) {
+            workedPerDay.merge(interval[0].toLocalDate(), Duration.between(interval[0], interval[1]).getSeconds(),
+                    Long::sum);
+        }
+
+        Map<YearMonth, List<Long>> months = new LinkedHashMap<>();
+        long balance = 0;
+        for (LocalDate day = FROM; !day.isAfter(TO); day = day.plusDays(1)) {
+            long worked = workedPerDay.getOrDefault(day, 0L) / 60;
+            long target = WEEKDAY_TARGETS[day.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue()];
+            balance += worked - target;
+            List<Long> month = months.computeIfAbsent(YearMonth.from(day),
+                    key -> new ArrayList<>(List.of(0L, 0L, 0L)));
+            month.set(0, month.get(0) + worked);
+            month.set(1, month.get(1) + target);
+            month.set(2, balance);
+        }
+        return months;
+    }
+
+}
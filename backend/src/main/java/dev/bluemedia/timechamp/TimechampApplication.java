@@ -1,13 +1,22 @@
 package dev.bluemedia.timechamp;
 
 import dev.bluemedia.timechamp.db.DBHelper;
+import dev.bluemedia.timechamp.job.BackgroundMigrationJob;
+import dev.bluemedia.timechamp.job.TimeRollupRebuildJob;
+import dev.bluemedia.timechamp.model.config.Config;
+import dev.bluemedia.timechamp.model.type.MisfirePolicy;
+import dev.bluemedia.timechamp.scheduler.JobDefinition;
+import dev.bluemedia.timechamp.scheduler.SchedulerHelper;
 import dev.bluemedia.timechamp.util.ConfigUtil;
 import dev.bluemedia.timechamp.util.JettyServer;
-import org.quartz.Scheduler;
+import dev.bluemedia.timechamp.util.StartupTracker;
 import org.quartz.SchedulerException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 /**
  * Main class for Timechamp. Perform initialisation of all components and launches the application afterwards.
  *
@@ -18,34 +27,72 @@ public class TimechampApplication {
     /** SLF4J logger for usage in this class */
     private static final Logger LOG = LoggerFactory.getLogger(TimechampApplication.class.getName());
 
-    /** Global Quartz scheduler used to schedule sync tasks */
-    private static Scheduler quartzScheduler;
-
     public static void main(String[] args) {
         // Add shutdown hook to cleanly shut down the application
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             LOG.info("Performing clean shutdown");
             JettyServer.stop();
-            if (quartzScheduler != null) {
-                try {
-                    quartzScheduler.shutdown();
-                } catch (SchedulerException ex) {
-                    LOG.error("An unexpected error occurred", ex);
-                }
-            }
+            SchedulerHelper.shutdown();
+            DBHelper.closeWriteBehind();
             DBHelper.close();
         }));
 
-        // Initialize the database helper class
-        DBHelper.init(ConfigUtil.getConfig().getDatabaseJDBCUrl());
+        Config config = StartupTracker.time("config", ConfigUtil::getConfig);
+
+        // Initialize the database helper class in parallel to the web server.
+        // API requests are rejected by the readiness filter until the startup is completed.
+        CompletableFuture<Void> database = CompletableFuture.runAsync(
+                () -> StartupTracker.run("database", () -> DBHelper.init(config)),
+                runnable -> new Thread(runnable, "startup-database").start());
 
         // Start Jetty web server
         try {
-            JettyServer.start(ConfigUtil.getConfig());
+            StartupTracker.run("web", () -> JettyServer.start(config));
         } catch (Exception ex) {
             LOG.error("Failed to start web server.", ex);
             System.exit(1);
         }
+
+        try {
+            database.join();
+        } catch (CompletionException ex) {
+            LOG.error("Failed to initialize the database.", ex.getCause());
+            System.exit(1);
+        }
+
+        // Start the scheduler after the web server, so background work does not delay startup
+        try {
+            StartupTracker.run("scheduler", () -> startScheduler(config));
+        } catch (SchedulerException ex) {
+            LOG.error("Failed to start scheduler.", ex);
+            System.exit(1);
+        }
+
+        StartupTracker.markReady();
+
+        try {
+            JettyServer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Register the background jobs and start the scheduler executing them.
+     * @param config Config containing the settings of the scheduler and the background jobs.
+     * @throws SchedulerException Exception thrown if the scheduler could not be started.
+     */
+    private static void startScheduler(Config config) throws SchedulerException {
+        SchedulerHelper.register(JobDefinition.recurring(BackgroundMigrationJob.NAME, BackgroundMigrationJob.class,
+                config.getBackgroundMigrations().getIntervalSeconds(), MisfirePolicy.SKIP));
+
+        String rollupRebuildCron = config.getScheduler().getTimeRollupRebuildCron();
+        SchedulerHelper.register(rollupRebuildCron != null
+                ? JobDefinition.cron(TimeRollupRebuildJob.NAME, TimeRollupRebuildJob.class, rollupRebuildCron,
+                        MisfirePolicy.SKIP)
+                : JobDefinition.onDemand(TimeRollupRebuildJob.NAME, TimeRollupRebuildJob.class));
+
+        SchedulerHelper.start(config.getScheduler());
     }
 
 }
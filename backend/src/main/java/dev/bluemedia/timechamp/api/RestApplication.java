@@ -8,6 +8,13 @@ import org.glassfish.jersey.server.ResourceConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Main entry point for the Timechamp REST API.
  *
@@ -19,18 +26,27 @@ public class RestApplication extends ResourceConfig {
     /** SLF4J logger for usage in this class */
     private static final Logger LOG = LoggerFactory.getLogger(RestApplication.class.getName());
 
+    /** Classpath location of the component index generated by the ComponentIndexProcessor in src/build/java */
+    private static final String COMPONENT_INDEX_RESOURCE = "META-INF/timechamp/components.idx";
+
     /**
      * Create a new entry point instance and initialize all components.
      */
     public RestApplication() {
         LOG.info("Initializing API...");
         LOG.info("Registering components...");
-        packages(
-                "dev.bluemedia.timechamp.api.filter",
-                "dev.bluemedia.timechamp.api.controller",
-                "dev.bluemedia.timechamp.api.exception.mapper"
-        );
-        LOG.info("Components registered successfully");
+        long start = System.nanoTime();
+        if (!registerIndexedComponents()) {
+            LOG.warn("Component index {} not found, scanning the classpath instead. " +
+                    "The index is generated when compiling with Maven.", COMPONENT_INDEX_RESOURCE);
+            packages(
+                    "dev.bluemedia.timechamp.api.filter",
+                    "dev.bluemedia.timechamp.api.controller",
+                    "dev.bluemedia.timechamp.api.exception.mapper"
+            );
+        }
+        LOG.info("Components registered successfully in {} ms",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
         LOG.info("Registering features and providers...");
         register(MultiPartFeature.class);
         register(ObjectMapperProvider.class);
@@ -40,4 +56,29 @@ public class RestApplication extends ResourceConfig {
         // Create the default api user if no users exist in the database
         LOG.info("API successfully initialized");
     }
+
+    /**
+     * Register the components listed in the component index generated at compile time.
+     * @return true if the components were registered, false if the index could not be found.
+     */
+    private boolean registerIndexedComponents() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        try (InputStream indexStream = classLoader.getResourceAsStream(COMPONENT_INDEX_RESOURCE)) {
+            if (indexStream == null) {
+                return false;
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(indexStream, StandardCharsets.UTF_8));
+            String className;
+            while ((className = reader.readLine()) != null) {
+                if (!className.isBlank()) {
+                    register(Class.forName(className.trim(), true, classLoader));
+                }
+            }
+            return true;
+        } catch (IOException | ClassNotFoundException ex) {
+            // A broken index must not leave the API without components, fall back to scanning the classpath
+            LOG.error("An unexpected error occurred", ex);
+            return false;
+        }
+    }
 }
@@ -0,0 +1,86 @@
+package dev.bluemedia.timechamp.api.controller;
+
+import dev.bluemedia.timechamp.api.exception.GenericException;
+import dev.bluemedia.timechamp.db.BackgroundMigrationRunner;
+import dev.bluemedia.timechamp.db.DBHelper;
+import dev.bluemedia.timechamp.db.dao.DbMetadataDaoImpl;
+import dev.bluemedia.timechamp.db.dao.PageCursor;
+import dev.bluemedia.timechamp.model.object.DbMetadata;
+import dev.bluemedia.timechamp.model.response.PagedResponse;
+import dev.bluemedia.timechamp.util.CursorUtil;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * Controller used to inspect the database migrations applied to the database and the background migrations.
+ */
+@Path("/migrations")
+public class MigrationController {
+
+    /** Maximum amount of objects that can be requested within one page */
+    private static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Get the history of applied database migrations, ordered by schema version.
+     * @param cursor Cursor returned with the previous page, or null to get the first page.
+     * @param limit Maximum amount of migrations contained in the page.
+     * @param asyncResponse Response that is resumed with the page containing the applied migrations.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public void getMigrations(@QueryParam("cursor") String cursor,
+                              @QueryParam("limit") @DefaultValue("50") int limit,
+                              @Suspended AsyncResponse asyncResponse) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new GenericException(Response.Status.BAD_REQUEST, "invalid_limit",
+                    String.format("The limit must be between 1 and %d.", MAX_PAGE_SIZE));
+        }
+
+        DbMetadataDaoImpl metadataDao = DBHelper.getMetadataDao();
+        PageCursor after;
+        try {
+            after = CursorUtil.decode(cursor,
+                    metadataDao.getColumnType("schemaVersion"), metadataDao.getIdType());
+        } catch (IllegalArgumentException ex) {
+            throw new GenericException(Response.Status.BAD_REQUEST, "invalid_cursor",
+                    "The given cursor is invalid. Please start again from the first page.");
+        }
+
+        // Release the request thread while the database is working
+        DBHelper.async(metadataDao).page("schemaVersion", after, limit).whenComplete((page, ex) -> {
+            if (ex != null) {
+                asyncResponse.resume(ex instanceof CompletionException ? ex.getCause() : ex);
+            } else {
+                asyncResponse.resume(new PagedResponse<>(page.getItems(), CursorUtil.encode(page.getNextCursor())));
+            }
+        });
+    }
+
+    /**
+     * Get the progress of the background migrations, which continue after startup.
+     * @param asyncResponse Response that is resumed with the state of every background migration.
+     */
+    @GET
+    @Path("/background")
+    @Produces(MediaType.APPLICATION_JSON)
+    public void getBackgroundMigrations(@Suspended AsyncResponse asyncResponse) {
+        BackgroundMigrationRunner runner = DBHelper.getBackgroundMigrationRunner();
+        DBHelper.supplyAsync(runner::getStates).whenComplete((states, ex) -> {
+            if (ex != null) {
+                asyncResponse.resume(ex instanceof CompletionException ? ex.getCause() : ex);
+            } else {
+                asyncResponse.resume(states);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,301 @@
+package dev.bluemedia.timechamp.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.bluemedia.timechamp.api.exception.GenericException;
+import dev.bluemedia.timechamp.api.export.StreamingExport;
+import dev.bluemedia.timechamp.api.filter.EntityVersioned;
+import dev.bluemedia.timechamp.db.DBHelper;
+import dev.bluemedia.timechamp.db.dao.TimeEntryDaoImpl;
+import dev.bluemedia.timechamp.db.dao.TimeRollupDaoImpl;
+import dev.bluemedia.timechamp.job.TimeRollupRebuildJob;
+import dev.bluemedia.timechamp.model.object.TimeEntry;
+import dev.bluemedia.timechamp.model.object.TimeRollup;
+import dev.bluemedia.timechamp.model.response.TimeReportRow;
+import dev.bluemedia.timechamp.model.type.ExportFormat;
+import dev.bluemedia.timechamp.model.type.RollupPeriod;
+import dev.bluemedia.timechamp.overtime.OvertimeEngine;
+import dev.bluemedia.timechamp.scheduler.SchedulerHelper;
+import dev.bluemedia.timechamp.util.ConfigUtil;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Providers;
+import org.quartz.SchedulerException;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Controller used to report the time worked by users. Reports are served by the pre-aggregated rollups,
+ * so their cost does not grow with the amount of time entries.
+ */
+@Path("/reports")
+public class ReportController {
+
+    /** Maximum amount of days a single report may cover */
+    private static final long MAX_REPORT_DAYS = 3660;
+
+    /**
+     * Get the time a user worked per period and project.
+     * @param userId Id of the user.
+     * @param periodValue Period the time should be aggregated by, one of day, week or month.
+     * @param fromValue First day of the report in ISO format.
+     * @param toValue Last day of the report in ISO format, inclusive.
+     * @param projectId Id of the project the report should be limited to, or null to include all projects.
+     * @param asyncResponse Response that is resumed with the rows of the report, ordered by period and project.
+     */
+    @GET
+    @Path("/time")
+    @EntityVersioned({TimeEntry.class, TimeRollup.class})
+    @Produces(MediaType.APPLICATION_JSON)
+    public void getTimeReport(@QueryParam("userId") String userId,
+                              @QueryParam("period") @DefaultValue("day") String periodValue,
+                              @QueryParam("from") String fromValue,
+                              @QueryParam("to") String toValue,
+                              @QueryParam("projectId") String projectId,
+                              @Suspended AsyncResponse asyncResponse) {
+        requireUser(userId);
+        RollupPeriod period = RollupPeriod.forValue(periodValue);
+        if (period == null) {
+            throw new GenericException(Response.Status.BAD_REQUEST, "invalid_period",
+                    "The period must be one of day, week or month.");
+        }
+        LocalDate from = parseDate("from", fromValue);
+        LocalDate to = parseDate("to", toValue);
+        validateRange(from, to);
+
+        TimeRollupDaoImpl rollupDao = DBHelper.getTimeRollupDao();
+        DBHelper.supplyAsync(() -> {
+            try {
+                return rollupDao.getRollups(userId, period, from, to, projectId);
+            } catch (SQLException ex) {
+                throw new CompletionException(ex);
+            }
+        }).whenComplete((rollups, ex) -> {
+            if (ex != null) {
+                asyncResponse.resume(ex instanceof CompletionException ? ex.getCause() : ex);
+            } else {
+                List<TimeReportRow> rows = new ArrayList<>(rollups.size());
+                for (TimeRollup rollup : rollups) {
+                    rows.add(new TimeReportRow(rollup));
+                }
+                asyncResponse.resume(rows);
+            }
+        });
+    }
+
+    /**
+     * Get the overtime balance of a user, optionally broken down by period.
+     * @param userId Id of the user.
+     * @param periodValue Period the balance should be broken down by, one of day, week or month,
+     *                    or null to omit the breakdown.
+     * @param fromValue First day of the balance in ISO format.
+     * @param toValue Last day of the balance in ISO format, inclusive.
+     * @param asyncResponse Response that is resumed with the balance of the user.
+     */
+    @GET
+    @Path("/overtime")
+    @EntityVersioned({TimeEntry.class, TimeRollup.class})
+    @Produces(MediaType.APPLICATION_JSON)
+    public void getOvertime(@QueryParam("userId") String userId,
+                            @QueryParam("period") String periodValue,
+                            @QueryParam("from") String fromValue,
+                            @QueryParam("to") String toValue,
+                            @Suspended AsyncResponse asyncResponse) {
+        requireUser(userId);
+        RollupPeriod period = null;
+        if (periodValue != null) {
+            period = RollupPeriod.forValue(periodValue);
+            if (period == null) {
+                throw new GenericException(Response.Status.BAD_REQUEST, "invalid_period",
+                        "The period must be one of day, week or month.");
+            }
+        }
+        LocalDate from = parseDate("from", fromValue);
+        LocalDate to = parseDate("to", toValue);
+        validateRange(from, to);
+
+        RollupPeriod breakdown = period;
+        OvertimeEngine engine = new OvertimeEngine(ConfigUtil.getConfig().getOvertime().getDailyTargetMinutes());
+        DBHelper.supplyAsync(() -> {
+            try {
+                return OvertimeEngine.loadTimelines(DBHelper.getTimeRollupDao(), userId, from, to).get(0);
+            } catch (SQLException ex) {
+                throw new CompletionException(ex);
+            }
+        }).whenComplete((timeline, ex) -> {
+            if (ex != null) {
+                asyncResponse.resume(ex instanceof CompletionException ? ex.getCause() : ex);
+            } else {
+                asyncResponse.resume(engine.calculate(timeline, breakdown));
+            }
+        });
+    }
+
+    /**
+     * Get the overtime balances of all users that worked within the given range.
+     * The balances are calculated in parallel.
+     * @param fromValue First day of the balances in ISO format.
+     * @param toValue Last day of the balances in ISO format, inclusive.
+     * @param asyncResponse Response that is resumed with the balance of every user.
+     */
+    @GET
+    @Path("/overtime/users")
+    @EntityVersioned({TimeEntry.class, TimeRollup.class})
+    @Produces(MediaType.APPLICATION_JSON)
+    public void getAllOvertime(@QueryParam("from") String fromValue,
+                               @QueryParam("to") String toValue,
+                               @Suspended AsyncResponse asyncResponse) {
+        LocalDate from = parseDate("from", fromValue);
+        LocalDate to = parseDate("to", toValue);
+        validateRange(from, to);
+
+        OvertimeEngine engine = new OvertimeEngine(ConfigUtil.getConfig().getOvertime().getDailyTargetMinutes());
+        DBHelper.supplyAsync(() -> {
+            try {
+                return OvertimeEngine.loadTimelines(DBHelper.getTimeRollupDao(), null, from, to);
+            } catch (SQLException ex) {
+                throw new CompletionException(ex);
+            }
+        }).whenComplete((timelines, ex) -> {
+            if (ex != null) {
+                asyncResponse.resume(ex instanceof CompletionException ? ex.getCause() : ex);
+            } else {
+                asyncResponse.resume(engine.calculateAll(timelines));
+            }
+        });
+    }
+
+    /**
+     * Export the time entries of a user. The entries are streamed from the database to the client,
+     * so exports spanning years of entries don't need to fit into memory.
+     * @param userId Id of the user.
+     * @param formatValue Format of the export, either json or csv.
+     * @param fromValue First day of the export in ISO format.
+     * @param toValue Last day of the export in ISO format, inclusive.
+     * @param projectId Id of the project the export should be limited to, or null to include all projects.
+     * @param providers Providers used to look up the {@link ObjectMapper} of the API.
+     * @return Response streaming the entries that started within the given range, ordered by their start.
+     */
+    @GET
+    @Path("/export/entries")
+    @Produces({MediaType.APPLICATION_JSON, "text/csv"})
+    public Response exportEntries(@QueryParam("userId") String userId,
+                                  @QueryParam("format") @DefaultValue("json") String formatValue,
+                                  @QueryParam("from") String fromValue,
+                                  @QueryParam("to") String toValue,
+                                  @QueryParam("projectId") String projectId,
+                                  @Context Providers providers) {
+        requireUser(userId);
+        ExportFormat format = ExportFormat.forValue(formatValue);
+        if (format == null) {
+            throw new GenericException(Response.Status.BAD_REQUEST, "invalid_format",
+                    "The format must be either json or csv.");
+        }
+        LocalDate from = parseDate("from", fromValue);
+        LocalDate to = parseDate("to", toValue);
+        if (to.isBefore(from)) {
+            throw new GenericException(Response.Status.BAD_REQUEST, "invalid_range",
+                    "The end of the export must not be before its start.");
+        }
+
+        TimeEntryDaoImpl entryDao = DBHelper.getTimeEntryDao();
+        StreamingExport.CursorSource<TimeEntry> source = () -> entryDao.streamByUser(userId, from, to, projectId);
+        StreamingExport<TimeEntry> export;
+        if (format == ExportFormat.CSV) {
+            export = StreamingExport.csv("entries", source, TimeEntry.class,
+                    "id", "userId", "projectId", "startTime", "endTime", "comment");
+        } else {
+            ObjectMapper mapper = providers.getContextResolver(ObjectMapper.class, MediaType.APPLICATION_JSON_TYPE)
+                    .getContext(ObjectMapper.class);
+            export = StreamingExport.json("entries", source, mapper, TimeEntry.class);
+        }
+        return Response.ok(export, format.getMediaType())
+                .header("Content-Disposition", String.format("attachment; filename=\"entries-%s-%s.%s\"",
+                        from, to, format.toValue()))
+                .build();
+    }
+
+    /**
+     * Start the rebuild of the time rollups from the stored time entries in the background.
+     * @param userId Id of the user whose rollups should be rebuilt, or null to rebuild the rollups of all users.
+     * @return Empty response, as the rebuild continues in the background.
+     */
+    @POST
+    @Path("/rollups/rebuild")
+    public Response rebuildRollups(@QueryParam("userId") String userId) {
+        Map<String, Object> jobData = new HashMap<>();
+        if (userId != null && !userId.isBlank()) {
+            jobData.put(TimeRollupRebuildJob.USER_ID, userId);
+        }
+        try {
+            SchedulerHelper.trigger(TimeRollupRebuildJob.NAME, jobData);
+        } catch (IllegalStateException ex) {
+            throw new GenericException(Response.Status.SERVICE_UNAVAILABLE, "scheduler_unavailable",
+                    "The scheduler is not running. Please try again later.");
+        } catch (SchedulerException ex) {
+            throw new GenericException(Response.Status.INTERNAL_SERVER_ERROR, "rebuild_failed",
+                    "The rebuild of the rollups could not be started.");
+        }
+        return Response.accepted().build();
+    }
+
+    /**
+     * Ensure that the user a report should be created for is given.
+     * @param userId Id of the user.
+     */
+    private void requireUser(String userId) {
+        if (userId == null || userId.isBlank()) {
+            throw new GenericException(Response.Status.BAD_REQUEST, "missing_user",
+                    "The user the report should be created for is required.");
+        }
+    }
+
+    /**
+     * Ensure that the range of a report is valid.
+     * @param from First day of the report.
+     * @param to Last day of the report, inclusive.
+     */
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_REPORT_DAYS) {
+            throw new GenericException(Response.Status.BAD_REQUEST, "invalid_range",
+                    String.format("The end of the report must not be before its start and the report must not " +
+                            "cover more than %d days.", MAX_REPORT_DAYS));
+        }
+    }
+
+    /**
+     * Parse a date given as query parameter.
+     * @param name Name of the query parameter.
+     * @param value Value of the query parameter.
+     * @return Parsed date.
+     */
+    private LocalDate parseDate(String name, String value) {
+        if (value == null) {
+            throw new GenericException(Response.Status.BAD_REQUEST, "missing_" + name,
+                    String.format("The query parameter %s is required.", name));
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new GenericException(Response.Status.BAD_REQUEST, "invalid_" + name,
+                    String.format("The query parameter %s must be a date in ISO format.", name));
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+package dev.bluemedia.timechamp.api.controller;
+
+import dev.bluemedia.timechamp.db.DBHelper;
+import dev.bluemedia.timechamp.db.cache.EntityCache;
+import dev.bluemedia.timechamp.model.response.CacheStatistics;
+import dev.bluemedia.timechamp.model.response.HealthStatus;
+import dev.bluemedia.timechamp.model.response.JobStatus;
+import dev.bluemedia.timechamp.model.response.StartupReport;
+import dev.bluemedia.timechamp.scheduler.SchedulerHelper;
+import dev.bluemedia.timechamp.util.MetricsUtil;
+import dev.bluemedia.timechamp.util.StartupTracker;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.quartz.SchedulerException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Controller used to inspect the state of the running application.
+ */
+@Path("/system")
+public class SystemController {
+
+    /** Content type of the Prometheus text format */
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * Get the current values of all application metrics in the Prometheus text format.
+     * @return Current values of all application metrics.
+     */
+    @GET
+    @Path("/metrics")
+    @Produces(PROMETHEUS_CONTENT_TYPE)
+    public String getMetrics() {
+        return MetricsUtil.scrape();
+    }
+
+    /**
+     * Get the timed breakdown of the application startup.
+     * @return Report containing the readiness and the timing of all completed startup phases.
+     */
+    @GET
+    @Path("/startup")
+    @Produces(MediaType.APPLICATION_JSON)
+    public StartupReport getStartupReport() {
+        return StartupTracker.getReport();
+    }
+
+    /**
+     * Liveness probe, answering as soon as the web server accepts requests.
+     * @return Status indicating that the application is alive.
+     */
+    @GET
+    @Path("/health/live")
+    @Produces(MediaType.APPLICATION_JSON)
+    public HealthStatus getLiveness() {
+        return new HealthStatus("up");
+    }
+
+    /**
+     * Readiness probe, answering with 503 until all startup phases are completed.
+     * @return Response containing the readiness of the application.
+     */
+    @GET
+    @Path("/health/ready")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getReadiness() {
+        if (!StartupTracker.isReady()) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE).entity(new HealthStatus("starting")).build();
+        }
+        return Response.ok(new HealthStatus("up")).build();
+    }
+
+    /**
+     * Get the schedule and state of all background jobs.
+     * @return List containing the status of every registered background job.
+     * @throws SchedulerException Exception thrown if the state of the scheduler could not be read.
+     */
+    @GET
+    @Path("/jobs")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<JobStatus> getJobs() throws SchedulerException {
+        return SchedulerHelper.getJobs();
+    }
+
+    /**
+     * Get the usage statistics of all entity caches.
+     * @return List containing the usage statistics of every entity cache.
+     */
+    @GET
+    @Path("/caches")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<CacheStatistics> getCacheStatistics() {
+        List<CacheStatistics> statistics = new ArrayList<>();
+        for (EntityCache cache : DBHelper.getCaches()) {
+            statistics.add(cache.getStatistics());
+        }
+        return statistics;
+    }
+
+}
@@ -0,0 +1,211 @@
+package dev.bluemedia.timechamp.api.controller;
+
+import dev.bluemedia.timechamp.api.exception.GenericException;
+import dev.bluemedia.timechamp.api.exception.NotFoundException;
+import dev.bluemedia.timechamp.api.filter.EntityVersioned;
+import dev.bluemedia.timechamp.db.DBHelper;
+import dev.bluemedia.timechamp.db.writebehind.WriteBehindQueue;
+import dev.bluemedia.timechamp.model.object.TimeEntry;
+import dev.bluemedia.timechamp.model.request.TimeEntryRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Controller used to manage time entries. Every write updates the rollups served by the {@link ReportController}.
+ * If the write-behind queue is enabled, writes are acknowledged once they are queued and reads return the queued
+ * state of an entry until it is flushed to the database.
+ */
+@Path("/entries")
+public class TimeEntryController {
+
+    /**
+     * Create a new time entry.
+     * @param request Request containing the new time entry.
+     * @param asyncResponse Response that is resumed with the created time entry.
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public void addEntry(@Valid @NotNull TimeEntryRequest request, @Suspended AsyncResponse asyncResponse) {
+        TimeEntry entry = createEntry(UUID.randomUUID().toString(), request);
+        saveEntry(entry, true).whenComplete((result, ex) -> {
+            if (ex != null) {
+                asyncResponse.resume(ex instanceof CompletionException ? ex.getCause() : ex);
+            } else {
+                asyncResponse.resume(Response.status(Response.Status.CREATED).entity(entry).build());
+            }
+        });
+    }
+
+    /**
+     * Get a single time entry.
+     * @param entryId Id of the time entry.
+     * @param asyncResponse Response that is resumed with the requested time entry.
+     */
+    @GET
+    @Path("/{entryId}")
+    @EntityVersioned(TimeEntry.class)
+    @Produces(MediaType.APPLICATION_JSON)
+    public void getEntry(@PathParam("entryId") String entryId, @Suspended AsyncResponse asyncResponse) {
+        findEntry(entryId).whenComplete((entry, ex) -> {
+            if (ex != null) {
+                asyncResponse.resume(ex instanceof CompletionException ? ex.getCause() : ex);
+            } else if (entry == null) {
+                asyncResponse.resume(new NotFoundException("entry_not_found"));
+            } else {
+                asyncResponse.resume(entry);
+            }
+        });
+    }
+
+    /**
+     * Replace an existing time entry.
+     * @param entryId Id of the time entry.
+     * @param request Request containing the new state of the time entry.
+     * @param asyncResponse Response that is resumed with the updated time entry.
+     */
+    @PUT
+    @Path("/{entryId}")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public void updateEntry(@PathParam("entryId") String entryId, @Valid @NotNull TimeEntryRequest request,
+                            @Suspended AsyncResponse asyncResponse) {
+        TimeEntry entry = createEntry(entryId, request);
+        findEntry(entryId).thenCompose(storedEntry -> {
+            if (storedEntry == null) {
+                throw new NotFoundException("entry_not_found");
+            }
+            return saveEntry(entry, false);
+        }).whenComplete((result, ex) -> {
+            if (ex != null) {
+                asyncResponse.resume(ex instanceof CompletionException ? ex.getCause() : ex);
+            } else {
+                asyncResponse.resume(entry);
+            }
+        });
+    }
+
+    /**
+     * Delete a time entry.
+     * @param entryId Id of the time entry.
+     * @param asyncResponse Response that is resumed once the time entry was deleted.
+     */
+    @DELETE
+    @Path("/{entryId}")
+    public void deleteEntry(@PathParam("entryId") String entryId, @Suspended AsyncResponse asyncResponse) {
+        findEntry(entryId).thenCompose(storedEntry -> {
+            if (storedEntry == null) {
+                throw new NotFoundException("entry_not_found");
+            }
+            return removeEntry(storedEntry);
+        }).whenComplete((result, ex) -> {
+            if (ex != null) {
+                asyncResponse.resume(ex instanceof CompletionException ? ex.getCause() : ex);
+            } else {
+                asyncResponse.resume(Response.noContent().build());
+            }
+        });
+    }
+
+    /**
+     * Get the latest state of a time entry, including writes that are still queued.
+     * @param entryId Id of the time entry.
+     * @return Future completed with the time entry, or with null if the entry does not exist.
+     */
+    private CompletableFuture<TimeEntry> findEntry(String entryId) {
+        WriteBehindQueue<TimeEntry> queue = DBHelper.getTimeEntryWriteBehind();
+        if (queue != null) {
+            WriteBehindQueue.PendingWrite<TimeEntry> pending = queue.getPending(entryId);
+            if (pending != null) {
+                return CompletableFuture.completedFuture(pending.isDelete() ? null : pending.getObject());
+            }
+        }
+        return DBHelper.async(DBHelper.getTimeEntryDao()).getByAttributeMatch("id", entryId);
+    }
+
+    /**
+     * Save a time entry to the database or queue it, if the write-behind queue is enabled.
+     * @param entry Time entry that should be saved.
+     * @param create true if the entry is new, false if an existing entry is replaced.
+     * @return Future completed once the entry is saved or durably queued. The future fails if the write was
+     * rolled back or, when replacing an entry, if the entry was deleted in the meantime.
+     */
+    private CompletableFuture<Void> saveEntry(TimeEntry entry, boolean create) {
+        WriteBehindQueue<TimeEntry> queue = DBHelper.getTimeEntryWriteBehind();
+        if (queue == null) {
+            return (create ? DBHelper.async(DBHelper.getTimeEntryDao()).persistChecked(entry)
+                    : DBHelper.async(DBHelper.getTimeEntryDao()).updateChecked(entry))
+                    .thenAccept(TimeEntryController::requireChangedRows);
+        }
+        try {
+            queue.save(entry);
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException | RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Delete a time entry from the database or queue its deletion, if the write-behind queue is enabled.
+     * @param entry Time entry that should be deleted.
+     * @return Future completed once the entry is deleted or its deletion is durably queued. The future fails if
+     * the deletion was rolled back or the entry was deleted in the meantime.
+     */
+    private CompletableFuture<Void> removeEntry(TimeEntry entry) {
+        WriteBehindQueue<TimeEntry> queue = DBHelper.getTimeEntryWriteBehind();
+        if (queue == null) {
+            return DBHelper.async(DBHelper.getTimeEntryDao()).deleteChecked(entry)
+                    .thenAccept(TimeEntryController::requireChangedRows);
+        }
+        try {
+            queue.delete(entry);
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException | RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Make sure a write changed the stored entry. No rows are changed if the entry was deleted by a concurrent
+     * request after it was looked up.
+     * @param affectedRows Amount of rows changed by the write.
+     */
+    private static void requireChangedRows(int affectedRows) {
+        if (affectedRows == 0) {
+            throw new NotFoundException("entry_not_found");
+        }
+    }
+
+    /**
+     * Create a time entry from the given request.
+     * @param entryId Id of the time entry.
+     * @param request Request containing the time entry.
+     * @return Time entry described by the request.
+     */
+    private TimeEntry createEntry(String entryId, TimeEntryRequest request) {
+        if (!request.endTime.isAfter(request.startTime)) {
+            throw new GenericException(Response.Status.BAD_REQUEST, "invalid_time_range",
+                    "The end time of the entry must be after its start time.");
+        }
+        return new TimeEntry(entryId, request.userId, request.projectId, request.startTime, request.endTime,
+                request.comment);
+    }
+
+}
@@ -0,0 +1,36 @@
+package dev.bluemedia.timechamp.api.exception.mapper;
+
+import dev.bluemedia.timechamp.model.response.GenericError;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * {@link ExceptionMapper} implementation used to map a {@link RejectedExecutionException} to a json response.
+ * The exception is thrown if more asynchronous operations are pending than the server is configured to accept.
+ */
+@Provider
+public class RejectedExecutionExceptionMapper implements ExceptionMapper<RejectedExecutionException> {
+
+    /**
+     * Map a given {@link RejectedExecutionException} to a response.
+     * @param ex {@link RejectedExecutionException} that should be mapped.
+     * @return {@link Response} containing the json error object.
+     */
+    @Override
+    public Response toResponse(RejectedExecutionException ex) {
+        GenericError error = new GenericError();
+        error.error = "overloaded";
+        error.message = "The server is currently overloaded. Please try again later.";
+        return Response
+                .status(Response.Status.SERVICE_UNAVAILABLE)
+                .header("Retry-After", 1)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(error)
+                .build();
+    }
+
+}
@@ -0,0 +1,253 @@
+package dev.bluemedia.timechamp.api.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.j256.ormlite.dao.CloseableIterator;
+import dev.bluemedia.timechamp.util.MetricsUtil;
+import io.micrometer.core.instrument.Timer;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StreamingOutput} writing the objects of a database cursor to the response one by one.
+ * Only the current object is held in memory, so the memory usage does not grow with the size of the export.
+ * Without a known content length the response is sent using chunked transfer encoding. The output is flushed
+ * every {@link #FLUSH_ROWS} objects and at least every {@link #FLUSH_INTERVAL_MILLIS} ms, so clients receive
+ * data continuously. If the client disconnects, the export stops and the cursor is closed.
+ * @param <T> Type of the exported objects.
+ */
+public class StreamingExport<T> implements StreamingOutput {
+
+    /** SLF4J logger for usage in this class */
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingExport.class.getName());
+
+    /** Amount of objects after which the output is flushed */
+    static final int FLUSH_ROWS = 1000;
+
+    /** Maximum time in milliseconds the written objects are kept in the output buffer */
+    static final long FLUSH_INTERVAL_MILLIS = 1000;
+
+    /** Mapper used for CSV exports, configured like the JSON mapper of the API */
+    private static final CsvMapper csvMapper = createCsvMapper();
+
+    /** Name of the export, used to tag the metrics and log messages */
+    private final String name;
+
+    /** Source opening the database cursor the exported objects are read from */
+    private final CursorSource<T> source;
+
+    /** Writer used to serialize the exported objects */
+    private final ObjectWriter writer;
+
+    /** Boolean indicating if the objects are wrapped into an array, used for JSON */
+    private final boolean wrapInArray;
+
+    /**
+     * Create a new {@link StreamingExport}.
+     * @param name Name of the export.
+     * @param source Source opening the database cursor.
+     * @param writer Writer used to serialize the exported objects.
+     * @param wrapInArray true if the objects should be wrapped into an array.
+     */
+    private StreamingExport(String name, CursorSource<T> source, ObjectWriter writer, boolean wrapInArray) {
+        this.name = name;
+        this.source = source;
+        // The response stream is closed by the container, closing the writer must only finish the document
+        this.writer = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.wrapInArray = wrapInArray;
+    }
+
+    /**
+     * Create an export writing the objects as JSON array.
+     * @param name Name of the export.
+     * @param source Source opening the database cursor.
+     * @param mapper Mapper used to serialize the objects, usually the mapper of the API.
+     * @param type Type of the exported objects.
+     * @param <T> Type of the exported objects.
+     * @return Export writing the objects as JSON array.
+     */
+    public static <T> StreamingExport<T> json(String name, CursorSource<T> source, ObjectMapper mapper,
+                                              Class<T> type) {
+        return new StreamingExport<>(name, source, mapper.writerFor(type), true);
+    }
+
+    /**
+     * Create an export writing the objects as CSV file with a header row.
+     * @param name Name of the export.
+     * @param source Source opening the database cursor.
+     * @param columns Properties of the objects that are written, in order of the columns.
+     * @param type Type of the exported objects.
+     * @param <T> Type of the exported objects.
+     * @return Export writing the objects as CSV file.
+     */
+    public static <T> StreamingExport<T> csv(String name, CursorSource<T> source, Class<T> type, String... columns) {
+        CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+        for (String column : columns) {
+            schema.addColumn(column);
+        }
+        return new StreamingExport<>(name, source, csvMapper.writerFor(type).with(schema.build()), false);
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+        boolean written = false;
+        ClientOutputStream clientOutput = new ClientOutputStream(output);
+        try (CloseableIterator<T> cursor = source.open()) {
+            SequenceWriter sequenceWriter = wrapInArray
+                    ? writer.writeValuesAsArray(clientOutput) : writer.writeValues(clientOutput);
+            long lastFlush = System.nanoTime();
+            while (cursor.hasNext()) {
+                sequenceWriter.write(cursor.next());
+                rows++;
+                if (rows % FLUSH_ROWS == 0
+                        || System.nanoTime() - lastFlush >= TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MILLIS)) {
+                    sequenceWriter.flush();
+                    lastFlush = System.nanoTime();
+                }
+            }
+            sequenceWriter.close();
+            clientOutput.flush();
+            written = true;
+        } catch (IOException ex) {
+            if (clientOutput.hasFailed()) {
+                // Writing to the response only fails if the client went away, there is nobody left to answer
+                record("aborted", start);
+                LOG.info("Export {} aborted by the client after {} rows", name, rows);
+                return;
+            }
+            // Serialization errors or the cursor failing to close
+            record("failed", start);
+            LOG.error("An unexpected error occurred", ex);
+            if (written) {
+                // The client already received the complete export, failing the write would truncate it
+                return;
+            }
+            throw new IOException(String.format("Export %s failed after %d rows", name, rows), ex);
+        } catch (SQLException | IllegalStateException ex) {
+            // The response is already committed, failing the write aborts it, so the client can't mistake
+            // the truncated output for a complete export
+            record("failed", start);
+            LOG.error("An unexpected error occurred", ex);
+            throw new IOException(String.format("Export %s failed after %d rows", name, rows), ex);
+        }
+        record("completed", start);
+        LOG.debug("Export {} completed with {} rows in {} ms", name, rows,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Record the duration and outcome of the export.
+     * @param outcome Outcome of the export, one of completed, aborted or failed.
+     * @param start Start of the export in nanoseconds.
+     */
+    private void record(String outcome, long start) {
+        Timer.builder("api.exports")
+                .description("Duration of streamed exports")
+                .tag("export", name)
+                .tag("outcome", outcome)
+                .register(MetricsUtil.getRegistry())
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Create the mapper used for CSV exports.
+     * @return Mapper used for CSV exports.
+     */
+    private static CsvMapper createCsvMapper() {
+        CsvMapper mapper = new CsvMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+
+    /**
+     * Response stream remembering if writing to the client failed, so a client going away can be told apart from
+     * errors of the export itself. Serialization errors are raised before the stream is written to.
+     */
+    private static class ClientOutputStream extends FilterOutputStream {
+
+        /** Boolean indicating if a write to the client failed */
+        private boolean failed = false;
+
+        /**
+         * Create a new {@link ClientOutputStream}.
+         * @param output Response stream of the client.
+         */
+        ClientOutputStream(OutputStream output) {
+            super(output);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            try {
+                out.write(b);
+            } catch (IOException ex) {
+                failed = true;
+                throw ex;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            try {
+                out.write(b, off, len);
+            } catch (IOException ex) {
+                failed = true;
+                throw ex;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                out.flush();
+            } catch (IOException ex) {
+                failed = true;
+                throw ex;
+            }
+        }
+
+        @Override
+        public void close() {
+            // The response stream is closed by the container
+        }
+
+        boolean hasFailed() {
+            return failed;
+        }
+
+    }
+
+    /**
+     * Source opening the database cursor the exported objects are read from. The cursor is opened
+     * when the response is written and closed once the export is completed or aborted.
+     * @param <T> Type of the exported objects.
+     */
+    @FunctionalInterface
+    public interface CursorSource<T> {
+
+        /**
+         * Open the database cursor.
+         * @return Cursor over the exported objects.
+         * @throws SQLException Exception thrown if the query could not be executed.
+         */
+        CloseableIterator<T> open() throws SQLException;
+
+    }
+
+}
@@ -0,0 +1,219 @@
+package dev.bluemedia.timechamp.api.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.bluemedia.timechamp.db.DBHelper;
+import dev.bluemedia.timechamp.db.EntityVersions;
+import dev.bluemedia.timechamp.db.ReadConsistency;
+import dev.bluemedia.timechamp.util.ConfigUtil;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.ext.ContextResolver;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.Providers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Filter adding strong ETags to the JSON responses of GET requests and answering unchanged responses with
+ * 304 Not Modified. The ETag is the hash of the serialized body, which only saves the transfer.
+ * If enabled for single instance setups, resource methods annotated with {@link EntityVersioned} are instead checked
+ * against the in-memory versions of their entity types before they are executed, so unchanged responses don't
+ * access the database at all. These versions don't see writes of other instances or writes to the database from
+ * outside the DAOs, which is why they are disabled by default.
+ */
+@Provider
+@Priority(Priorities.HEADER_DECORATOR)
+public class ConditionalGetFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    /** Request property containing the ETag derived from the entity versions */
+    private static final String VERSION_TAG_PROPERTY = ConditionalGetFilter.class.getName() + ".versionTag";
+
+    /** Request property containing the last modification of the entity types */
+    private static final String LAST_MODIFIED_PROPERTY = ConditionalGetFilter.class.getName() + ".lastModified";
+
+    /** Responses with an ETag must be revalidated by the client before they are reused */
+    private static final String CACHE_CONTROL = "no-cache";
+
+    /** Amount of bytes of the SHA-256 hash used for the ETag */
+    private static final int TAG_BYTES = 16;
+
+    /** Resource method matched by the current request */
+    @Context
+    private ResourceInfo resourceInfo;
+
+    /** Providers used to look up the {@link ObjectMapper} of the application */
+    @Context
+    private Providers providers;
+
+    /**
+     * Answer GET requests of versioned resources with 304 Not Modified, if the client already has the current
+     * version of the response. Only active if the in-memory versions are enabled for a single instance.
+     * @param requestContext Context of the current request.
+     */
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        if (!HttpMethod.GET.equals(requestContext.getMethod())) {
+            return;
+        }
+        Method resourceMethod = resourceInfo.getResourceMethod();
+        EntityVersioned versioned = resourceMethod == null
+                ? null : resourceMethod.getAnnotation(EntityVersioned.class);
+        if (versioned == null || !ConfigUtil.getConfig().getConditionalGet().isSingleInstanceVersions()) {
+            return;
+        }
+        // A read replica may lag behind the versions, which would tag outdated data with the current version
+        if (DBHelper.isReplicaConfigured() && !ReadConsistency.isPrimaryRequired()) {
+            return;
+        }
+
+        MessageDigest digest = createDigest();
+        update(digest, EntityVersions.getInstanceId());
+        long lastModified = 0;
+        for (Class<?> entityClass : versioned.value()) {
+            update(digest, entityClass.getName());
+            update(digest, Long.toString(EntityVersions.getVersion(entityClass)));
+            lastModified = Math.max(lastModified, EntityVersions.getLastModified(entityClass));
+        }
+        update(digest, requestContext.getUriInfo().getRequestUri().toString());
+        update(digest, String.valueOf(requestContext.getHeaderString(HttpHeaders.ACCEPT)));
+
+        EntityTag tag = toEntityTag(digest);
+        // HTTP dates only have a precision of seconds, so another write within the current second would not change
+        // the date. The date is only used once the second is over, until then the ETag must be used.
+        Date lastModifiedDate = lastModified / 1000 < System.currentTimeMillis() / 1000
+                ? new Date(lastModified / 1000 * 1000) : null;
+        Response.ResponseBuilder notModified = lastModifiedDate != null
+                ? requestContext.getRequest().evaluatePreconditions(lastModifiedDate, tag)
+                : requestContext.getRequest().evaluatePreconditions(tag);
+        if (notModified != null) {
+            requestContext.abortWith(notModified.tag(tag).lastModified(lastModifiedDate)
+                    .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL).build());
+            return;
+        }
+        requestContext.setProperty(VERSION_TAG_PROPERTY, tag);
+        if (lastModifiedDate != null) {
+            requestContext.setProperty(LAST_MODIFIED_PROPERTY, lastModifiedDate);
+        }
+    }
+
+    /**
+     * Add the ETag to successful JSON responses of GET requests. Responses without version tag are
+     * serialized here to hash the body and answered with 304 Not Modified if the client already has them.
+     * @param requestContext Context of the current request.
+     * @param responseContext Context of the current response.
+     * @throws IOException Exception thrown if the response could not be serialized.
+     */
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
+            throws IOException {
+        if (!HttpMethod.GET.equals(requestContext.getMethod())
+                || responseContext.getStatus() != Response.Status.OK.getStatusCode()
+                || !responseContext.hasEntity()) {
+            return;
+        }
+
+        EntityTag versionTag = (EntityTag) requestContext.getProperty(VERSION_TAG_PROPERTY);
+        if (versionTag != null) {
+            responseContext.getHeaders().putSingle(HttpHeaders.ETAG, versionTag);
+            Object lastModified = requestContext.getProperty(LAST_MODIFIED_PROPERTY);
+            if (lastModified != null) {
+                responseContext.getHeaders().putSingle(HttpHeaders.LAST_MODIFIED, lastModified);
+            }
+            responseContext.getHeaders().putSingle(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            return;
+        }
+
+        Object entity = responseContext.getEntity();
+        MediaType mediaType = responseContext.getMediaType();
+        if (mediaType == null || !MediaType.APPLICATION_JSON_TYPE.isCompatible(mediaType)
+                || !isSerializedByJackson(entity)) {
+            return;
+        }
+        ContextResolver<ObjectMapper> mapperResolver =
+                providers.getContextResolver(ObjectMapper.class, MediaType.APPLICATION_JSON_TYPE);
+        if (mapperResolver == null) {
+            return;
+        }
+
+        // Serialize the body once and send the hashed bytes, so the ETag matches the transferred body
+        byte[] body = mapperResolver.getContext(entity.getClass()).writeValueAsBytes(entity);
+        MessageDigest digest = createDigest();
+        digest.update(body);
+        EntityTag tag = toEntityTag(digest);
+        responseContext.getHeaders().putSingle(HttpHeaders.ETAG, tag);
+        responseContext.getHeaders().putSingle(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+
+        if (requestContext.getRequest().evaluatePreconditions(tag) != null) {
+            responseContext.setStatus(Response.Status.NOT_MODIFIED.getStatusCode());
+            responseContext.setEntity(null);
+            responseContext.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+        } else {
+            responseContext.setEntity(body, responseContext.getEntityAnnotations(), mediaType);
+        }
+    }
+
+    /**
+     * Check if the given entity is serialized by Jackson. Streamed entities like exports are never buffered
+     * and already serialized entities are sent as they are.
+     * @param entity Entity of the response.
+     * @return true if the entity is serialized by Jackson.
+     */
+    private static boolean isSerializedByJackson(Object entity) {
+        return !(entity instanceof StreamingOutput || entity instanceof InputStream
+                || entity instanceof byte[] || entity instanceof String);
+    }
+
+    /**
+     * Create a new SHA-256 digest.
+     * @return New SHA-256 digest.
+     */
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java runtime is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Add the given value to the digest, followed by a separator.
+     * @param digest Digest the value should be added to.
+     * @param value Value that should be added.
+     */
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Create a strong ETag from the given digest.
+     * @param digest Digest containing the hashed response or versions.
+     * @return Strong ETag.
+     */
+    private static EntityTag toEntityTag(MessageDigest digest) {
+        byte[] hash = Arrays.copyOf(digest.digest(), TAG_BYTES);
+        return new EntityTag(Base64.getUrlEncoder().withoutPadding().encodeToString(hash));
+    }
+
+}
@@ -0,0 +1,23 @@
+package dev.bluemedia.timechamp.api.filter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET resource method whose response only depends on the request and the listed entity types.
+ * The {@link ConditionalGetFilter} derives the ETag of such responses from the versions of the entity types,
+ * so unchanged responses are answered with 304 Not Modified before the database is accessed.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EntityVersioned {
+
+    /**
+     * Get the entity types the response is built from.
+     * @return Classes of the entity types.
+     */
+    Class<?>[] value();
+
+}
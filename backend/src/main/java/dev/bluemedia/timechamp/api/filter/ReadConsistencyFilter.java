@@ -0,0 +1,49 @@
+package dev.bluemedia.timechamp.api.filter;
+
+import dev.bluemedia.timechamp.db.ReadConsistency;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Filter used to scope the read consistency of the database to a single request.
+ * Clients can send the header X-Read-Consistency with the value primary to read their own recent writes,
+ * which might not have reached the database replica yet.
+ */
+@Provider
+@PreMatching
+public class ReadConsistencyFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    /** Name of the header used to request reads from the primary database */
+    public static final String HEADER_NAME = "X-Read-Consistency";
+
+    /** Header value used to request reads from the primary database */
+    public static final String PRIMARY = "primary";
+
+    /**
+     * Reset the read consistency left over by the last request handled by this thread and
+     * route reads to the primary database if requested by the client.
+     * @param requestContext Context of the current request.
+     */
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        ReadConsistency.reset();
+        if (PRIMARY.equalsIgnoreCase(requestContext.getHeaderString(HEADER_NAME))) {
+            ReadConsistency.requirePrimary();
+        }
+    }
+
+    /**
+     * Reset the read consistency after the request was handled.
+     * @param requestContext Context of the current request.
+     * @param responseContext Context of the current response.
+     */
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        ReadConsistency.reset();
+    }
+
+}
@@ -0,0 +1,45 @@
+package dev.bluemedia.timechamp.api.filter;
+
+import dev.bluemedia.timechamp.model.response.GenericError;
+import dev.bluemedia.timechamp.util.StartupTracker;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Filter rejecting requests while the application is still starting, as the database may not be initialized yet.
+ * The health and startup endpoints stay available, so orchestrators can follow the startup.
+ */
+@Provider
+@PreMatching
+public class ReadinessFilter implements ContainerRequestFilter {
+
+    /**
+     * Reject the request if the application is not ready yet.
+     * @param requestContext Context of the current request.
+     */
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        if (StartupTracker.isReady()) {
+            return;
+        }
+        String path = requestContext.getUriInfo().getPath();
+        if (path.startsWith("system/health") || path.startsWith("system/startup")) {
+            return;
+        }
+
+        GenericError error = new GenericError();
+        error.error = "starting";
+        error.message = "The server is starting. Please try again later.";
+        requestContext.abortWith(Response
+                .status(Response.Status.SERVICE_UNAVAILABLE)
+                .header("Retry-After", 1)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(error)
+                .build());
+    }
+
+}
@@ -0,0 +1,31 @@
+package dev.bluemedia.timechamp.db;
+
+import java.sql.SQLException;
+
+/**
+ * Data migration that runs in the background after the application has started, e.g. to backfill a new column.
+ * Unlike the schema migrations applied by {@link MigrationHelper}, background migrations don't block startup,
+ * so the application must be able to work with partially migrated data.
+ * <p>
+ * The migration is executed in chunks. Every chunk runs in its own transaction on the primary database
+ * together with the update of the stored checkpoint, so an interrupted migration resumes behind the last
+ * completed chunk. Changes made through DAOs of the primary database take part in this transaction.
+ */
+public interface BackgroundMigration {
+
+    /**
+     * Get the unique name of the migration, used to store its progress. Must never change once released.
+     * @return Unique name of the migration.
+     */
+    String getName();
+
+    /**
+     * Migrate the next chunk of data.
+     * @param checkpoint Checkpoint returned by the previous chunk, or null if the migration has not started yet.
+     * @param chunkSize Maximum amount of rows that should be processed within the chunk.
+     * @return Result of the chunk, containing the checkpoint the next chunk should start after.
+     * @throws SQLException Exception thrown if the chunk could not be migrated. The chunk is rolled back.
+     */
+    BackgroundMigrationChunk migrateChunk(String checkpoint, int chunkSize) throws SQLException;
+
+}
@@ -0,0 +1,60 @@
+package dev.bluemedia.timechamp.db;
+
+/**
+ * Result of a single chunk executed by a {@link BackgroundMigration}.
+ */
+public class BackgroundMigrationChunk {
+
+    /** Checkpoint the next chunk should start after */
+    private final String checkpoint;
+
+    /** Amount of rows processed by the chunk */
+    private final long processedRows;
+
+    /** Boolean indicating if the chunk was the last one */
+    private final boolean finished;
+
+    /**
+     * Create a new {@link BackgroundMigrationChunk}.
+     * @param checkpoint Checkpoint the next chunk should start after.
+     * @param processedRows Amount of rows processed by the chunk.
+     * @param finished true if the chunk was the last one.
+     */
+    private BackgroundMigrationChunk(String checkpoint, long processedRows, boolean finished) {
+        this.checkpoint = checkpoint;
+        this.processedRows = processedRows;
+        this.finished = finished;
+    }
+
+    /**
+     * Create the result of a chunk that should be followed by further chunks.
+     * @param checkpoint Checkpoint the next chunk should start after, usually the id of the last processed row.
+     * @param processedRows Amount of rows processed by the chunk.
+     * @return Result of the chunk.
+     */
+    public static BackgroundMigrationChunk next(String checkpoint, long processedRows) {
+        return new BackgroundMigrationChunk(checkpoint, processedRows, false);
+    }
+
+    /**
+     * Create the result of the last chunk of a migration.
+     * @param processedRows Amount of rows processed by the chunk.
+     * @return Result of the chunk.
+     */
+    public static BackgroundMigrationChunk finished(long processedRows) {
+        return new BackgroundMigrationChunk(null, processedRows, true);
+    }
+
+    public String getCheckpoint() {
+        return checkpoint;
+    }
+
+    public long getProcessedRows() {
+        return processedRows;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+}
@@ -0,0 +1,163 @@
+package dev.bluemedia.timechamp.db;
+
+import dev.bluemedia.timechamp.db.dao.BackgroundMigrationStateDaoImpl;
+import dev.bluemedia.timechamp.model.config.BackgroundMigrationConfig;
+import dev.bluemedia.timechamp.model.object.BackgroundMigrationState;
+import dev.bluemedia.timechamp.model.type.BackgroundMigrationStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs the registered {@link BackgroundMigration}s chunk by chunk and stores their progress.
+ * Every run works on the pending migrations in order of registration until they are completed, a migration
+ * fails, the time budget of the run is used up or the run is interrupted. A migration only starts once every
+ * earlier migration is completed. The next run continues at the stored checkpoint.
+ */
+public class BackgroundMigrationRunner {
+
+    /** SLF4J logger for usage in this class */
+    private static final Logger LOG = LoggerFactory.getLogger(BackgroundMigrationRunner.class.getName());
+
+    /** DAO used to store the progress of the migrations */
+    private final BackgroundMigrationStateDaoImpl stateDao;
+
+    /** Settings used to throttle the migrations */
+    private final BackgroundMigrationConfig config;
+
+    /** Registered migrations in order of execution */
+    private final List<BackgroundMigration> migrations;
+
+    /**
+     * Create a new {@link BackgroundMigrationRunner}.
+     * @param stateDao DAO used to store the progress of the migrations.
+     * @param config Settings used to throttle the migrations.
+     * @param migrations Registered migrations in order of execution.
+     */
+    BackgroundMigrationRunner(BackgroundMigrationStateDaoImpl stateDao, BackgroundMigrationConfig config,
+                              List<BackgroundMigration> migrations) {
+        this.stateDao = stateDao;
+        this.config = config;
+        this.migrations = migrations;
+    }
+
+    /**
+     * Create the state of newly registered migrations and reset failed migrations, so they are retried.
+     * @throws SQLException Exception thrown if the states could not be saved.
+     */
+    void register() throws SQLException {
+        for (BackgroundMigration migration : migrations) {
+            BackgroundMigrationState state = stateDao.getByAttributeMatch("name", migration.getName());
+            if (state == null) {
+                LOG.info("Background migration {} registered", migration.getName());
+                stateDao.save(new BackgroundMigrationState(migration.getName()));
+            } else if (state.getStatus() == BackgroundMigrationStatus.FAILED) {
+                LOG.info("Background migration {} failed previously and will be retried", migration.getName());
+                state.retry();
+                stateDao.save(state);
+            }
+        }
+    }
+
+    /**
+     * Continue the pending migrations, stopping at the first migration that fails.
+     * @param interrupted Supplier returning true if the run should stop after the current chunk.
+     */
+    public void run(BooleanSupplier interrupted) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.getMaxRunSeconds());
+        for (BackgroundMigration migration : migrations) {
+            BackgroundMigrationState state = stateDao.getByAttributeMatch("name", migration.getName());
+            if (state != null && state.getStatus() == BackgroundMigrationStatus.COMPLETED) {
+                continue;
+            }
+            // Later migrations may depend on the data of earlier ones, so they wait until every earlier migration
+            // is completed. Failed migrations are retried after the next restart.
+            if (state == null || state.getStatus() == BackgroundMigrationStatus.FAILED) {
+                return;
+            }
+
+            while (state.getStatus() != BackgroundMigrationStatus.COMPLETED) {
+                if (interrupted.getAsBoolean() || System.nanoTime() >= deadline) {
+                    return;
+                }
+                if (!runChunk(migration, state)) {
+                    return;
+                }
+                if (state.getStatus() == BackgroundMigrationStatus.COMPLETED) {
+                    LOG.info("Background migration {} completed ({} rows in {} chunks)",
+                            migration.getName(), state.getProcessedRows(), state.getProcessedChunks());
+                } else if (!pause(interrupted)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Migrate the next chunk of the given migration and store the new checkpoint within the same transaction.
+     * @param migration Migration whose next chunk should be migrated.
+     * @param state Current state of the migration, updated if the chunk was migrated.
+     * @return true if the chunk was migrated, false if the migration failed.
+     */
+    private boolean runChunk(BackgroundMigration migration, BackgroundMigrationState state) {
+        String checkpoint = state.getCheckpoint();
+        try {
+            stateDao.callInTransaction(() -> {
+                BackgroundMigrationChunk chunk = migration.migrateChunk(checkpoint, config.getChunkSize());
+                state.advance(chunk.getCheckpoint(), chunk.getProcessedRows(), chunk.isFinished());
+                stateDao.save(state);
+                return null;
+            });
+            return true;
+        } catch (SQLException | RuntimeException ex) {
+            LOG.error(String.format("Background migration %s failed at checkpoint %s",
+                    migration.getName(), checkpoint), ex);
+            try {
+                // Reload the state, as the failed chunk may have advanced it before the transaction was rolled back
+                BackgroundMigrationState storedState = stateDao.getByAttributeMatch("name", migration.getName());
+                storedState.fail(ex.getMessage());
+                stateDao.save(storedState);
+            } catch (SQLException saveEx) {
+                LOG.error("An unexpected error occurred", saveEx);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Pause between two chunks, so the migration does not saturate the database.
+     * @param interrupted Supplier returning true if the run should stop.
+     * @return true if the run should continue.
+     */
+    private boolean pause(BooleanSupplier interrupted) {
+        if (config.getChunkPauseMillis() <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(config.getChunkPauseMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return !interrupted.getAsBoolean();
+    }
+
+    /**
+     * Get the state of all registered migrations.
+     * @return List containing the state of every registered migration in order of execution.
+     */
+    public List<BackgroundMigrationState> getStates() {
+        List<BackgroundMigrationState> states = new ArrayList<>();
+        for (BackgroundMigration migration : migrations) {
+            BackgroundMigrationState state = stateDao.getByAttributeMatch("name", migration.getName());
+            states.add(state != null ? state : new BackgroundMigrationState(migration.getName()));
+        }
+        return states;
+    }
+
+}
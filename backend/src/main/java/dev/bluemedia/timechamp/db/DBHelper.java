@@ -1,15 +1,35 @@
 package dev.bluemedia.timechamp.db;
 
+import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
-import com.j256.ormlite.jdbc.JdbcPooledConnectionSource;
+import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.table.TableUtils;
+import dev.bluemedia.timechamp.db.cache.EntityCache;
+import dev.bluemedia.timechamp.db.dao.AsyncGenericDao;
+import dev.bluemedia.timechamp.db.dao.BackgroundMigrationStateDaoImpl;
 import dev.bluemedia.timechamp.db.dao.DbMetadataDaoImpl;
+import dev.bluemedia.timechamp.db.dao.GenericDao;
+import dev.bluemedia.timechamp.db.dao.TimeEntryDaoImpl;
+import dev.bluemedia.timechamp.db.dao.TimeRollupDaoImpl;
+import dev.bluemedia.timechamp.db.pool.ConnectionPoolFactory;
+import dev.bluemedia.timechamp.db.writebehind.WriteBehindQueue;
+import dev.bluemedia.timechamp.model.config.Config;
+import dev.bluemedia.timechamp.model.config.DatabaseExecutorConfig;
+import dev.bluemedia.timechamp.model.config.EntityCacheConfig;
+import dev.bluemedia.timechamp.model.object.BackgroundMigrationState;
 import dev.bluemedia.timechamp.model.object.DbMetadata;
+import dev.bluemedia.timechamp.model.object.TimeEntry;
+import dev.bluemedia.timechamp.model.object.TimeRollup;
+import dev.bluemedia.timechamp.util.StartupTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * Class for access to and management of the database.
@@ -22,34 +42,184 @@ public class DBHelper {
     private static final Logger LOG = LoggerFactory.getLogger(DBHelper.class.getName());
 
     /** Connection source for the persistent database */
-    private static JdbcPooledConnectionSource connectionSource;
+    private static ConnectionSource connectionSource;
+
+    /** Connection source for the read replica, null if no replica is configured */
+    private static ConnectionSource replicaConnectionSource;
+
+    /** Executor running asynchronous database operations */
+    private static DatabaseExecutor databaseExecutor;
+
+    /** Caches of all entity types for which caching is enabled */
+    private static final List<EntityCache> caches = new ArrayList<>();
 
     /** {@link DbMetadataDaoImpl} used to persist {@link DbMetadata} objects to the database */
     private static DbMetadataDaoImpl metadataDao;
 
+    /** {@link TimeEntryDaoImpl} used to persist {@link TimeEntry} objects to the database */
+    private static TimeEntryDaoImpl timeEntryDao;
+
+    /** {@link TimeRollupDaoImpl} used to query the {@link TimeRollup}s maintained by the {@link TimeEntryDaoImpl} */
+    private static TimeRollupDaoImpl timeRollupDao;
+
+    /** Queue writing {@link TimeEntry} objects behind the request, null if the write-behind queue is disabled */
+    private static WriteBehindQueue<TimeEntry> timeEntryWriteBehind;
+
+    /** Runner continuing the background migrations after startup */
+    private static BackgroundMigrationRunner backgroundMigrationRunner;
+
     /**
-     * Initialize database connections, tables and DAOs and start migrating the schema to the current version.
-     * @param jdbcUrl JDBC URL used to connect to the database.
+     * Initialize database connections, tables and DAOs and migrate the schema to the current version.
+     * Background migrations are only registered and continue after startup.
+     * @param config Config containing the JDBC URL and further database settings.
      */
-    public static void init(String jdbcUrl) {
+    public static void init(Config config) {
         try {
-            connectionSource = new JdbcPooledConnectionSource(jdbcUrl);
-            connectionSource.setMaxConnectionAgeMillis(5 * 60 * 1000);
-            connectionSource.setTestBeforeGet(true);
+            StartupTracker.run("database.pool", () -> {
+                connectionSource = ConnectionPoolFactory.create("primary",
+                        config.getDatabaseJDBCUrl(), config.getDatabasePool());
+                warmUp(connectionSource);
+                if (config.getDatabaseReplicaJDBCUrl() != null) {
+                    LOG.info("Read replica configured. " +
+                            "Reads that don't require the latest state will use the replica");
+                    replicaConnectionSource = ConnectionPoolFactory.create("replica",
+                            config.getDatabaseReplicaJDBCUrl(), config.getDatabasePool());
+                    warmUp(replicaConnectionSource);
+                }
+            });
+
+            DatabaseExecutorConfig executorConfig = config.getDatabaseExecutor();
+            databaseExecutor = new DatabaseExecutor(
+                    executorConfig.getThreads() > 0 ? executorConfig.getThreads() : config.getDatabasePool().getMaxSize(),
+                    executorConfig.getQueueCapacity(), executorConfig.useVirtualThreads());
+
+            StartupTracker.run("database.migrations", () -> {
+                // The metadata DAO always uses the primary database, as migrations must see the latest schema version
+                metadataDao = new DbMetadataDaoImpl(DaoManager.createDao(connectionSource, DbMetadata.class));
+                configureDao(config, metadataDao, DbMetadata.class);
+                TableUtils.createTableIfNotExists(connectionSource, DbMetadata.class);
+
+                new MigrationHelper().migrate();
+            });
 
-            metadataDao = new DbMetadataDaoImpl(DaoManager.createDao(connectionSource, DbMetadata.class));
-            TableUtils.createTableIfNotExists(connectionSource, DbMetadata.class);
+            StartupTracker.run("database.tables", () -> {
+                Dao<TimeRollup, String> rollupDao = DaoManager.createDao(connectionSource, TimeRollup.class);
+                timeRollupDao = new TimeRollupDaoImpl(rollupDao, createReadDao(rollupDao, TimeRollup.class));
+                configureDao(config, timeRollupDao, TimeRollup.class);
+                TableUtils.createTableIfNotExists(connectionSource, TimeRollup.class);
 
-            new MigrationHelper().migrate();
-        } catch (SQLException ex) {
+                Dao<TimeEntry, String> entryDao = DaoManager.createDao(connectionSource, TimeEntry.class);
+                timeEntryDao = new TimeEntryDaoImpl(entryDao, createReadDao(entryDao, TimeEntry.class), timeRollupDao);
+                configureDao(config, timeEntryDao, TimeEntry.class);
+                TableUtils.createTableIfNotExists(connectionSource, TimeEntry.class);
+            });
+
+            if (config.getWriteBehind().isEnabled()) {
+                StartupTracker.run("database.write-behind", () -> {
+                    LOG.info("Time entry writes will be acknowledged once they are journaled to {}",
+                            config.getWriteBehind().getJournalFile());
+                    timeEntryWriteBehind = new WriteBehindQueue<>("TimeEntry", timeEntryDao, TimeEntry.class,
+                            TimeEntry::getId, config.getWriteBehind());
+                });
+            }
+
+            StartupTracker.run("database.background-migrations", () -> {
+                BackgroundMigrationStateDaoImpl backgroundMigrationStateDao = new BackgroundMigrationStateDaoImpl(
+                        DaoManager.createDao(connectionSource, BackgroundMigrationState.class));
+                configureDao(config, backgroundMigrationStateDao, BackgroundMigrationState.class);
+                TableUtils.createTableIfNotExists(connectionSource, BackgroundMigrationState.class);
+                backgroundMigrationRunner = new BackgroundMigrationRunner(backgroundMigrationStateDao,
+                        config.getBackgroundMigrations(), MigrationHelper.getBackgroundMigrations());
+                backgroundMigrationRunner.register();
+            });
+        } catch (SQLException | IOException ex) {
             LOG.error("An unexpected error occurred", ex);
             System.exit(1);
         }
     }
 
+    /**
+     * Check out a connection of the given pool, so connectivity problems are found during startup
+     * and the first request does not have to wait for the connection to be established.
+     * @param pool Connection source that should be warmed up.
+     * @throws SQLException Exception thrown if no connection could be opened.
+     */
+    private static void warmUp(ConnectionSource pool) throws SQLException {
+        pool.releaseConnection(pool.getReadWriteConnection(null));
+    }
+
+    /**
+     * Apply the settings from the config to the given DAO.
+     * @param config Config containing the database settings.
+     * @param dao DAO that should be configured.
+     * @param entityClass Class of the entity type handled by the DAO.
+     */
+    private static void configureDao(Config config, GenericDao<?> dao, Class<?> entityClass) {
+        dao.setFetchSize(getFetchSize(config));
+        dao.setSlowQueryThresholdMillis(config.getDatabaseSlowQueryThresholdMillis());
+
+        EntityCacheConfig cacheConfig = config.getEntityCaches().get(entityClass.getSimpleName());
+        if (cacheConfig != null) {
+            LOG.info("Lookups of {} will be cached (max. {} entries, {}s TTL)",
+                    entityClass.getSimpleName(), cacheConfig.getMaxSize(), cacheConfig.getTtlSeconds());
+            EntityCache cache = new EntityCache(entityClass.getSimpleName(),
+                    cacheConfig.getMaxSize(), cacheConfig.getTtlSeconds());
+            dao.setCache(cache);
+            caches.add(cache);
+        }
+    }
+
+    /**
+     * Create the {@link Dao} that should be used for reads of the given entity type.
+     * @param primaryDao {@link Dao} connected to the primary database.
+     * @param entityClass Class of the entity type.
+     * @param <T> Type of the entity.
+     * @return {@link Dao} connected to the read replica, or the primary {@link Dao} if no replica is configured.
+     * @throws SQLException Exception thrown if the {@link Dao} could not be created.
+     */
+    private static <T> Dao<T, String> createReadDao(Dao<T, String> primaryDao, Class<T> entityClass)
+            throws SQLException {
+        if (replicaConnectionSource == null) {
+            return primaryDao;
+        }
+        return DaoManager.createDao(replicaConnectionSource, entityClass);
+    }
+
+    /**
+     * Get the JDBC fetch size that should be used for streaming reads.
+     * MySQL buffers the whole result set unless the streaming fetch size is used, so it is selected by default.
+     * @param config Config containing the JDBC URL and the configured fetch size.
+     * @return JDBC fetch size that should be used for streaming reads.
+     */
+    private static int getFetchSize(Config config) {
+        if (config.getDatabaseFetchSize() != 0) {
+            return config.getDatabaseFetchSize();
+        }
+        if (config.getDatabaseJDBCUrl().startsWith("jdbc:mysql:")) {
+            return GenericDao.MYSQL_STREAMING_FETCH_SIZE;
+        }
+        return 0;
+    }
+
+    /**
+     * Stop accepting queued writes and flush all writes that are still queued to the database.
+     * Must be called before the database connections are closed.
+     */
+    public static void closeWriteBehind() {
+        if (timeEntryWriteBehind != null) {
+            timeEntryWriteBehind.close();
+        }
+    }
+
     /** Close the database connections */
     public static void close() {
+        if (databaseExecutor != null) {
+            databaseExecutor.shutdown();
+        }
         try {
+            if (replicaConnectionSource != null) {
+                replicaConnectionSource.close();
+            }
             if (connectionSource != null) {
                 connectionSource.close();
             }
@@ -58,12 +228,80 @@ public class DBHelper {
         }
     }
 
+    /**
+     * Get an asynchronous view of the given DAO, running its operations on the database executor.
+     * @param dao DAO whose operations should run asynchronously.
+     * @param <T> Type of the objects handled by the DAO.
+     * @return Asynchronous view of the given DAO.
+     */
+    public static <T> AsyncGenericDao<T> async(GenericDao<T> dao) {
+        return new AsyncGenericDao<>(dao, databaseExecutor);
+    }
+
+    /**
+     * Run the given database operation on the database executor.
+     * @param operation Operation that should be executed.
+     * @param <T> Type of the result of the operation.
+     * @return Future completed with the result of the operation.
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> operation) {
+        return databaseExecutor.supply(operation);
+    }
+
+    /**
+     * Check if reads which don't require the latest state are sent to a read replica.
+     * @return true if a read replica is configured.
+     */
+    public static boolean isReplicaConfigured() {
+        return replicaConnectionSource != null;
+    }
+
+    /**
+     * Get the caches of all entity types for which caching is enabled.
+     * @return List containing the caches of all entity types for which caching is enabled.
+     */
+    public static List<EntityCache> getCaches() {
+        return caches;
+    }
+
     /**
      * Get the {@link DbMetadataDaoImpl} used to persist {@link DbMetadata} objects to the database.
      * @return {@link DbMetadataDaoImpl} used to persist {@link DbMetadata} objects to the database.
      */
-    protected static DbMetadataDaoImpl getMetadataDao() {
+    public static DbMetadataDaoImpl getMetadataDao() {
         return metadataDao;
     }
 
+    /**
+     * Get the {@link TimeEntryDaoImpl} used to persist {@link TimeEntry} objects to the database.
+     * @return {@link TimeEntryDaoImpl} used to persist {@link TimeEntry} objects to the database.
+     */
+    public static TimeEntryDaoImpl getTimeEntryDao() {
+        return timeEntryDao;
+    }
+
+    /**
+     * Get the queue writing {@link TimeEntry} objects behind the request.
+     * @return Write-behind queue for {@link TimeEntry} objects, or null if the write-behind queue is disabled.
+     */
+    public static WriteBehindQueue<TimeEntry> getTimeEntryWriteBehind() {
+        return timeEntryWriteBehind;
+    }
+
+    /**
+     * Get the {@link TimeRollupDaoImpl} used to query the rollups of the time entries.
+     * @return {@link TimeRollupDaoImpl} used to query the rollups of the time entries.
+     */
+    public static TimeRollupDaoImpl getTimeRollupDao() {
+        return timeRollupDao;
+    }
+
+    /**
+     * Get the runner continuing the background migrations after startup.
+     * @return Runner continuing the background migrations.
+     */
+    public static BackgroundMigrationRunner getBackgroundMigrationRunner() {
+        return backgroundMigrationRunner;
+    }
+
 }
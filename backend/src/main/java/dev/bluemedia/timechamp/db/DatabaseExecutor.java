@@ -0,0 +1,172 @@
+package dev.bluemedia.timechamp.db;
+
+import dev.bluemedia.timechamp.util.MetricsUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded executor running asynchronous database operations, so request threads don't have to wait for the database.
+ * The amount of concurrently running operations should match the size of the connection pool, as further
+ * operations would only wait for a free connection. Operations exceeding the queue capacity are rejected.
+ */
+public class DatabaseExecutor {
+
+    /** SLF4J logger for usage in this class */
+    private static final Logger LOG = LoggerFactory.getLogger(DatabaseExecutor.class.getName());
+
+    /** Executor the operations are running on */
+    private final ExecutorService executor;
+
+    /** Permits limiting the amount of concurrently running operations */
+    private final Semaphore runningPermits;
+
+    /** Maximum amount of operations waiting for execution */
+    private final int queueCapacity;
+
+    /** Amount of operations that were submitted but are not running yet */
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    /** Amount of operations that were rejected because the queue was full */
+    private final Counter rejections;
+
+    /**
+     * Create a new {@link DatabaseExecutor}.
+     * @param threads Maximum amount of concurrently running operations.
+     * @param queueCapacity Maximum amount of operations waiting for execution.
+     * @param virtualThreads true if operations should run on virtual threads, if supported by the Java runtime.
+     */
+    public DatabaseExecutor(int threads, int queueCapacity, boolean virtualThreads) {
+        this.queueCapacity = queueCapacity;
+        this.runningPermits = new Semaphore(threads);
+
+        ExecutorService virtualThreadExecutor = virtualThreads ? createVirtualThreadExecutor() : null;
+        if (virtualThreadExecutor != null) {
+            LOG.info("Database operations will run on virtual threads (max. {} concurrent operations)", threads);
+            executor = virtualThreadExecutor;
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "db-executor-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+
+        MeterRegistry registry = MetricsUtil.getRegistry();
+        rejections = Counter.builder("db.executor.rejections")
+                .description("Database operations rejected because the queue was full")
+                .register(registry);
+        Gauge.builder("db.executor.queue.depth", queueDepth, AtomicInteger::get)
+                .description("Database operations waiting for execution")
+                .register(registry);
+        Gauge.builder("db.executor.active", runningPermits, permits -> threads - permits.availablePermits())
+                .description("Database operations currently running")
+                .register(registry);
+    }
+
+    /**
+     * Run the given database operation asynchronously.
+     * The read consistency of the calling thread is applied to the thread running the operation.
+     * @param operation Operation that should be executed.
+     * @param <T> Type of the result of the operation.
+     * @return Future completed with the result of the operation. The future fails with a
+     * {@link RejectedExecutionException} if the queue is full.
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> operation) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (queueDepth.incrementAndGet() > queueCapacity) {
+            queueDepth.decrementAndGet();
+            rejections.increment();
+            future.completeExceptionally(new RejectedExecutionException("Too many pending database operations"));
+            return future;
+        }
+
+        boolean primaryRequired = ReadConsistency.isPrimaryRequired();
+        try {
+            executor.execute(() -> {
+                try {
+                    runningPermits.acquire();
+                } catch (InterruptedException ex) {
+                    queueDepth.decrementAndGet();
+                    Thread.currentThread().interrupt();
+                    future.completeExceptionally(ex);
+                    return;
+                }
+                queueDepth.decrementAndGet();
+                try {
+                    if (primaryRequired) {
+                        ReadConsistency.requirePrimary();
+                    }
+                    future.complete(operation.get());
+                } catch (Throwable ex) {
+                    future.completeExceptionally(ex);
+                } finally {
+                    ReadConsistency.reset();
+                    runningPermits.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // Thrown if the executor was already shut down
+            queueDepth.decrementAndGet();
+            rejections.increment();
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    /**
+     * Run the given database operation without a result asynchronously.
+     * @param operation Operation that should be executed.
+     * @return Future completed once the operation finished.
+     */
+    public CompletableFuture<Void> run(Runnable operation) {
+        return supply(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Stop accepting new operations and wait for the running operations to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                LOG.warn("Database operations did not finish within 30 seconds, continuing shutdown");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Create an executor starting a new virtual thread for every operation.
+     * Virtual threads are looked up reflectively, as they are not available on every supported Java runtime.
+     * @return Executor using virtual threads, or null if virtual threads are not supported.
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            LOG.warn("Virtual threads are not supported by this Java runtime. Falling back to platform threads.");
+            return null;
+        }
+    }
+
+}
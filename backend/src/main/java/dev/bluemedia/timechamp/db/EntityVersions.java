@@ -0,0 +1,85 @@
+package dev.bluemedia.timechamp.db;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of in-memory version counters per entity type, which are bumped after every write of the entity type.
+ * Clients can compare the versions instead of the data to find out if a response changed.
+ * The counters start over with every start of the application, so they must be combined with the
+ * {@link #getInstanceId() instance id} to be unique.
+ * Only writes of this instance through the DAOs bump the versions. Writes of other instances, migrations and changes
+ * to the database from outside the application are not seen, so the versions may only be used to skip reads in
+ * single instance setups.
+ */
+public class EntityVersions {
+
+    /** Random id of this application instance */
+    private static final String INSTANCE_ID = UUID.randomUUID().toString();
+
+    /** Time the versions started to be counted, used as modification time of entity types that were not written yet */
+    private static final long START_MILLIS = System.currentTimeMillis();
+
+    /** Versions of all entity types that were written since the application start */
+    private static final ConcurrentHashMap<Class<?>, Version> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Bump the version of the given entity type. Must be called after the write is committed.
+     * @param entityClass Class of the entity type that was written.
+     */
+    public static void bump(Class<?> entityClass) {
+        versions.computeIfAbsent(entityClass, type -> new Version()).bump();
+    }
+
+    /**
+     * Get the current version of the given entity type.
+     * @param entityClass Class of the entity type.
+     * @return Current version of the entity type, 0 if it was not written since the application start.
+     */
+    public static long getVersion(Class<?> entityClass) {
+        Version version = versions.get(entityClass);
+        return version == null ? 0 : version.counter.get();
+    }
+
+    /**
+     * Get the time of the last write of the given entity type.
+     * @param entityClass Class of the entity type.
+     * @return Time of the last write in milliseconds since the epoch, or the time the versions started to be
+     *         counted if the entity type was not written since.
+     */
+    public static long getLastModified(Class<?> entityClass) {
+        Version version = versions.get(entityClass);
+        return version == null ? START_MILLIS : version.lastModified;
+    }
+
+    /**
+     * Get the random id of this application instance.
+     * @return Id of this application instance.
+     */
+    public static String getInstanceId() {
+        return INSTANCE_ID;
+    }
+
+    /**
+     * Version of a single entity type.
+     */
+    private static class Version {
+
+        /** Amount of writes since the application start */
+        private final AtomicLong counter = new AtomicLong();
+
+        /** Time of the last write in milliseconds since the epoch */
+        private volatile long lastModified = START_MILLIS;
+
+        /**
+         * Record a write of the entity type.
+         */
+        private void bump() {
+            lastModified = System.currentTimeMillis();
+            counter.incrementAndGet();
+        }
+
+    }
+
+}
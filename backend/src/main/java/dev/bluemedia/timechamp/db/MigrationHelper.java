@@ -1,23 +1,20 @@
 package dev.bluemedia.timechamp.db;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.bluemedia.timechamp.db.dao.DbMetadataDaoImpl;
 import dev.bluemedia.timechamp.model.object.DbMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.net.URL;
-import java.nio.file.*;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Helper class to migrate the database schema after release upgrades.
@@ -29,40 +26,44 @@ public class MigrationHelper {
     /** SLF4J logger for usage in this class */
     private static final Logger LOG = LoggerFactory.getLogger(MigrationHelper.class.getName());
 
-    // Pattern and placeholders for matching / replacing migration filenames.
-    private static final Pattern migrationFilePattern = Pattern.compile("migration-([0-9]+)\\.sql");
-    private static final String migrationFilePlaceholder = "migration-%s.sql";
+    /** Maximum amount of statements that are sent to the database within one JDBC batch */
+    private static final int STATEMENT_BATCH_SIZE = 500;
+
+    /** Schema version adding the checksum of the applied migration file to the meta table */
+    private static final long CHECKSUM_SCHEMA_VERSION = 2;
 
     /**
      * Check if the database needs to be migrated and automatically perform migration to the latest schema version.
      */
     protected void migrate() {
+        MigrationIndex index = loadMigrationIndex();
+
         // Check if the database is empty. Set empty database to the latest schema version,
-        // because ORMLite handles the initialisation of empty databases.
+        // because ORMLite handles the initialisation of empty databases. No migration file is applied, so there
+        // is no checksum to record.
         if (DBHelper.getMetadataDao().countOf() == 0) {
-            long latestSchemaVersion = getMigrationFileVersion(getLatestMigration());
             DBHelper.getMetadataDao().persist(
-                    new DbMetadata(UUID.randomUUID().toString(), latestSchemaVersion, LocalDateTime.now())
+                    new DbMetadata(UUID.randomUUID().toString(), index.getLatestVersion(), LocalDateTime.now(), null)
             );
             return;
         }
 
         // Get current and latest schema version and migrate if
         long currentSchemaVersion = DBHelper.getMetadataDao().getLatest().getSchemaVersion();
-        long latestSchemaVersion = getMigrationFileVersion(getLatestMigration());
+        long latestSchemaVersion = index.getLatestVersion();
+        if (currentSchemaVersion >= CHECKSUM_SCHEMA_VERSION) {
+            verifyAppliedMigrations(index);
+        }
         if (currentSchemaVersion < latestSchemaVersion) {
             LOG.info("The database schema has changed and needs to be updated. " +
                     "Migration will be performed automatically.");
             for (long i = currentSchemaVersion + 1; i <= latestSchemaVersion; i++) {
-                String migrationFile = String.format(migrationFilePlaceholder, i);
+                MigrationIndex.Entry migration = index.getMigration(i);
                 try {
-                    runMigration(migrationFile);
-                    DBHelper.getMetadataDao().persist(
-                            new DbMetadata(UUID.randomUUID().toString(), i, LocalDateTime.now())
-                    );
+                    runMigration(migration);
                 } catch (Exception ex) {
                     LOG.error(String.format("Fatal error while migrating database. " +
-                            "The error occurred at file %s", migrationFile), ex);
+                            "The error occurred at file %s", migration.getFile()), ex);
                     System.exit(1);
                 }
             }
@@ -71,109 +72,119 @@ public class MigrationHelper {
     }
 
     /**
-     * Get the filename of the latest migration file.
-     * @return Filename of the latest migration file inside the migrations/ resource folder.
+     * Compare the checksums of the migration files applied to the database with the files of this release.
+     * A migration file that was changed after it was applied would leave databases migrated before and after
+     * the change with different schemas, so the startup is aborted.
+     * @param index Index of all migration files of this release.
      */
-    static String getLatestMigration() {
+    private void verifyAppliedMigrations(MigrationIndex index) {
+        Map<Long, String> checksums;
         try {
-            // Figure out where database migration files are stored.
-            // Get a file from the migrations folder, as ClassLoader.getResource() is not
-            // designed to look for directories (we resolve the directory later)
-            URL migrationsFolderLocation = MigrationHelper.class.getResource("/migrations/migration-0.sql");
-            if (migrationsFolderLocation == null) {
-                LOG.error("Unable to determine database migration folder location. " +
-                        "Unable to check if the database needs to be migrated.");
-                System.exit(1);
-            }
-
-            // Resolve file to directory
-            URI migrationsFolderUri = URI.create(
-                    migrationsFolderLocation.toURI().toASCIIString().replaceFirst("/migration-0.sql$", "/")
-            );
-
-            // Check if migration folder resides inside a JAR file or if it's a normal file system path
-            Path normalizedMigrationsPath;
-            if (migrationsFolderUri.getScheme().equals("jar")) {
-                FileSystem fileSystem = FileSystems.newFileSystem(migrationsFolderUri, Collections.emptyMap());
-                normalizedMigrationsPath = fileSystem.getPath("/migrations");
-            } else {
-                normalizedMigrationsPath = Paths.get(migrationsFolderUri);
+            checksums = DBHelper.getMetadataDao().getChecksums();
+        } catch (SQLException ex) {
+            LOG.error("Fatal error while migrating database. Failed to read the checksums of the applied migrations.",
+                    ex);
+            System.exit(1);
+            return;
+        }
+        for (Map.Entry<Long, String> applied : checksums.entrySet()) {
+            MigrationIndex.Entry migration = index.getMigration(applied.getKey());
+            if (migration == null) {
+                // Database was migrated by a newer release, which is checked when comparing the schema versions
+                continue;
             }
-
-            List<String> files = new ArrayList<>();
-            // Get all paths to actual files and replace the path, so we get only the file names
-            Stream<Path> migrationPaths = Files.walk(normalizedMigrationsPath, 1).filter(Files::isRegularFile);
-            for (Iterator<Path> it = migrationPaths.iterator(); it.hasNext();) {
-                Path migration = it.next();
-                files.add(migration.toString().replace("/migrations/", ""));
+            if (!migration.getSha256().equals(applied.getValue())) {
+                LOG.error(String.format("Fatal error while migrating database. Migration file %s was changed " +
+                        "after it was applied to the database. Applied checksum %s, current checksum %s.",
+                        migration.getFile(), applied.getValue(), migration.getSha256()));
+                System.exit(1);
             }
-            // Sort the file list in descending order to normalize differences between the
-            // list being built from a normal folder and from a folder inside a JAR file
-            files.sort(Collections.reverseOrder());
-            // Get the first file, which is also the latest migration
-            return files.get(0);
-        } catch (URISyntaxException | IOException ex) {
-            LOG.error("Fatal error while migrating database. " +
-                    "Failed to get migration folder path.", ex);
-            System.exit(1);
-            return null;
         }
     }
 
     /**
-     * Get the schema version of a migration file from its file name.
-     * @param migrationFileName Filename the schema version should be extracted from.
-     * @return Schema version extracted from the filename.
+     * Get the background migrations, which continue after startup without blocking it.
+     * New migrations must be appended, as the migrations are executed in order of this list.
+     * @return List containing all background migrations in order of execution.
      */
-    private long getMigrationFileVersion(String migrationFileName) {
-        Matcher matcher = migrationFilePattern.matcher(migrationFileName);
-        matcher.find();
-        return Long.parseLong(matcher.group(1));
+    static List<BackgroundMigration> getBackgroundMigrations() {
+        return List.of();
     }
 
     /**
-     * Read the given file and return every line in a ArrayList for further processing.
-     * @param migrationFileName Filename of the migration file that should be read.
-     * @return ArrayList containing all lines of the provided file.
-     * @throws IOException Exception is thrown if the provided file cannot be read.
+     * Load the index of all migration files, which is generated at build time.
+     * @return Index of all migration files.
      */
-    private ArrayList<String> getMigrationStatements(String migrationFileName) throws IOException {
-        ArrayList<String> lines = new ArrayList<>();
-
-        ClassLoader classLoader = getClass().getClassLoader();
-        InputStream resourceStream = classLoader.getResourceAsStream("migrations/" + migrationFileName);
-        if (resourceStream == null) {
-            LOG.error(String.format("Fatal error while migrating database. " +
-                    "Requested migration file %s can't be found.", migrationFileName));
+    private MigrationIndex loadMigrationIndex() {
+        try (InputStream indexStream = getClass().getClassLoader().getResourceAsStream(MigrationIndex.RESOURCE)) {
+            if (indexStream == null) {
+                LOG.error(String.format("Fatal error while migrating database. The migration index %s can't be " +
+                        "found. It is generated by the Maven build.", MigrationIndex.RESOURCE));
+                System.exit(1);
+            }
+            return new ObjectMapper().readValue(indexStream, MigrationIndex.class);
+        } catch (IOException ex) {
+            LOG.error("Fatal error while migrating database. Failed to read the migration index.", ex);
             System.exit(1);
+            return null;
         }
-        InputStreamReader streamReader = new InputStreamReader(resourceStream);
-        BufferedReader bufferedReader = new BufferedReader(streamReader);
+    }
 
-        String line;
-        while ((line = bufferedReader.readLine()) != null) {
-            lines.add(line);
+    /**
+     * Read the given migration file, verify its checksum and split it into single SQL statements.
+     * @param migration Migration whose file should be read.
+     * @return List containing all statements of the provided file.
+     * @throws IOException Exception is thrown if the provided file cannot be read or does not match its checksum.
+     */
+    private List<String> getMigrationStatements(MigrationIndex.Entry migration) throws IOException {
+        ClassLoader classLoader = getClass().getClassLoader();
+        try (InputStream resourceStream = classLoader.getResourceAsStream("migrations/" + migration.getFile())) {
+            if (resourceStream == null) {
+                LOG.error(String.format("Fatal error while migrating database. " +
+                        "Requested migration file %s can't be found.", migration.getFile()));
+                System.exit(1);
+            }
+            byte[] content = resourceStream.readAllBytes();
+            if (!MigrationIndex.checksum(content).equals(migration.getSha256())) {
+                throw new IOException(String.format("Migration file %s does not match the checksum " +
+                        "of the migration index", migration.getFile()));
+            }
+            return SqlScriptSplitter.split(new String(content, StandardCharsets.UTF_8));
         }
-
-        resourceStream.close();
-        streamReader.close();
-        bufferedReader.close();
-        return lines;
     }
 
     /**
      * Apply a given migration file by executing the contained SQL statements on the database.
-     * @param migrationFileName Name of the migration file that should be applied.
+     * The statements are sent as JDBC batches within a single transaction, which also records the new schema
+     * version and the checksum of the file, so a failed migration leaves no partial changes behind on databases
+     * supporting transactional DDL.
+     * MySQL implicitly commits every DDL statement, so only data changes are rolled back there.
+     * @param migration Migration that should be applied.
      * @throws IOException Exception thrown if the given migration file cannot be read.
      * @throws SQLException Exception thrown if the execution of an SQL statement fails.
      */
-    private void runMigration(String migrationFileName) throws IOException, SQLException {
-        LOG.info(String.format("Applying database migration %s...", migrationFileName));
-        ArrayList<String> statements = getMigrationStatements(migrationFileName);
-        for (String statement : statements) {
-            DBHelper.getMetadataDao().executeRawStatement(statement);
-        }
-        LOG.info(String.format("Migration %s applied successfully", migrationFileName));
+    private void runMigration(MigrationIndex.Entry migration) throws IOException, SQLException {
+        LOG.info(String.format("Applying database migration %s...", migration.getFile()));
+        long start = System.nanoTime();
+        List<String> statements = getMigrationStatements(migration);
+        DbMetadataDaoImpl metadataDao = DBHelper.getMetadataDao();
+        metadataDao.callInTransaction(() -> {
+            for (int i = 0; i < statements.size(); i += STATEMENT_BATCH_SIZE) {
+                int end = Math.min(i + STATEMENT_BATCH_SIZE, statements.size());
+                metadataDao.executeRawBatch(statements.subList(i, end));
+            }
+            // Versions before the checksum column was added can't store the checksum
+            if (migration.getVersion() < CHECKSUM_SCHEMA_VERSION) {
+                metadataDao.insertWithoutChecksum(new DbMetadata(UUID.randomUUID().toString(),
+                        migration.getVersion(), LocalDateTime.now(), null));
+            } else {
+                metadataDao.insert(new DbMetadata(UUID.randomUUID().toString(), migration.getVersion(),
+                        LocalDateTime.now(), migration.getSha256()));
+            }
+            return null;
+        });
+        LOG.info(String.format("Migration %s applied successfully in %d ms (%d statements)", migration.getFile(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), statements.size()));
     }
 
 }
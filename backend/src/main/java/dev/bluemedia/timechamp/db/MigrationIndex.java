@@ -0,0 +1,138 @@
+package dev.bluemedia.timechamp.db;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Index of all migration files, generated at build time by the MigrationIndexGenerator in src/build/java
+ * and read from {@link #RESOURCE}.
+ * It lists the migrations in order of their schema version, so startup does not need to scan the
+ * migrations folder inside the JAR file. The checksums are recorded in the meta table when a migration is applied
+ * and compared on every startup, see {@link MigrationHelper}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MigrationIndex {
+
+    /** Classpath location of the index */
+    public static final String RESOURCE = "migrations/index.json";
+
+    /** Migrations ordered by their schema version, starting with version 0 */
+    @JsonProperty(value = "migrations")
+    private List<Entry> migrations = new ArrayList<>();
+
+    /**
+     * Default constructor used for deserialization.
+     */
+    public MigrationIndex() {}
+
+    /**
+     * Create a new {@link MigrationIndex}.
+     * @param migrations Migrations ordered by their schema version, starting with version 0.
+     */
+    public MigrationIndex(List<Entry> migrations) {
+        this.migrations = migrations;
+    }
+
+    /**
+     * Get the migrations ordered by their schema version.
+     * @return List containing the migrations ordered by their schema version, starting with version 0.
+     */
+    public List<Entry> getMigrations() {
+        return migrations;
+    }
+
+    /**
+     * Get the migration migrating the schema to the given version.
+     * @param version Schema version.
+     * @return Migration migrating the schema to the given version, or null if the version is unknown.
+     */
+    public Entry getMigration(long version) {
+        if (version < 0 || version >= migrations.size()) {
+            return null;
+        }
+        return migrations.get((int) version);
+    }
+
+    /**
+     * Get the latest schema version.
+     * @return Schema version of the latest migration.
+     */
+    @JsonIgnore
+    public long getLatestVersion() {
+        return migrations.get(migrations.size() - 1).getVersion();
+    }
+
+    /**
+     * Calculate the checksum of the content of a migration file.
+     * @param content Content of the migration file.
+     * @return Hex encoded SHA-256 hash of the content.
+     */
+    public static String checksum(byte[] content) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Single migration file contained in the index.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Entry {
+
+        /** Schema version the migration migrates to */
+        @JsonProperty(value = "version")
+        private long version;
+
+        /** Name of the migration file inside the migrations folder */
+        @JsonProperty(value = "file")
+        private String file;
+
+        /** Hex encoded SHA-256 hash of the migration file */
+        @JsonProperty(value = "sha256")
+        private String sha256;
+
+        /**
+         * Default constructor used for deserialization.
+         */
+        public Entry() {}
+
+        /**
+         * Create a new {@link Entry}.
+         * @param version Schema version the migration migrates to.
+         * @param file Name of the migration file inside the migrations folder.
+         * @param sha256 Hex encoded SHA-256 hash of the migration file.
+         */
+        public Entry(long version, String file, String sha256) {
+            this.version = version;
+            this.file = file;
+            this.sha256 = sha256;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+
+    }
+
+}
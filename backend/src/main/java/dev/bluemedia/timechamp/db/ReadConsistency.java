@@ -0,0 +1,37 @@
+package dev.bluemedia.timechamp.db;
+
+/**
+ * Tracks whether reads of the current thread must be served by the primary database instead of the replica.
+ * <p>
+ * Replicas lag behind the primary, so a client that just wrote data might not see its own changes when reading
+ * from the replica. Reads are therefore routed to the primary once the current thread wrote to the database,
+ * or if the client explicitly requested it. The state is reset at the start and end of every API request.
+ */
+public class ReadConsistency {
+
+    /** Per thread flag that is set if reads must be served by the primary database */
+    private static final ThreadLocal<Boolean> primaryRequired = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Route all further reads of the current thread to the primary database.
+     */
+    public static void requirePrimary() {
+        primaryRequired.set(true);
+    }
+
+    /**
+     * Get if reads of the current thread must be served by the primary database.
+     * @return true if reads must be served by the primary database, otherwise false.
+     */
+    public static boolean isPrimaryRequired() {
+        return primaryRequired.get();
+    }
+
+    /**
+     * Allow reads of the current thread to be served by the replica again.
+     */
+    public static void reset() {
+        primaryRequired.remove();
+    }
+
+}
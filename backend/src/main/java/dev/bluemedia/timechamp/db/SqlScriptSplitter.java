@@ -0,0 +1,171 @@
+package dev.bluemedia.timechamp.db;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits SQL scripts into single statements, so they can be sent to the database using JDBC.
+ * Statements may span multiple lines and are terminated by the current delimiter, which is ";" by default
+ * and can be changed using the MySQL client style DELIMITER directive (e.g. for stored procedures).
+ * Delimiters inside quoted strings, quoted identifiers and comments are ignored. Comments starting with
+ * "--" or "#" and block comments are removed, except for MySQL executable comments starting with "/*!".
+ */
+class SqlScriptSplitter {
+
+    /** Delimiter used until the script changes it */
+    static final String DEFAULT_DELIMITER = ";";
+
+    /** Directive used to change the delimiter */
+    private static final String DELIMITER_DIRECTIVE = "DELIMITER";
+
+    /**
+     * Split the given script into single statements.
+     * @param script SQL script that should be split.
+     * @return List containing the trimmed statements without their delimiters, in order of appearance.
+     * @throws IllegalArgumentException Exception thrown if the script contains an unterminated string or comment.
+     */
+    static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder statement = new StringBuilder();
+        String delimiter = DEFAULT_DELIMITER;
+        int length = script.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = script.charAt(i);
+
+            // Delimiter directives are only recognized at the beginning of a statement
+            if ((c == 'D' || c == 'd') && isBlank(statement)
+                    && script.regionMatches(true, i, DELIMITER_DIRECTIVE, 0, DELIMITER_DIRECTIVE.length())
+                    && i + DELIMITER_DIRECTIVE.length() < length
+                    && Character.isWhitespace(script.charAt(i + DELIMITER_DIRECTIVE.length()))) {
+                int lineEnd = findLineEnd(script, i);
+                String newDelimiter = script.substring(i + DELIMITER_DIRECTIVE.length(), lineEnd).trim();
+                if (newDelimiter.isEmpty()) {
+                    throw new IllegalArgumentException("DELIMITER directive without a delimiter");
+                }
+                delimiter = newDelimiter;
+                statement.setLength(0);
+                i = lineEnd;
+                continue;
+            }
+
+            if (script.startsWith(delimiter, i)) {
+                addStatement(statements, statement);
+                i += delimiter.length();
+                continue;
+            }
+
+            if (c == '\'' || c == '"' || c == '`') {
+                int end = findQuoteEnd(script, i);
+                statement.append(script, i, end);
+                i = end;
+            } else if (c == '#' || isLineComment(script, i, statement)) {
+                i = findLineEnd(script, i);
+                statement.append('\n');
+            } else if (c == '/' && i + 1 < length && script.charAt(i + 1) == '*') {
+                int end = script.indexOf("*/", i + 2);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unterminated block comment");
+                }
+                end += 2;
+                if (i + 2 < length && script.charAt(i + 2) == '!') {
+                    // MySQL executable comments contain SQL and must be sent to the database
+                    statement.append(script, i, end);
+                } else {
+                    statement.append(' ');
+                }
+                i = end;
+            } else {
+                statement.append(c);
+                i++;
+            }
+        }
+
+        addStatement(statements, statement);
+        return statements;
+    }
+
+    /**
+     * Add the given statement to the list of statements if it is not blank and reset it.
+     * @param statements List the statement should be added to.
+     * @param statement Builder containing the statement.
+     */
+    private static void addStatement(List<String> statements, StringBuilder statement) {
+        String trimmed = statement.toString().trim();
+        if (!trimmed.isEmpty()) {
+            statements.add(trimmed);
+        }
+        statement.setLength(0);
+    }
+
+    /**
+     * Check if a line comment starts at the given position. MySQL requires "--" to be followed by whitespace,
+     * so expressions like "1--1" are not treated as comments. At the beginning of a statement "--" is always
+     * treated as a comment.
+     * @param script SQL script.
+     * @param index Position in the script.
+     * @param statement Builder containing the current statement.
+     * @return true if a line comment starts at the given position.
+     */
+    private static boolean isLineComment(String script, int index, StringBuilder statement) {
+        if (!script.startsWith("--", index)) {
+            return false;
+        }
+        return index + 2 >= script.length() || Character.isWhitespace(script.charAt(index + 2))
+                || isBlank(statement);
+    }
+
+    /**
+     * Find the position after the closing quote of the quoted string or identifier starting at the given position.
+     * Quotes can be escaped by doubling them, and inside strings using a backslash.
+     * @param script SQL script.
+     * @param start Position of the opening quote.
+     * @return Position after the closing quote.
+     */
+    private static int findQuoteEnd(String script, int start) {
+        char quote = script.charAt(start);
+        int i = start + 1;
+        while (i < script.length()) {
+            char c = script.charAt(i);
+            if (c == '\\' && quote != '`') {
+                i += 2;
+            } else if (c == quote) {
+                if (i + 1 < script.length() && script.charAt(i + 1) == quote) {
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Unterminated quoted string starting at offset %d", start));
+    }
+
+    /**
+     * Find the end of the line containing the given position.
+     * @param script SQL script.
+     * @param index Position in the script.
+     * @return Position of the line break, or the length of the script if the line is the last one.
+     */
+    private static int findLineEnd(String script, int index) {
+        int end = script.indexOf('\n', index);
+        return end < 0 ? script.length() : end;
+    }
+
+    /**
+     * Check if the given statement contains only whitespace.
+     * @param statement Builder containing the current statement.
+     * @return true if the statement contains only whitespace.
+     */
+    private static boolean isBlank(StringBuilder statement) {
+        for (int i = 0; i < statement.length(); i++) {
+            if (!Character.isWhitespace(statement.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
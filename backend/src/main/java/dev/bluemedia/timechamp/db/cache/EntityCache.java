@@ -0,0 +1,164 @@
+package dev.bluemedia.timechamp.db.cache;
+
+import dev.bluemedia.timechamp.model.response.CacheStatistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache for lookup results of a single entity type. Entries are evicted in least recently used order
+ * once the cache is full and expire after a fixed time to live.
+ * <p>
+ * Writes can't be mapped to single lookup results, as lookups can use any attribute. Therefore every write to the
+ * entity type invalidates the whole cache. Every invalidation starts a new generation, and results of lookups that
+ * were started in an older generation are not stored, so a concurrent write can't leave stale results behind.
+ * The DAO stores and hands out copies of the cached objects, so callers modifying a result can't change the cache.
+ */
+public class EntityCache {
+
+    /** Name of the entity type that is cached */
+    private final String name;
+
+    /** Maximum amount of lookup results that are kept in the cache */
+    private final int maxSize;
+
+    /** Time in nanoseconds after which a cached lookup result expires */
+    private final long ttlNanos;
+
+    /** Cached lookup results in access order */
+    private final LinkedHashMap<String, Entry> entries;
+
+    /** Generation of the cache content, incremented on every invalidation */
+    private long generation = 0;
+
+    // Usage statistics
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long expirations = 0;
+    private long invalidations = 0;
+
+    /**
+     * Create a new {@link EntityCache}.
+     * @param name Name of the entity type that is cached.
+     * @param maxSize Maximum amount of lookup results that are kept in the cache.
+     * @param ttlSeconds Time in seconds after which a cached lookup result expires.
+     */
+    public EntityCache(String name, int maxSize, long ttlSeconds) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, EntityCache.Entry> eldest) {
+                if (size() > EntityCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a cached lookup result.
+     * @param key Key of the lookup.
+     * @return Cached lookup result, or null if the result is not cached. A cached empty result is
+     * returned as an {@link Entry} containing null.
+     */
+    public synchronized Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (System.nanoTime() - entry.createdAt > ttlNanos) {
+            entries.remove(key);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry;
+    }
+
+    /**
+     * Get the current generation of the cache. Has to be read before the lookup is sent to the database
+     * and passed to {@link #put(String, Object, long)} afterwards.
+     * @return Current generation of the cache.
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Store a lookup result, unless the cache was invalidated while the lookup was running.
+     * @param key Key of the lookup.
+     * @param value Result of the lookup, may be null if nothing was found.
+     * @param loadGeneration Generation of the cache read before the lookup was started.
+     */
+    public synchronized void put(String key, Object value, long loadGeneration) {
+        if (loadGeneration != generation) {
+            return;
+        }
+        entries.put(key, new Entry(value, System.nanoTime()));
+    }
+
+    /**
+     * Remove all lookup results from the cache. Called whenever the cached entity type is written to.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations++;
+        entries.clear();
+    }
+
+    /**
+     * Get the name of the entity type that is cached.
+     * @return Name of the entity type that is cached.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the usage statistics of this cache.
+     * @return Usage statistics of this cache.
+     */
+    public synchronized CacheStatistics getStatistics() {
+        CacheStatistics statistics = new CacheStatistics();
+        statistics.name = name;
+        statistics.size = entries.size();
+        statistics.maxSize = maxSize;
+        statistics.hits = hits;
+        statistics.misses = misses;
+        statistics.evictions = evictions;
+        statistics.expirations = expirations;
+        statistics.invalidations = invalidations;
+        return statistics;
+    }
+
+    /**
+     * Single cached lookup result.
+     */
+    public static class Entry {
+
+        /** Result of the lookup, null if nothing was found */
+        private final Object value;
+
+        /** Time the result was stored in nanoseconds, as returned by {@link System#nanoTime()} */
+        private final long createdAt;
+
+        private Entry(Object value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+    }
+
+}
@@ -0,0 +1,201 @@
+package dev.bluemedia.timechamp.db.dao;
+
+import com.j256.ormlite.stmt.QueryBuilder;
+import dev.bluemedia.timechamp.db.DatabaseExecutor;
+import dev.bluemedia.timechamp.db.ReadConsistency;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Asynchronous counterpart of {@link GenericDao}. Every operation runs on the {@link DatabaseExecutor}, so the
+ * calling thread, usually a request thread of the web server, is not blocked while the database is working.
+ * @param <T> Type of the objects handled by this DAO.
+ */
+public class AsyncGenericDao<T> {
+
+    /** DAO the operations are delegated to */
+    private final GenericDao<T> dao;
+
+    /** Executor the operations are running on */
+    private final DatabaseExecutor executor;
+
+    /**
+     * Default constructor to instantiate this class.
+     * @param dao DAO the operations should be delegated to.
+     * @param executor Executor the operations should run on.
+     */
+    public AsyncGenericDao(GenericDao<T> dao, DatabaseExecutor executor) {
+        this.dao = dao;
+        this.executor = executor;
+    }
+
+    /**
+     * Save an object to the database.
+     * @param object Object that should be saved to the database.
+     * @return Future completed once the object was saved.
+     */
+    public CompletableFuture<Void> persist(T object) {
+        ReadConsistency.requirePrimary();
+        return executor.run(() -> dao.persist(object));
+    }
+
+    /**
+     * Update an object in the database.
+     * @param object Object that should be updated.
+     * @return Future completed once the object was updated.
+     */
+    public CompletableFuture<Void> update(T object) {
+        ReadConsistency.requirePrimary();
+        return executor.run(() -> dao.update(object));
+    }
+
+    /**
+     * Delete an object from the database.
+     * @param object Object that should be deleted from the database.
+     * @return Future completed once the object was deleted.
+     */
+    public CompletableFuture<Void> delete(T object) {
+        ReadConsistency.requirePrimary();
+        return executor.run(() -> dao.delete(object));
+    }
+
+    /**
+     * Save an object to the database. Unlike {@link #persist(Object)}, the future fails if the object
+     * could not be saved.
+     * @param object Object that should be saved to the database.
+     * @return Future completed with the amount of changed rows once the object was saved.
+     */
+    public CompletableFuture<Integer> persistChecked(T object) {
+        ReadConsistency.requirePrimary();
+        return executor.supply(() -> unchecked(() -> dao.persistChecked(object)));
+    }
+
+    /**
+     * Update an object in the database. Unlike {@link #update(Object)}, the future fails if the object
+     * could not be updated.
+     * @param object Object that should be updated.
+     * @return Future completed with the amount of changed rows, 0 if the object does not exist.
+     */
+    public CompletableFuture<Integer> updateChecked(T object) {
+        ReadConsistency.requirePrimary();
+        return executor.supply(() -> unchecked(() -> dao.updateChecked(object)));
+    }
+
+    /**
+     * Delete an object from the database. Unlike {@link #delete(Object)}, the future fails if the object
+     * could not be deleted.
+     * @param object Object that should be deleted from the database.
+     * @return Future completed with the amount of changed rows, 0 if the object does not exist.
+     */
+    public CompletableFuture<Integer> deleteChecked(T object) {
+        ReadConsistency.requirePrimary();
+        return executor.supply(() -> unchecked(() -> dao.deleteChecked(object)));
+    }
+
+    /**
+     * Save multiple objects to the database using batches of {@link GenericDao#DEFAULT_BATCH_SIZE} objects.
+     * @param objects Objects that should be saved to the database.
+     * @return Future completed with the result of every executed batch.
+     */
+    public CompletableFuture<List<BatchResult>> persistAll(Collection<T> objects) {
+        ReadConsistency.requirePrimary();
+        return executor.supply(() -> dao.persistAll(objects));
+    }
+
+    /**
+     * Update multiple objects in the database using batches of {@link GenericDao#DEFAULT_BATCH_SIZE} objects.
+     * @param objects Objects that should be updated.
+     * @return Future completed with the result of every executed batch.
+     */
+    public CompletableFuture<List<BatchResult>> updateAll(Collection<T> objects) {
+        ReadConsistency.requirePrimary();
+        return executor.supply(() -> dao.updateAll(objects));
+    }
+
+    /**
+     * Delete multiple objects from the database using batches of {@link GenericDao#DEFAULT_BATCH_SIZE} objects.
+     * @param objects Objects that should be deleted from the database.
+     * @return Future completed with the result of every executed batch.
+     */
+    public CompletableFuture<List<BatchResult>> deleteAll(Collection<T> objects) {
+        ReadConsistency.requirePrimary();
+        return executor.supply(() -> dao.deleteAll(objects));
+    }
+
+    /**
+     * Retrieve all objects that are contained in the database.
+     * @return Future completed with the list of objects that are currently stored in the database.
+     */
+    public CompletableFuture<List<T>> getAll() {
+        return executor.supply(dao::getAll);
+    }
+
+    /**
+     * Retrieve an single object from the database using any attribute.
+     * @param attributeName Name of the attribute that should be matched.
+     * @param attributeValue Value the attribute should match.
+     * @return Future completed with the found object, or null if no entry could be found.
+     */
+    public CompletableFuture<T> getByAttributeMatch(String attributeName, String attributeValue) {
+        return executor.supply(() -> dao.getByAttributeMatch(attributeName, attributeValue));
+    }
+
+    /**
+     * Retrieve all matching objects from the database using any attribute.
+     * @param attributeName Name of the attribute that should be matched.
+     * @param attributeValue Value the attribute should match.
+     * @return Future completed with the found objects, or null if no entry could be found.
+     */
+    public CompletableFuture<List<T>> getAllByAttributeMatch(String attributeName, String attributeValue) {
+        return executor.supply(() -> dao.getAllByAttributeMatch(attributeName, attributeValue));
+    }
+
+    /**
+     * Get a list of results matching the given query.
+     * @param queryBuilder Query the found objects must match.
+     * @return Future completed with the list of results matching the given query.
+     */
+    public CompletableFuture<List<T>> query(QueryBuilder<T, String> queryBuilder) {
+        return executor.supply(() -> dao.query(queryBuilder));
+    }
+
+    /**
+     * Read a page of objects ordered by the given column using keyset pagination.
+     * @param orderColumn Name of the column the objects should be ordered by.
+     * @param after Cursor of the previous page, or null to read the first page.
+     * @param limit Maximum amount of objects contained in the page.
+     * @return Future completed with the page containing the found objects.
+     */
+    public CompletableFuture<Page<T>> page(String orderColumn, PageCursor after, long limit) {
+        return executor.supply(() -> dao.page(orderColumn, after, limit));
+    }
+
+    /**
+     * Get the count of all objects currently persisted in the database.
+     * @return Future completed with the count of all objects currently persisted in the database.
+     */
+    public CompletableFuture<Long> countOf() {
+        return executor.supply(dao::countOf);
+    }
+
+    /**
+     * Execute the given write and wrap a thrown {@link SQLException}, so it can fail the future of the operation.
+     * @param write Write that should be executed.
+     * @return Amount of rows that were changed.
+     */
+    private static int unchecked(Callable<Integer> write) {
+        try {
+            return write.call();
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new CompletionException(ex);
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package dev.bluemedia.timechamp.db.dao;
+
+import com.j256.ormlite.dao.Dao;
+import dev.bluemedia.timechamp.model.object.BackgroundMigrationState;
+
+import java.sql.SQLException;
+
+public class BackgroundMigrationStateDaoImpl extends GenericDao<BackgroundMigrationState> {
+
+    /**
+     * Default constructor to instantiate this class.
+     * @param dao {@link Dao} that should be used for database operations.
+     */
+    public BackgroundMigrationStateDaoImpl(Dao<BackgroundMigrationState, String> dao) {
+        super(dao);
+    }
+
+    /**
+     * Save the given state to the database, creating it if it does not exist yet. Unlike {@link #update(Object)},
+     * errors are thrown, so the state can be saved as part of the transaction of a migration chunk.
+     * @param state State that should be saved.
+     * @throws SQLException Exception thrown if the state could not be saved.
+     */
+    public void save(BackgroundMigrationState state) throws SQLException {
+        long start = metrics.start();
+        try {
+            metrics.success("save", start, dao.createOrUpdate(state).getNumLinesChanged());
+        } catch (SQLException ex) {
+            metrics.error("save", start);
+            throw ex;
+        }
+        invalidateCache();
+    }
+
+}
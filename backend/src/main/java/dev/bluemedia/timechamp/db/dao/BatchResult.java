@@ -0,0 +1,83 @@
+package dev.bluemedia.timechamp.db.dao;
+
+import java.sql.SQLException;
+
+/**
+ * Result of a single batch executed by one of the batch operations of {@link GenericDao}.
+ * Every batch runs in its own transaction, so a failed batch leaves no partial changes behind.
+ */
+public class BatchResult {
+
+    /** Zero based index of the batch within the batch operation */
+    private final int batchIndex;
+
+    /** Amount of objects that were contained in the batch */
+    private final int batchSize;
+
+    /** Amount of rows that were changed by the batch */
+    private final int affectedRows;
+
+    /** Exception that caused the batch to be rolled back, or null if the batch was committed */
+    private final SQLException exception;
+
+    /**
+     * Create a new {@link BatchResult}.
+     * @param batchIndex Zero based index of the batch within the batch operation.
+     * @param batchSize Amount of objects that were contained in the batch.
+     * @param affectedRows Amount of rows that were changed by the batch.
+     * @param exception Exception that caused the batch to be rolled back, or null if the batch was committed.
+     */
+    private BatchResult(int batchIndex, int batchSize, int affectedRows, SQLException exception) {
+        this.batchIndex = batchIndex;
+        this.batchSize = batchSize;
+        this.affectedRows = affectedRows;
+        this.exception = exception;
+    }
+
+    /**
+     * Create the result of a batch that was committed successfully.
+     * @param batchIndex Zero based index of the batch within the batch operation.
+     * @param batchSize Amount of objects that were contained in the batch.
+     * @param affectedRows Amount of rows that were changed by the batch.
+     * @return Result of the committed batch.
+     */
+    static BatchResult success(int batchIndex, int batchSize, int affectedRows) {
+        return new BatchResult(batchIndex, batchSize, affectedRows, null);
+    }
+
+    /**
+     * Create the result of a batch that was rolled back.
+     * @param batchIndex Zero based index of the batch within the batch operation.
+     * @param batchSize Amount of objects that were contained in the batch.
+     * @param exception Exception that caused the batch to be rolled back.
+     * @return Result of the rolled back batch.
+     */
+    static BatchResult failure(int batchIndex, int batchSize, SQLException exception) {
+        return new BatchResult(batchIndex, batchSize, 0, exception);
+    }
+
+    public int getBatchIndex() {
+        return batchIndex;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getAffectedRows() {
+        return affectedRows;
+    }
+
+    public SQLException getException() {
+        return exception;
+    }
+
+    /**
+     * Get if the batch was committed successfully.
+     * @return true if the batch was committed, false if it was rolled back.
+     */
+    public boolean isSuccessful() {
+        return exception == null;
+    }
+
+}
@@ -0,0 +1,156 @@
+package dev.bluemedia.timechamp.db.dao;
+
+import dev.bluemedia.timechamp.util.MetricsUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics of the operations executed by a single {@link GenericDao}.
+ * Records the latency, the amount of rows and the failures of every operation, tagged by the entity type
+ * and the operation, and logs operations that took longer than the slow query threshold.
+ */
+class DaoMetrics {
+
+    /** SLF4J logger for usage in this class */
+    private static final Logger LOG = LoggerFactory.getLogger(DaoMetrics.class.getName());
+
+    /** Default duration in milliseconds after which an operation is logged as slow */
+    static final long DEFAULT_SLOW_QUERY_THRESHOLD_MILLIS = 500;
+
+    /** Registry the metrics are registered to */
+    private final MeterRegistry registry;
+
+    /** Simple class name of the entity type, used to tag the metrics */
+    private final String entity;
+
+    /** Duration in nanoseconds after which an operation is logged as slow, 0 to disable the slow query log */
+    private volatile long slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SLOW_QUERY_THRESHOLD_MILLIS);
+
+    /** Timers of successful operations, keyed by the operation */
+    private final ConcurrentHashMap<String, Timer> successTimers = new ConcurrentHashMap<>();
+
+    /** Timers of failed operations, keyed by the operation */
+    private final ConcurrentHashMap<String, Timer> errorTimers = new ConcurrentHashMap<>();
+
+    /** Summaries of the amount of rows read or written, keyed by the operation */
+    private final ConcurrentHashMap<String, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+
+    /** Counters of failed operations, keyed by the operation */
+    private final ConcurrentHashMap<String, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new {@link DaoMetrics} instance registering its metrics to the global registry.
+     * @param entity Simple class name of the entity type handled by the DAO.
+     */
+    DaoMetrics(String entity) {
+        this.registry = MetricsUtil.getRegistry();
+        this.entity = entity;
+    }
+
+    /**
+     * Get the current time used as the start of an operation.
+     * @return Current value of the high resolution time source in nanoseconds.
+     */
+    long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Record an operation that completed successfully.
+     * @param operation Name of the operation.
+     * @param startNanos Start of the operation as returned by {@link #start()}.
+     * @param rows Amount of rows read or written by the operation.
+     */
+    void success(String operation, long startNanos, long rows) {
+        long durationNanos = System.nanoTime() - startNanos;
+        successTimers.computeIfAbsent(operation, key -> createTimer(key, "success"))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        rowSummaries.computeIfAbsent(operation, this::createRowSummary).record(rows);
+        logIfSlow(operation, durationNanos, rows);
+    }
+
+    /**
+     * Record an operation that failed.
+     * @param operation Name of the operation.
+     * @param startNanos Start of the operation as returned by {@link #start()}.
+     */
+    void error(String operation, long startNanos) {
+        long durationNanos = System.nanoTime() - startNanos;
+        errorTimers.computeIfAbsent(operation, key -> createTimer(key, "error"))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        errorCounters.computeIfAbsent(operation, this::createErrorCounter).increment();
+        logIfSlow(operation, durationNanos, 0);
+    }
+
+    /**
+     * Set the duration after which an operation is logged as slow.
+     * @param slowQueryThresholdMillis Threshold in milliseconds, 0 to disable the slow query log.
+     */
+    void setSlowQueryThresholdMillis(long slowQueryThresholdMillis) {
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMillis);
+    }
+
+    /**
+     * Log the given operation if it took longer than the slow query threshold.
+     * @param operation Name of the operation.
+     * @param durationNanos Duration of the operation in nanoseconds.
+     * @param rows Amount of rows read or written by the operation.
+     */
+    private void logIfSlow(String operation, long durationNanos, long rows) {
+        if (slowQueryThresholdNanos > 0 && durationNanos >= slowQueryThresholdNanos) {
+            LOG.warn("Slow database operation: {}.{} took {} ms ({} rows)",
+                    entity, operation, TimeUnit.NANOSECONDS.toMillis(durationNanos), rows);
+        }
+    }
+
+    /**
+     * Create the timer of an operation.
+     * @param operation Name of the operation.
+     * @param outcome Outcome of the operation, either success or error.
+     * @return Timer registered to the registry.
+     */
+    private Timer createTimer(String operation, String outcome) {
+        return Timer.builder("db.dao.operations")
+                .description("Latency of the operations executed by the DAOs")
+                .tag("entity", entity)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Create the row summary of an operation.
+     * @param operation Name of the operation.
+     * @return Summary registered to the registry.
+     */
+    private DistributionSummary createRowSummary(String operation) {
+        return DistributionSummary.builder("db.dao.rows")
+                .description("Amount of rows read or written by the operations executed by the DAOs")
+                .baseUnit("rows")
+                .tag("entity", entity)
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    /**
+     * Create the error counter of an operation.
+     * @param operation Name of the operation.
+     * @return Counter registered to the registry.
+     */
+    private Counter createErrorCounter(String operation) {
+        return Counter.builder("db.dao.errors")
+                .description("Amount of failed operations executed by the DAOs")
+                .tag("entity", entity)
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+}
@@ -1,11 +1,21 @@
 package dev.bluemedia.timechamp.db.dao;
 
 import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
 import dev.bluemedia.timechamp.model.object.DbMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class DbMetadataDaoImpl extends GenericDao<DbMetadata> {
 
@@ -21,20 +31,135 @@ public class DbMetadataDaoImpl extends GenericDao<DbMetadata> {
     }
 
     public DbMetadata getLatest() {
+        long start = metrics.start();
         try {
-            return dao.queryBuilder()
+            // Only select the columns that are independent of the schema version, as this is used to
+            // determine the schema version before the table is migrated to the current schema.
+            DbMetadata latest = dao.queryBuilder()
+                    .selectColumns("id", "schemaVersion")
                     .orderBy("schemaVersion", false)
                     .limit(1L)
                     .query()
                     .get(0);
+            metrics.success("getLatest", start, 1);
+            return latest;
         } catch (SQLException ex) {
+            metrics.error("getLatest", start);
             LOG.error("An unexpected error occurred", ex);
         }
         return null;
     }
 
-    public void executeRawStatement(String statement) throws SQLException {
-        dao.executeRawNoArgs(statement);
+    /**
+     * Save the given object to the database. Unlike {@link #persist(Object)}, errors are thrown, so the object
+     * can be saved as part of a transaction that is rolled back if it can't be saved.
+     * @param metadata Object that should be saved to the database.
+     * @throws SQLException Exception thrown if the object could not be saved.
+     */
+    public void insert(DbMetadata metadata) throws SQLException {
+        long start = metrics.start();
+        try {
+            metrics.success("insert", start, dao.create(metadata));
+        } catch (SQLException ex) {
+            metrics.error("insert", start);
+            throw ex;
+        }
+        invalidateCache();
+    }
+
+    /**
+     * Save the given object to the database without its checksum, like {@link #insert(DbMetadata)}. Used for
+     * schema versions whose meta table has no checksum column yet.
+     * @param metadata Object that should be saved to the database.
+     * @throws SQLException Exception thrown if the object could not be saved.
+     */
+    public void insertWithoutChecksum(DbMetadata metadata) throws SQLException {
+        long start = metrics.start();
+        DatabaseType databaseType = dao.getConnectionSource().getDatabaseType();
+        StringBuilder columns = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        List<FieldType> fieldTypes = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        for (FieldType fieldType : dao.getTableInfo().getFieldTypes()) {
+            if (fieldType.getColumnName().equals("checksum")) {
+                continue;
+            }
+            if (columns.length() > 0) {
+                columns.append(", ");
+                values.append(", ");
+            }
+            databaseType.appendEscapedEntityName(columns, fieldType.getColumnName());
+            values.append('?');
+            fieldTypes.add(fieldType);
+            args.add(fieldType.extractJavaFieldToSqlArgValue(metadata));
+        }
+        StringBuilder statement = new StringBuilder("INSERT INTO ");
+        databaseType.appendEscapedEntityName(statement, dao.getTableName());
+        statement.append(" (").append(columns).append(") VALUES (").append(values).append(")");
+
+        ConnectionSource connectionSource = dao.getConnectionSource();
+        DatabaseConnection connection = connectionSource.getReadWriteConnection(dao.getTableName());
+        try {
+            metrics.success("insertWithoutChecksum", start, connection.update(statement.toString(), args.toArray(),
+                    fieldTypes.toArray(new FieldType[0])));
+        } catch (SQLException ex) {
+            metrics.error("insertWithoutChecksum", start);
+            throw ex;
+        } finally {
+            connectionSource.releaseConnection(connection);
+        }
+        invalidateCache();
+    }
+
+    /**
+     * Get the checksums of all migration files applied to the database. Must only be called if the meta table
+     * contains the checksum column.
+     * @return Map containing the checksum of every applied migration by its schema version.
+     * @throws SQLException Exception thrown if the checksums could not be read.
+     */
+    public Map<Long, String> getChecksums() throws SQLException {
+        long start = metrics.start();
+        try {
+            List<DbMetadata> applied = dao.queryBuilder()
+                    .selectColumns("id", "schemaVersion", "checksum")
+                    .where().isNotNull("checksum")
+                    .query();
+            Map<Long, String> checksums = new TreeMap<>();
+            for (DbMetadata metadata : applied) {
+                checksums.put(metadata.getSchemaVersion(), metadata.getChecksum());
+            }
+            metrics.success("getChecksums", start, applied.size());
+            return checksums;
+        } catch (SQLException ex) {
+            metrics.error("getChecksums", start);
+            throw ex;
+        }
+    }
+
+    /**
+     * Execute the given raw statements as a single JDBC batch. If called within a transaction, the statements
+     * are executed on the connection of the transaction.
+     * @param statements Statements that should be executed.
+     * @return Amount of rows changed by every statement, as reported by the driver.
+     * @throws SQLException Exception thrown if one of the statements could not be executed.
+     */
+    public int[] executeRawBatch(List<String> statements) throws SQLException {
+        long start = metrics.start();
+        ConnectionSource connectionSource = dao.getConnectionSource();
+        DatabaseConnection connection = connectionSource.getReadWriteConnection(dao.getTableName());
+        try (Statement statement = connection.getUnderlyingConnection().createStatement()) {
+            for (String sql : statements) {
+                statement.addBatch(sql);
+            }
+            int[] results = statement.executeBatch();
+            metrics.success("executeRawBatch", start, Arrays.stream(results).filter(rows -> rows > 0).sum());
+            return results;
+        } catch (SQLException ex) {
+            metrics.error("executeRawBatch", start);
+            throw ex;
+        } finally {
+            connectionSource.releaseConnection(connection);
+        }
     }
 
 }
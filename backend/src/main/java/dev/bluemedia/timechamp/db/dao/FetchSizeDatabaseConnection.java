@@ -0,0 +1,50 @@
+package dev.bluemedia.timechamp.db.dao;
+
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.jdbc.JdbcCompiledStatement;
+import com.j256.ormlite.jdbc.JdbcDatabaseConnection;
+import com.j256.ormlite.stmt.StatementBuilder;
+import com.j256.ormlite.support.CompiledStatement;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * {@link JdbcDatabaseConnection} that applies a JDBC fetch size to every statement it compiles.
+ * ORMLite offers no way to set the fetch size of a query, so streaming reads compile their statement
+ * through this connection. The underlying JDBC connection stays owned by the connection source.
+ */
+class FetchSizeDatabaseConnection extends JdbcDatabaseConnection {
+
+    /** Fetch size that is applied to compiled statements */
+    private final int fetchSize;
+
+    /**
+     * Create a new {@link FetchSizeDatabaseConnection}.
+     * @param connection JDBC connection the statements should be compiled on.
+     * @param fetchSize Fetch size that should be applied to compiled statements, or 0 to use the driver default.
+     */
+    FetchSizeDatabaseConnection(Connection connection, int fetchSize) {
+        super(connection);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Compile a forward only, read only statement using the configured fetch size.
+     * This is required for drivers like MySQL that only stream results for such statements.
+     */
+    @Override
+    public CompiledStatement compileStatement(String statement, StatementBuilder.StatementType type,
+                                              FieldType[] argFieldTypes, int resultFlags,
+                                              boolean cacheStore) throws SQLException {
+        PreparedStatement preparedStatement = getUnderlyingConnection().prepareStatement(statement,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        if (fetchSize != 0) {
+            preparedStatement.setFetchSize(fetchSize);
+        }
+        return new JdbcCompiledStatement(preparedStatement, statement, type, cacheStore);
+    }
+
+}
@@ -1,28 +1,88 @@
 package dev.bluemedia.timechamp.db.dao;
 
+import com.j256.ormlite.dao.CloseableIterator;
 import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.stmt.PreparedQuery;
 import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.stmt.SelectArg;
+import com.j256.ormlite.stmt.StatementBuilder;
+import com.j256.ormlite.stmt.Where;
+import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+import dev.bluemedia.timechamp.db.EntityVersions;
+import dev.bluemedia.timechamp.db.ReadConsistency;
+import dev.bluemedia.timechamp.db.cache.EntityCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class GenericDao<T> {
 
     /** SLF4J logger for usage in this class */
     private static final Logger LOG = LoggerFactory.getLogger(GenericDao.class.getName());
 
+    /** Amount of objects that are written within one transaction if no batch size is given */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /** Fetch size that enables result streaming on MySQL instead of buffering the whole result set */
+    public static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
     /** {@link Dao} that should be used for database operations */
     protected Dao<T, String> dao;
 
+    /** {@link Dao} that should be used for reads which don't require the latest state, may be a replica */
+    protected Dao<T, String> readDao;
+
+    /** JDBC fetch size used for streaming reads, 0 to use the driver default */
+    private int fetchSize = 0;
+
+    /** Optional cache for attribute lookups, null if caching is disabled for this entity type */
+    private EntityCache cache;
+
+    /**
+     * Boolean indicating if single writes must run within a transaction,
+     * because a subclass writes derived data in its write hooks
+     */
+    private boolean transactionalWrites = false;
+
+    /** Latency, row and error metrics of the operations executed by this DAO */
+    protected final DaoMetrics metrics;
+
+    /**
+     * Compiled attribute lookups that are currently not in use, keyed by the lookup type and attribute name.
+     * Lookups are borrowed for a single query, so concurrent lookups of the same attribute compile
+     * additional instances instead of waiting for each other.
+     */
+    private final ConcurrentHashMap<String, Queue<PreparedLookup<T>>> preparedLookups = new ConcurrentHashMap<>();
+
     /**
      * Default constructor to instantiate this class.
      * @param dao {@link Dao} that should be used for database operations.
      */
     public GenericDao(Dao<T, String> dao) {
+        this(dao, dao);
+    }
+
+    /**
+     * Constructor used to instantiate this class with a separate {@link Dao} for reads.
+     * @param dao {@link Dao} that should be used for writes and reads that require the latest state.
+     * @param readDao {@link Dao} that should be used for other reads, usually connected to a database replica.
+     */
+    public GenericDao(Dao<T, String> dao, Dao<T, String> readDao) {
         this.dao = dao;
+        this.readDao = readDao;
+        this.metrics = new DaoMetrics(dao.getDataClass().getSimpleName());
     }
 
     /**
@@ -31,7 +91,7 @@ public class GenericDao<T> {
      */
     public void persist(T object) {
         try {
-            dao.create(object);
+            persistChecked(object);
         } catch (SQLException ex) {
             LOG.error("An unexpected error occurred", ex);
         }
@@ -43,7 +103,7 @@ public class GenericDao<T> {
      */
     public void update(T object) {
         try {
-            dao.update(object);
+            updateChecked(object);
         } catch (SQLException ex) {
             LOG.error("An unexpected error occurred", ex);
         }
@@ -55,21 +115,288 @@ public class GenericDao<T> {
      */
     public void delete(T object) {
         try {
-            dao.delete(object);
+            deleteChecked(object);
         } catch (SQLException ex) {
             LOG.error("An unexpected error occurred", ex);
         }
     }
 
+    /**
+     * Save an object to the database. Unlike {@link #persist(Object)}, errors are thrown, so callers can tell
+     * a rolled back write from a successful one.
+     * @param object Object that should be saved to the database.
+     * @return Amount of rows that were changed.
+     * @throws SQLException Exception thrown if the object could not be saved.
+     */
+    public int persistChecked(T object) throws SQLException {
+        return executeSingleWrite("persist", () -> createObject(object));
+    }
+
+    /**
+     * Update an object in the database. Unlike {@link #update(Object)}, errors are thrown.
+     * @param object Object that should be updated.
+     * @return Amount of rows that were changed, 0 if the object does not exist.
+     * @throws SQLException Exception thrown if the object could not be updated.
+     */
+    public int updateChecked(T object) throws SQLException {
+        return executeSingleWrite("update", () -> updateObject(object));
+    }
+
+    /**
+     * Delete an object from the database. Unlike {@link #delete(Object)}, errors are thrown.
+     * @param object Object that should be deleted from the database.
+     * @return Amount of rows that were changed, 0 if the object does not exist.
+     * @throws SQLException Exception thrown if the object could not be deleted.
+     */
+    public int deleteChecked(T object) throws SQLException {
+        return executeSingleWrite("delete", () -> deleteObjects(List.of(object)));
+    }
+
+    /**
+     * Execute a single write on the primary database and record its metrics.
+     * @param operationName Name of the operation, used to record the metrics.
+     * @param write Write that should be executed.
+     * @return Amount of rows that were changed.
+     * @throws SQLException Exception thrown if the write failed.
+     */
+    private int executeSingleWrite(String operationName, WriteOperation write) throws SQLException {
+        ReadConsistency.requirePrimary();
+        long start = metrics.start();
+        try {
+            int affectedRows = executeWrite(write);
+            metrics.success(operationName, start, affectedRows);
+            return affectedRows;
+        } catch (SQLException ex) {
+            metrics.error(operationName, start);
+            throw ex;
+        } finally {
+            invalidateCache();
+        }
+    }
+
+    /**
+     * Save multiple objects to the database using batches of {@link #DEFAULT_BATCH_SIZE} objects.
+     * @param objects Objects that should be saved to the database.
+     * @return List containing the result of every executed batch.
+     */
+    public List<BatchResult> persistAll(Collection<T> objects) {
+        return persistAll(objects, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Save multiple objects to the database. Every batch is written within its own transaction.
+     * @param objects Objects that should be saved to the database.
+     * @param batchSize Maximum amount of objects that are written within one transaction.
+     * @return List containing the result of every executed batch.
+     */
+    public List<BatchResult> persistAll(Collection<T> objects, int batchSize) {
+        return executeInBatches("persistAll", objects, batchSize, batch -> {
+            int affectedRows = 0;
+            for (T object : batch) {
+                affectedRows += createObject(object);
+            }
+            return affectedRows;
+        });
+    }
+
+    /**
+     * Update multiple objects in the database using batches of {@link #DEFAULT_BATCH_SIZE} objects.
+     * @param objects Objects that should be updated.
+     * @return List containing the result of every executed batch.
+     */
+    public List<BatchResult> updateAll(Collection<T> objects) {
+        return updateAll(objects, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Update multiple objects in the database. Every batch is written within its own transaction.
+     * @param objects Objects that should be updated.
+     * @param batchSize Maximum amount of objects that are written within one transaction.
+     * @return List containing the result of every executed batch.
+     */
+    public List<BatchResult> updateAll(Collection<T> objects, int batchSize) {
+        return executeInBatches("updateAll", objects, batchSize, batch -> {
+            int affectedRows = 0;
+            for (T object : batch) {
+                affectedRows += updateObject(object);
+            }
+            return affectedRows;
+        });
+    }
+
+    /**
+     * Save multiple objects to the database, creating the objects that don't exist yet and updating the others.
+     * Every batch is written within its own transaction.
+     * @param objects Objects that should be saved to the database.
+     * @param batchSize Maximum amount of objects that are written within one transaction.
+     * @return List containing the result of every executed batch.
+     */
+    public List<BatchResult> saveAll(Collection<T> objects, int batchSize) {
+        return executeInBatches("saveAll", objects, batchSize, batch -> {
+            int affectedRows = 0;
+            for (T object : batch) {
+                affectedRows += dao.idExists(dao.extractId(object)) ? updateObject(object) : createObject(object);
+            }
+            return affectedRows;
+        });
+    }
+
+    /**
+     * Delete multiple objects from the database using batches of {@link #DEFAULT_BATCH_SIZE} objects.
+     * @param objects Objects that should be deleted from the database.
+     * @return List containing the result of every executed batch.
+     */
+    public List<BatchResult> deleteAll(Collection<T> objects) {
+        return deleteAll(objects, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Delete multiple objects from the database. Every batch is deleted using a single statement.
+     * @param objects Objects that should be deleted from the database.
+     * @param batchSize Maximum amount of objects that are deleted within one statement.
+     * @return List containing the result of every executed batch.
+     */
+    public List<BatchResult> deleteAll(Collection<T> objects, int batchSize) {
+        return executeInBatches("deleteAll", objects, batchSize, this::deleteObjects);
+    }
+
+    /**
+     * Save a single object to the database. Called by all write operations, so subclasses can override it
+     * to maintain derived data. Batch operations call it within a transaction, single writes only if
+     * transactional writes are enabled.
+     * @param object Object that should be saved to the database.
+     * @return Amount of rows that were changed.
+     * @throws SQLException Exception thrown if the object could not be saved.
+     */
+    protected int createObject(T object) throws SQLException {
+        return dao.create(object);
+    }
+
+    /**
+     * Update a single object in the database. Called by all write operations, see {@link #createObject(Object)}.
+     * @param object Object that should be updated.
+     * @return Amount of rows that were changed.
+     * @throws SQLException Exception thrown if the object could not be updated.
+     */
+    protected int updateObject(T object) throws SQLException {
+        return dao.update(object);
+    }
+
+    /**
+     * Delete objects from the database using a single statement. Called by all write operations,
+     * see {@link #createObject(Object)}.
+     * @param objects Objects that should be deleted.
+     * @return Amount of rows that were changed.
+     * @throws SQLException Exception thrown if the objects could not be deleted.
+     */
+    protected int deleteObjects(Collection<T> objects) throws SQLException {
+        return dao.delete(objects);
+    }
+
+    /**
+     * Execute a single write, within a transaction if transactional writes are enabled.
+     * @param write Write that should be executed.
+     * @return Amount of rows that were changed.
+     * @throws SQLException Exception thrown if the write failed.
+     */
+    private int executeWrite(WriteOperation write) throws SQLException {
+        if (transactionalWrites) {
+            return TransactionManager.callInTransaction(dao.getConnectionSource(), write::execute);
+        }
+        return write.execute();
+    }
+
+    /**
+     * Run single writes within a transaction. Required if a subclass writes derived data in its write hooks,
+     * so the derived data can't get out of sync if one of the writes fails.
+     * @param transactionalWrites true if single writes should run within a transaction.
+     */
+    protected void setTransactionalWrites(boolean transactionalWrites) {
+        this.transactionalWrites = transactionalWrites;
+    }
+
+    /**
+     * Split the given objects into batches and run the given operation for every batch in its own transaction.
+     * A failed batch is rolled back and reported in its result, the remaining batches are executed anyway.
+     * @param operationName Name of the batch operation, used to record the metrics of every batch.
+     * @param objects Objects that should be processed.
+     * @param batchSize Maximum amount of objects per batch.
+     * @param operation Operation that should be executed for every batch.
+     * @return List containing the result of every executed batch.
+     */
+    private List<BatchResult> executeInBatches(String operationName, Collection<T> objects, int batchSize, BatchOperation<T> operation) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1");
+        }
+        ReadConsistency.requirePrimary();
+        List<BatchResult> results = new ArrayList<>();
+        List<T> batch = new ArrayList<>(Math.min(batchSize, objects.size()));
+        for (T object : objects) {
+            batch.add(object);
+            if (batch.size() == batchSize) {
+                results.add(executeBatch(operationName, results.size(), batch, operation));
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            results.add(executeBatch(operationName, results.size(), batch, operation));
+        }
+        return results;
+    }
+
+    /**
+     * Run the given operation for a single batch within a transaction.
+     * @param operationName Name of the batch operation, used to record the metrics of the batch.
+     * @param batchIndex Zero based index of the batch.
+     * @param batch Objects contained in the batch.
+     * @param operation Operation that should be executed for the batch.
+     * @return Result of the batch.
+     */
+    private BatchResult executeBatch(String operationName, int batchIndex, List<T> batch,
+                                     BatchOperation<T> operation) {
+        long start = metrics.start();
+        try {
+            int affectedRows = TransactionManager.callInTransaction(dao.getConnectionSource(),
+                    () -> operation.execute(batch));
+            metrics.success(operationName, start, affectedRows);
+            return BatchResult.success(batchIndex, batch.size(), affectedRows);
+        } catch (SQLException ex) {
+            metrics.error(operationName, start);
+            return BatchResult.failure(batchIndex, batch.size(), ex);
+        } finally {
+            invalidateCache();
+        }
+    }
+
+    /**
+     * Run the given callable within a transaction on the primary database. Operations of DAOs sharing the
+     * connection source that are executed by the callable on the current thread take part in the transaction.
+     * @param callable Callable that should be executed within the transaction.
+     * @param <R> Type of the result of the callable.
+     * @return Result of the callable.
+     * @throws SQLException Exception thrown by the callable, after the transaction was rolled back.
+     */
+    public <R> R callInTransaction(Callable<R> callable) throws SQLException {
+        ReadConsistency.requirePrimary();
+        try {
+            return TransactionManager.callInTransaction(dao.getConnectionSource(), callable);
+        } finally {
+            invalidateCache();
+        }
+    }
+
     /**
      * Retrieve all objects that are contained in the database.
      * @return List of objects that are currently stored in the database.
      */
     public List<T> getAll() {
         List<T> list = new ArrayList<>();
+        long start = metrics.start();
         try {
-            list = dao.queryForAll();
+            list = getReadDao().queryForAll();
+            metrics.success("getAll", start, list.size());
         } catch (SQLException ex) {
+            metrics.error("getAll", start);
             LOG.error("An unexpected error occurred", ex);
         }
         return list;
@@ -77,19 +404,33 @@ public class GenericDao<T> {
 
     /**
      * Retrieve an single object from the local database using any attribute.
+     * If caching is enabled for this entity type, the result may be served from the cache.
      * @return Instance of the found, or null if no entry could be found.
      */
+    @SuppressWarnings("unchecked")
     public T getByAttributeMatch(String attributeName, String attributeValue) {
-        QueryBuilder<T, String> queryBuilder = dao.queryBuilder();
+        String cacheKey = "one:" + attributeName + "=" + attributeValue;
+        long cacheGeneration = 0;
+        if (cache != null) {
+            EntityCache.Entry cached = cache.get(cacheKey);
+            if (cached != null) {
+                // Hand out a copy, so callers can't modify the cached object
+                return copy((T) cached.getValue());
+            }
+            cacheGeneration = cache.getGeneration();
+        }
+
+        long start = metrics.start();
         try {
-            queryBuilder.where().eq(attributeName, attributeValue);
-            List<T> results = dao.query(queryBuilder.prepare());
-            if (results.size() == 0) {
-                return null;
-            } else {
-                return results.get(0);
+            List<T> results = queryPreparedLookup(attributeName, attributeValue, true);
+            metrics.success("getByAttributeMatch", start, results.size());
+            T result = results.size() == 0 ? null : results.get(0);
+            if (cache != null) {
+                cache.put(cacheKey, copy(result), cacheGeneration);
             }
+            return result;
         } catch (SQLException ex) {
+            metrics.error("getByAttributeMatch", start);
             LOG.error("An unexpected error occurred", ex);
         }
         return null;
@@ -97,24 +438,115 @@ public class GenericDao<T> {
 
     /**
      * Retrieve all matching objects from the local database using any attribute.
+     * If caching is enabled for this entity type, the result may be served from the cache.
      * @return Instance of the found, or null if no entry could be found.
      */
+    @SuppressWarnings("unchecked")
     public List<T> getAllByAttributeMatch(String attributeName, String attributeValue) {
-        QueryBuilder<T, String> queryBuilder = dao.queryBuilder();
+        String cacheKey = "all:" + attributeName + "=" + attributeValue;
+        long cacheGeneration = 0;
+        if (cache != null) {
+            EntityCache.Entry cached = cache.get(cacheKey);
+            if (cached != null) {
+                // Hand out a copy, so callers can't modify the cached list or its objects
+                return copyAll((List<T>) cached.getValue());
+            }
+            cacheGeneration = cache.getGeneration();
+        }
+
+        long start = metrics.start();
         try {
-            queryBuilder.where().eq(attributeName, attributeValue);
-            List<T> results = dao.query(queryBuilder.prepare());
+            List<T> results = queryPreparedLookup(attributeName, attributeValue, false);
+            metrics.success("getAllByAttributeMatch", start, results.size());
             if (results.size() == 0) {
-                return null;
-            } else {
-                return results;
+                results = null;
             }
+            if (cache != null) {
+                cache.put(cacheKey, copyAll(results), cacheGeneration);
+            }
+            return results;
         } catch (SQLException ex) {
+            metrics.error("getAllByAttributeMatch", start);
             LOG.error("An unexpected error occurred", ex);
         }
         return null;
     }
 
+    /**
+     * Copy an object field by field, so cached objects are never shared with callers. Every persisted field
+     * of the entity types holds an immutable value, so copying the field values results in independent objects.
+     * @param object Object that should be copied, may be null.
+     * @return Copy of the object, or null if the object is null.
+     */
+    private T copy(T object) {
+        if (object == null) {
+            return null;
+        }
+        try {
+            T copy = dao.createObjectInstance();
+            for (FieldType fieldType : dao.getTableInfo().getFieldTypes()) {
+                fieldType.assignField(dao.getConnectionSource(), copy, fieldType.extractRawJavaFieldValue(object),
+                        false, null);
+            }
+            return copy;
+        } catch (SQLException ex) {
+            // Every entity type has a no-argument constructor, so copies can always be created
+            throw new IllegalStateException("Could not copy " + dao.getDataClass().getSimpleName(), ex);
+        }
+    }
+
+    /**
+     * Copy a list and all objects it contains, see {@link #copy(Object)}.
+     * @param objects List that should be copied, may be null.
+     * @return Copy of the list, or null if the list is null.
+     */
+    private List<T> copyAll(List<T> objects) {
+        if (objects == null) {
+            return null;
+        }
+        List<T> copies = new ArrayList<>(objects.size());
+        for (T object : objects) {
+            copies.add(copy(object));
+        }
+        return copies;
+    }
+
+    /**
+     * Execute an attribute lookup using a compiled query, so the SQL statement is only built once per attribute.
+     * @param attributeName Name of the attribute that should be matched.
+     * @param attributeValue Value the attribute should match.
+     * @param single true if only the first matching object is required.
+     * @return List of objects matching the given attribute value.
+     * @throws SQLException Exception thrown if the lookup could not be executed.
+     */
+    private List<T> queryPreparedLookup(String attributeName, String attributeValue, boolean single)
+            throws SQLException {
+        String lookupKey = (single ? "one:" : "all:") + attributeName;
+        Queue<PreparedLookup<T>> idleLookups =
+                preparedLookups.computeIfAbsent(lookupKey, key -> new ConcurrentLinkedQueue<>());
+
+        PreparedLookup<T> lookup = idleLookups.poll();
+        if (lookup == null) {
+            SelectArg argument = new SelectArg();
+            QueryBuilder<T, String> queryBuilder = dao.queryBuilder();
+            queryBuilder.where().eq(attributeName, argument);
+            if (single) {
+                queryBuilder.limit(1L);
+            }
+            lookup = new PreparedLookup<>(queryBuilder.prepare(), argument);
+        }
+
+        try {
+            // Results that end up in the cache must not be read from a lagging replica, as the cache was
+            // invalidated when the entity type was written and would otherwise store the outdated state again.
+            Dao<T, String> lookupDao = cache != null ? dao : getReadDao();
+            return lookupDao.query(lookup.withValue(attributeValue));
+        } finally {
+            lookup.clear();
+            idleLookups.offer(lookup);
+        }
+    }
+
     /**
      * Get an QueryBuilder instance from the DAO.
      * @return QueryBuilder instance from the DAO.
@@ -129,25 +561,233 @@ public class GenericDao<T> {
      * @return List of results matching the given query.
      */
     public List<T> query(QueryBuilder<T, String> queryBuilder) {
+        long start = metrics.start();
         try {
-            return dao.query(queryBuilder.prepare());
+            List<T> results = getReadDao().query(queryBuilder.prepare());
+            metrics.success("query", start, results.size());
+            return results;
         } catch (SQLException ex) {
+            metrics.error("query", start);
             LOG.error("An unexpected error occurred", ex);
         }
         return new ArrayList<>();
     }
 
+    /**
+     * Read a page of objects ordered by the given column using keyset pagination.
+     * Instead of skipping rows using an offset, the query seeks directly behind the last object of the previous
+     * page, so reading a deep page costs the same as reading the first one if the order column is indexed.
+     * Objects with the same value in the order column are ordered by their id.
+     * @param orderColumn Name of the column the objects should be ordered by.
+     * @param after Cursor of the previous page, or null to read the first page.
+     * @param limit Maximum amount of objects contained in the page.
+     * @return Page containing the found objects and the cursor of the next page.
+     */
+    public Page<T> page(String orderColumn, PageCursor after, long limit) {
+        FieldType orderField = dao.getTableInfo().getFieldTypeByColumnName(orderColumn);
+        FieldType idField = dao.getTableInfo().getIdField();
+        boolean orderedById = orderField == idField;
+        long start = metrics.start();
+        try {
+            QueryBuilder<T, String> queryBuilder = dao.queryBuilder();
+            queryBuilder.orderBy(orderField.getColumnName(), true);
+            if (!orderedById) {
+                queryBuilder.orderBy(idField.getColumnName(), true);
+            }
+            // Read one additional object to find out if there is a next page
+            queryBuilder.limit(limit + 1);
+            if (after != null) {
+                Where<T, String> where = queryBuilder.where();
+                if (orderedById) {
+                    where.gt(idField.getColumnName(), after.getId());
+                } else {
+                    where.or(
+                            where.gt(orderField.getColumnName(), after.getValue()),
+                            where.and(
+                                    where.eq(orderField.getColumnName(), after.getValue()),
+                                    where.gt(idField.getColumnName(), after.getId())
+                            )
+                    );
+                }
+            }
+
+            List<T> items = getReadDao().query(queryBuilder.prepare());
+            metrics.success("page", start, items.size());
+            if (items.size() <= limit) {
+                return new Page<>(items, null);
+            }
+            items = items.subList(0, (int) limit);
+            T last = items.get(items.size() - 1);
+            return new Page<>(items,
+                    new PageCursor(orderField.extractJavaFieldValue(last), idField.extractJavaFieldValue(last)));
+        } catch (SQLException ex) {
+            metrics.error("page", start);
+            LOG.error("An unexpected error occurred", ex);
+        }
+        return new Page<>(new ArrayList<>(), null);
+    }
+
+    /**
+     * Get the Java type of the given column. Used to restore the values of a {@link PageCursor}.
+     * @param columnName Name of the column.
+     * @return Java type of the values stored in the column.
+     */
+    public Class<?> getColumnType(String columnName) {
+        return dao.getTableInfo().getFieldTypeByColumnName(columnName).getType();
+    }
+
+    /**
+     * Get the Java type of the id column. Used to restore the values of a {@link PageCursor}.
+     * @return Java type of the ids of the stored objects.
+     */
+    public Class<?> getIdType() {
+        return dao.getTableInfo().getIdField().getType();
+    }
+
+    /**
+     * Stream all objects that are contained in the database.
+     * @return Iterator over all objects. It must be closed to release the database connection.
+     * @throws SQLException Exception thrown if the query could not be executed.
+     */
+    public CloseableIterator<T> streamAll() throws SQLException {
+        return stream(dao.queryBuilder());
+    }
+
+    /**
+     * Stream the results matching the given query using the configured fetch size.
+     * @param queryBuilder Query the found objects must match.
+     * @return Iterator over the results. It must be closed to release the database connection.
+     * @throws SQLException Exception thrown if the query could not be executed.
+     */
+    public CloseableIterator<T> stream(QueryBuilder<T, String> queryBuilder) throws SQLException {
+        return stream(queryBuilder, fetchSize);
+    }
+
+    /**
+     * Stream the results matching the given query. Rows are fetched from the database while iterating,
+     * so the memory usage does not grow with the size of the result. The pooled connection used by the
+     * iterator is released back to the connection source when the iterator is closed, which is also when
+     * the streaming read is recorded in the DAO metrics.
+     * @param queryBuilder Query the found objects must match.
+     * @param fetchSize JDBC fetch size that should be used, 0 to use the driver default
+     *                  or {@link #MYSQL_STREAMING_FETCH_SIZE} to stream results on MySQL.
+     * @return Iterator over the results. It must be closed to release the database connection.
+     * @throws SQLException Exception thrown if the query could not be executed.
+     */
+    public CloseableIterator<T> stream(QueryBuilder<T, String> queryBuilder, int fetchSize) throws SQLException {
+        long start = metrics.start();
+        PreparedQuery<T> preparedQuery = queryBuilder.prepare();
+        Dao<T, String> readDao = getReadDao();
+        ConnectionSource connectionSource = readDao.getConnectionSource();
+        DatabaseConnection connection = connectionSource.getReadOnlyConnection(dao.getTableInfo().getTableName());
+        CompiledStatement compiledStatement = null;
+        try {
+            compiledStatement = preparedQuery.compile(
+                    new FetchSizeDatabaseConnection(connection.getUnderlyingConnection(), fetchSize),
+                    StatementBuilder.StatementType.SELECT);
+            return new MeteredSelectIterator<>(readDao.getDataClass(), readDao, preparedQuery, connectionSource,
+                    connection, compiledStatement, readDao.getObjectCache(), metrics, start);
+        } catch (SQLException ex) {
+            metrics.error("stream", start);
+            if (compiledStatement != null) {
+                compiledStatement.closeQuietly();
+            }
+            connectionSource.releaseConnection(connection);
+            throw ex;
+        }
+    }
+
     /**
      * Get the count of all objects currently persisted in the database.
      * @return Count of all objects currently persisted in the database.
      */
     public long countOf() {
+        long start = metrics.start();
         try {
-            return dao.countOf();
+            long count = getReadDao().countOf();
+            metrics.success("countOf", start, 1);
+            return count;
         } catch (SQLException ex) {
+            metrics.error("countOf", start);
             LOG.error("An unexpected error occurred", ex);
         }
         return 0;
     }
 
+    /**
+     * Set the JDBC fetch size used for streaming reads.
+     * @param fetchSize JDBC fetch size that should be used, 0 to use the driver default
+     *                  or {@link #MYSQL_STREAMING_FETCH_SIZE} to stream results on MySQL.
+     */
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Set the duration after which operations of this DAO are logged as slow.
+     * @param slowQueryThresholdMillis Threshold in milliseconds, 0 to disable the slow query log.
+     */
+    public void setSlowQueryThresholdMillis(long slowQueryThresholdMillis) {
+        metrics.setSlowQueryThresholdMillis(slowQueryThresholdMillis);
+    }
+
+    /**
+     * Get the {@link Dao} that should be used for reads. Reads are served by the primary database if the
+     * current thread requires its own writes to be visible, otherwise they may be served by a replica.
+     * @return {@link Dao} that should be used for reads.
+     */
+    protected Dao<T, String> getReadDao() {
+        return ReadConsistency.isPrimaryRequired() ? dao : readDao;
+    }
+
+    /**
+     * Enable caching of attribute lookups for this entity type.
+     * @param cache Cache that should be used for attribute lookups.
+     */
+    public void setCache(EntityCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Clear the lookup cache and bump the version of the entity type after it was written to.
+     */
+    protected void invalidateCache() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+        EntityVersions.bump(dao.getDataClass());
+    }
+
+    /**
+     * Single write executed by one of the write operations.
+     */
+    @FunctionalInterface
+    private interface WriteOperation {
+
+        /**
+         * Execute the write.
+         * @return Amount of rows that were changed.
+         * @throws SQLException Exception thrown if the write failed.
+         */
+        int execute() throws SQLException;
+
+    }
+
+    /**
+     * Operation that is executed for every batch of a batch operation.
+     * @param <T> Type of the objects contained in a batch.
+     */
+    @FunctionalInterface
+    private interface BatchOperation<T> {
+
+        /**
+         * Execute the operation for the given batch.
+         * @param batch Objects contained in the batch.
+         * @return Amount of rows that were changed.
+         * @throws SQLException Exception thrown if the batch could not be written.
+         */
+        int execute(List<T> batch) throws SQLException;
+
+    }
+
 }
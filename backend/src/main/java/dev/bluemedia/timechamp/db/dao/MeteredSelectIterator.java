@@ -0,0 +1,94 @@
+package dev.bluemedia.timechamp.db.dao;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.stmt.GenericRowMapper;
+import com.j256.ormlite.stmt.SelectIterator;
+import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * {@link SelectIterator} that records the streaming read in the {@link DaoMetrics} of its DAO once it is closed.
+ * The recorded duration covers the whole iteration, as rows are fetched from the database while iterating.
+ * @param <T> Type of the objects returned by the iterator.
+ */
+class MeteredSelectIterator<T> extends SelectIterator<T, String> {
+
+    /** Metrics the streaming read is recorded in */
+    private final DaoMetrics metrics;
+
+    /** Start of the streaming read as returned by {@link DaoMetrics#start()} */
+    private final long startNanos;
+
+    /** Amount of objects returned so far */
+    private long rows = 0;
+
+    /** Boolean indicating if the streaming read was already recorded */
+    private boolean recorded = false;
+
+    /**
+     * Create a new {@link MeteredSelectIterator} and execute the query.
+     * @param dataClass Class of the returned objects.
+     * @param classDao {@link Dao} of the returned objects.
+     * @param rowMapper Mapper used to map rows to objects.
+     * @param connectionSource Connection source the connection is released to when the iterator is closed.
+     * @param connection Connection the query is executed on.
+     * @param compiledStatement Compiled query.
+     * @param objectCache Object cache of the {@link Dao}, may be null.
+     * @param metrics Metrics the streaming read should be recorded in.
+     * @param startNanos Start of the streaming read as returned by {@link DaoMetrics#start()}.
+     * @throws SQLException Exception thrown if the query could not be executed.
+     */
+    MeteredSelectIterator(Class<?> dataClass, Dao<T, String> classDao, GenericRowMapper<T> rowMapper,
+                          ConnectionSource connectionSource, DatabaseConnection connection,
+                          CompiledStatement compiledStatement, ObjectCache objectCache,
+                          DaoMetrics metrics, long startNanos) throws SQLException {
+        super(dataClass, classDao, rowMapper, connectionSource, connection, compiledStatement, objectCache);
+        this.metrics = metrics;
+        this.startNanos = startNanos;
+    }
+
+    @Override
+    public T nextThrow() throws SQLException {
+        try {
+            T result = super.nextThrow();
+            if (result != null) {
+                rows++;
+            }
+            return result;
+        } catch (SQLException ex) {
+            record(false);
+            throw ex;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            record(true);
+        }
+    }
+
+    /**
+     * Record the streaming read, unless it was already recorded.
+     * @param successful true if the streaming read completed without an error.
+     */
+    private void record(boolean successful) {
+        if (recorded) {
+            return;
+        }
+        recorded = true;
+        if (successful) {
+            metrics.success("stream", startNanos, rows);
+        } else {
+            metrics.error("stream", startNanos);
+        }
+    }
+
+}
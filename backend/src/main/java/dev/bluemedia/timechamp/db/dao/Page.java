@@ -0,0 +1,43 @@
+package dev.bluemedia.timechamp.db.dao;
+
+import java.util.List;
+
+/**
+ * Single page of a keyset paginated result returned by {@link GenericDao#page(String, PageCursor, long)}.
+ * @param <T> Type of the objects contained in the page.
+ */
+public class Page<T> {
+
+    /** Objects contained in the page */
+    private final List<T> items;
+
+    /** Cursor pointing at the last object of the page, or null if this is the last page */
+    private final PageCursor nextCursor;
+
+    /**
+     * Create a new {@link Page}.
+     * @param items Objects contained in the page.
+     * @param nextCursor Cursor pointing at the last object of the page, or null if this is the last page.
+     */
+    public Page(List<T> items, PageCursor nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public PageCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Get if there are further objects behind this page.
+     * @return true if there is a next page, otherwise false.
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+}
@@ -0,0 +1,33 @@
+package dev.bluemedia.timechamp.db.dao;
+
+/**
+ * Position within a keyset paginated result. A cursor points at the last object of a page by storing the value of
+ * the order column and the id of that object, so the next page can be read by seeking directly behind it.
+ */
+public class PageCursor {
+
+    /** Value of the order column of the last object of the page */
+    private final Object value;
+
+    /** Id of the last object of the page, used to order objects with the same value */
+    private final Object id;
+
+    /**
+     * Create a new {@link PageCursor}.
+     * @param value Value of the order column of the last object of the page.
+     * @param id Id of the last object of the page.
+     */
+    public PageCursor(Object value, Object id) {
+        this.value = value;
+        this.id = id;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public Object getId() {
+        return id;
+    }
+
+}
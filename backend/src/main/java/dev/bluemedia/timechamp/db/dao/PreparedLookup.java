@@ -0,0 +1,46 @@
+package dev.bluemedia.timechamp.db.dao;
+
+import com.j256.ormlite.stmt.PreparedQuery;
+import com.j256.ormlite.stmt.SelectArg;
+
+/**
+ * Compiled attribute lookup that can be reused for any attribute value. The value is passed using a
+ * {@link SelectArg}, so a lookup must only be used by one thread at a time.
+ * @param <T> Type of the objects returned by the lookup.
+ */
+class PreparedLookup<T> {
+
+    /** Compiled query of the lookup */
+    private final PreparedQuery<T> query;
+
+    /** Argument holding the attribute value the query is executed with */
+    private final SelectArg argument;
+
+    /**
+     * Create a new {@link PreparedLookup}.
+     * @param query Compiled query of the lookup.
+     * @param argument Argument used within the query for the attribute value.
+     */
+    PreparedLookup(PreparedQuery<T> query, SelectArg argument) {
+        this.query = query;
+        this.argument = argument;
+    }
+
+    /**
+     * Get the compiled query with the argument set to the given attribute value.
+     * @param attributeValue Attribute value the query should be executed with.
+     * @return Compiled query that is ready to be executed.
+     */
+    PreparedQuery<T> withValue(Object attributeValue) {
+        argument.setValue(attributeValue);
+        return query;
+    }
+
+    /**
+     * Remove the attribute value, so the lookup does not keep a reference to it while it is not in use.
+     */
+    void clear() {
+        argument.setValue(null);
+    }
+
+}
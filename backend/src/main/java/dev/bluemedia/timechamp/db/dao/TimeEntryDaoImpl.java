@@ -0,0 +1,180 @@
+package dev.bluemedia.timechamp.db.dao;
+
+import com.j256.ormlite.dao.CloseableIterator;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.GenericRawResults;
+import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.stmt.SelectArg;
+import com.j256.ormlite.stmt.Where;
+import dev.bluemedia.timechamp.model.object.TimeEntry;
+import dev.bluemedia.timechamp.model.object.TimeRollup;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TimeEntryDaoImpl extends GenericDao<TimeEntry> {
+
+    /** DAO of the rollups that are updated whenever an entry is written */
+    private final TimeRollupDaoImpl rollupDao;
+
+    /**
+     * Constructor used to instantiate this class with a separate {@link Dao} for reads.
+     * @param dao {@link Dao} that should be used for writes and reads that require the latest state.
+     * @param readDao {@link Dao} that should be used for other reads, usually connected to a database replica.
+     * @param rollupDao DAO of the rollups that are updated whenever an entry is written.
+     */
+    public TimeEntryDaoImpl(Dao<TimeEntry, String> dao, Dao<TimeEntry, String> readDao,
+                            TimeRollupDaoImpl rollupDao) {
+        super(dao, readDao);
+        this.rollupDao = rollupDao;
+        // Entries and rollups must be written together, otherwise the reports get out of sync
+        setTransactionalWrites(true);
+    }
+
+    @Override
+    protected int createObject(TimeEntry entry) throws SQLException {
+        int affectedRows = dao.create(entry);
+        Map<String, TimeRollup> deltas = new HashMap<>();
+        TimeRollupDaoImpl.addContribution(entry, 1, deltas);
+        rollupDao.applyDeltas(deltas.values());
+        return affectedRows;
+    }
+
+    @Override
+    protected int updateObject(TimeEntry entry) throws SQLException {
+        Map<String, TimeRollup> deltas = new HashMap<>();
+        TimeEntry storedEntry = lockById(entry.getId());
+        if (storedEntry != null) {
+            TimeRollupDaoImpl.addContribution(storedEntry, -1, deltas);
+        }
+        int affectedRows = dao.update(entry);
+        if (affectedRows > 0) {
+            TimeRollupDaoImpl.addContribution(entry, 1, deltas);
+            rollupDao.applyDeltas(deltas.values());
+        }
+        return affectedRows;
+    }
+
+    @Override
+    protected int deleteObjects(Collection<TimeEntry> entries) throws SQLException {
+        // Subtract the stored state, as the given objects may have been modified since they were loaded
+        Map<String, TimeRollup> deltas = new HashMap<>();
+        List<String> ids = new ArrayList<>();
+        for (TimeEntry entry : entries) {
+            TimeEntry storedEntry = lockById(entry.getId());
+            if (storedEntry != null) {
+                TimeRollupDaoImpl.addContribution(storedEntry, -1, deltas);
+                ids.add(entry.getId());
+            }
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int affectedRows = dao.deleteIds(ids);
+        rollupDao.applyDeltas(deltas.values());
+        return affectedRows;
+    }
+
+    /**
+     * Read the stored state of an entry and lock it until the current transaction ends. Concurrent writes of the
+     * same entry wait for each other, so every write subtracts the contribution of the state it replaces.
+     * @param id Id of the entry.
+     * @return Stored entry, or null if the entry does not exist.
+     * @throws SQLException Exception thrown if the query could not be executed.
+     */
+    private TimeEntry lockById(String id) throws SQLException {
+        List<TimeEntry> entries = queryForUpdate(dao.getTableInfo().getIdField().getColumnName(), id);
+        return entries.isEmpty() ? null : entries.get(0);
+    }
+
+    /**
+     * Get all entries of a user from the primary database and lock them until the current transaction ends.
+     * The locking read sees the latest committed entries instead of the snapshot of the transaction, and the
+     * index lock on the user blocks concurrent writes of the user's entries until the transaction ends.
+     * Unlike {@link #getAllByAttributeMatch(String, String)}, errors are thrown.
+     * @param userId Id of the user.
+     * @return List containing all entries of the user.
+     * @throws SQLException Exception thrown if the query could not be executed.
+     */
+    public List<TimeEntry> lockByUser(String userId) throws SQLException {
+        long start = metrics.start();
+        try {
+            List<TimeEntry> entries = queryForUpdate("userId", userId);
+            metrics.success("lockByUser", start, entries.size());
+            return entries;
+        } catch (SQLException ex) {
+            metrics.error("lockByUser", start);
+            throw ex;
+        }
+    }
+
+    /**
+     * Read the entries matching the given column with a locking read. ORMLite can't build locking reads,
+     * so the generated query is extended and executed as raw query.
+     * @param columnName Name of the column that should be matched.
+     * @param value Value the column should match.
+     * @return List containing the matching entries.
+     * @throws SQLException Exception thrown if the query could not be executed.
+     */
+    private List<TimeEntry> queryForUpdate(String columnName, String value) throws SQLException {
+        QueryBuilder<TimeEntry, String> queryBuilder = dao.queryBuilder();
+        queryBuilder.where().eq(columnName, new SelectArg());
+        String statement = queryBuilder.prepareStatementString() + " FOR UPDATE";
+        try (GenericRawResults<TimeEntry> results = dao.queryRaw(statement, dao.getRawRowMapper(), value)) {
+            return results.getResults();
+        } catch (IOException ex) {
+            throw new SQLException("Could not close the results of the locking read", ex);
+        }
+    }
+
+    /**
+     * Stream the entries of a user that started within the given range, ordered by their start.
+     * @param userId Id of the user.
+     * @param from First day of the range.
+     * @param to Last day of the range, inclusive.
+     * @param projectId Id of the project the entries should be limited to, null to include all projects.
+     * @return Iterator over the matching entries. It must be closed to release the database connection.
+     * @throws SQLException Exception thrown if the query could not be executed.
+     */
+    public CloseableIterator<TimeEntry> streamByUser(String userId, LocalDate from, LocalDate to, String projectId)
+            throws SQLException {
+        QueryBuilder<TimeEntry, String> queryBuilder = getReadDao().queryBuilder();
+        Where<TimeEntry, String> where = queryBuilder.where();
+        where.eq("userId", userId)
+                .and().ge("startTime", from.atStartOfDay())
+                .and().lt("startTime", to.plusDays(1).atStartOfDay());
+        if (projectId != null) {
+            where.and().eq("projectId", projectId);
+        }
+        queryBuilder.orderBy("startTime", true).orderBy("id", true);
+        return stream(queryBuilder);
+    }
+
+    /**
+     * Get the ids of all users that have time entries.
+     * @return List containing the id of every user that has time entries.
+     * @throws SQLException Exception thrown if the query could not be executed.
+     */
+    public List<String> getUserIds() throws SQLException {
+        long start = metrics.start();
+        try {
+            GenericRawResults<String[]> results = dao.queryBuilder().distinct().selectColumns("userId").queryRaw();
+            List<String> userIds = new ArrayList<>();
+            for (String[] row : results.getResults()) {
+                userIds.add(row[0]);
+            }
+            metrics.success("getUserIds", start, userIds.size());
+            return userIds;
+        } catch (SQLException ex) {
+            metrics.error("getUserIds", start);
+            throw ex;
+        }
+    }
+
+}
@@ -0,0 +1,285 @@
+package dev.bluemedia.timechamp.db.dao;
+
+import com.j256.ormlite.dao.CloseableIterator;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.stmt.DeleteBuilder;
+import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.stmt.SelectArg;
+import com.j256.ormlite.stmt.Where;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.table.TableInfo;
+import dev.bluemedia.timechamp.model.object.TimeEntry;
+import dev.bluemedia.timechamp.model.object.TimeRollup;
+import dev.bluemedia.timechamp.model.type.RollupPeriod;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TimeRollupDaoImpl extends GenericDao<TimeRollup> {
+
+    /** Statement creating a rollup or adding to its sums, built once it is used for the first time */
+    private volatile String upsertStatement;
+
+    /**
+     * Constructor used to instantiate this class with a separate {@link Dao} for reads.
+     * @param dao {@link Dao} that should be used for writes and reads that require the latest state.
+     * @param readDao {@link Dao} that should be used for report queries, usually connected to a database replica.
+     */
+    public TimeRollupDaoImpl(Dao<TimeRollup, String> dao, Dao<TimeRollup, String> readDao) {
+        super(dao, readDao);
+    }
+
+    /**
+     * Calculate the contribution of a time entry to the rollups of every period it overlaps.
+     * Entries spanning midnight are split at the day boundaries, so every day only contains the time
+     * worked on it. An entry is counted once per rollup, even if it contributes to multiple days of a week or month.
+     * @param entry Entry whose contribution should be calculated.
+     * @param sign 1 to add the entry to the rollups, -1 to remove it.
+     * @param deltas Map the contributions are added to, keyed by the id of the rollup.
+     */
+    static void addContribution(TimeEntry entry, int sign, Map<String, TimeRollup> deltas) {
+        if (entry.getStartTime() == null || entry.getEndTime() == null
+                || !entry.getEndTime().isAfter(entry.getStartTime())) {
+            return;
+        }
+
+        Map<String, TimeRollup> entryDeltas = new HashMap<>();
+        LocalDateTime segmentStart = entry.getStartTime();
+        while (segmentStart.isBefore(entry.getEndTime())) {
+            LocalDate day = segmentStart.toLocalDate();
+            LocalDateTime nextDay = day.plusDays(1).atStartOfDay();
+            LocalDateTime segmentEnd = entry.getEndTime().isBefore(nextDay) ? entry.getEndTime() : nextDay;
+            long seconds = Duration.between(segmentStart, segmentEnd).getSeconds();
+            for (RollupPeriod period : RollupPeriod.values()) {
+                LocalDate periodStart = period.getPeriodStart(day);
+                entryDeltas.computeIfAbsent(TimeRollup.createId(entry.getUserId(), entry.getProjectId(), period,
+                        periodStart), id -> new TimeRollup(entry.getUserId(), entry.getProjectId(), period,
+                        periodStart, 0, sign)).add(sign * seconds, 0);
+            }
+            segmentStart = segmentEnd;
+        }
+
+        for (TimeRollup delta : entryDeltas.values()) {
+            TimeRollup existing = deltas.putIfAbsent(delta.getId(), delta);
+            if (existing != null) {
+                existing.add(delta.getDurationSeconds(), delta.getEntries());
+            }
+        }
+    }
+
+    /**
+     * Add the given deltas to the stored rollups. Rollups that don't exist yet are created and rollups
+     * that no longer contain any entry are removed. Must be called within the transaction writing the entries.
+     * @param deltas Deltas that should be applied, created by {@link #addContribution(TimeEntry, int, Map)}.
+     * @throws SQLException Exception thrown if a rollup could not be updated.
+     */
+    void applyDeltas(Collection<TimeRollup> deltas) throws SQLException {
+        long start = metrics.start();
+        int affectedRows = 0;
+        try {
+            for (TimeRollup delta : deltas) {
+                if (delta.getDurationSeconds() == 0 && delta.getEntries() == 0) {
+                    continue;
+                }
+                affectedRows += upsert(delta);
+                if (delta.getEntries() < 0) {
+                    DeleteBuilder<TimeRollup, String> deleteBuilder = dao.deleteBuilder();
+                    whereDimensions(deleteBuilder.where(), delta).and().le("entries", 0);
+                    affectedRows += deleteBuilder.delete();
+                }
+            }
+            metrics.success("applyDeltas", start, affectedRows);
+        } catch (SQLException ex) {
+            metrics.error("applyDeltas", start);
+            throw ex;
+        } finally {
+            invalidateCache();
+        }
+    }
+
+    /**
+     * Create the rollup of the given delta or add its sums to the stored rollup, using a single statement.
+     * A separate lookup or update before the insert would lock the gap of the missing rollup on MySQL, so
+     * concurrent transactions creating rollups of neighbouring periods could deadlock each other.
+     * @param delta Delta that should be added.
+     * @return Amount of affected rows as reported by the database.
+     * @throws SQLException Exception thrown if the rollup could not be written.
+     */
+    private int upsert(TimeRollup delta) throws SQLException {
+        TableInfo<TimeRollup, String> tableInfo = dao.getTableInfo();
+        FieldType[] fieldTypes = tableInfo.getFieldTypes();
+        FieldType durationField = tableInfo.getFieldTypeByColumnName("durationSeconds");
+        FieldType entriesField = tableInfo.getFieldTypeByColumnName("entries");
+        FieldType[] argFieldTypes = Arrays.copyOf(fieldTypes, fieldTypes.length + 2);
+        argFieldTypes[fieldTypes.length] = durationField;
+        argFieldTypes[fieldTypes.length + 1] = entriesField;
+        Object[] args = new Object[argFieldTypes.length];
+        for (int i = 0; i < fieldTypes.length; i++) {
+            args[i] = fieldTypes[i].extractJavaFieldToSqlArgValue(delta);
+        }
+        args[fieldTypes.length] = delta.getDurationSeconds();
+        args[fieldTypes.length + 1] = delta.getEntries();
+
+        ConnectionSource connectionSource = dao.getConnectionSource();
+        // Returns the connection of the current transaction, if there is one
+        DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
+        try {
+            return connection.update(getUpsertStatement(), args, argFieldTypes);
+        } finally {
+            connectionSource.releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Get the statement inserting a rollup or adding its sums to the stored rollup with the same dimensions.
+     * The arguments are the values of all columns followed by the duration and amount of entries to add.
+     * @return Insert statement updating the stored rollup on a duplicate key.
+     */
+    private String getUpsertStatement() {
+        if (upsertStatement == null) {
+            DatabaseType databaseType = dao.getConnectionSource().getDatabaseType();
+            StringBuilder columns = new StringBuilder();
+            StringBuilder values = new StringBuilder();
+            for (FieldType fieldType : dao.getTableInfo().getFieldTypes()) {
+                if (columns.length() > 0) {
+                    columns.append(", ");
+                    values.append(", ");
+                }
+                databaseType.appendEscapedEntityName(columns, fieldType.getColumnName());
+                values.append('?');
+            }
+            StringBuilder statement = new StringBuilder("INSERT INTO ");
+            databaseType.appendEscapedEntityName(statement, dao.getTableInfo().getTableName());
+            statement.append(" (").append(columns).append(") VALUES (").append(values)
+                    .append(") ON DUPLICATE KEY UPDATE ");
+            appendIncrement(databaseType, statement, "durationSeconds");
+            statement.append(", ");
+            appendIncrement(databaseType, statement, "entries");
+            upsertStatement = statement.toString();
+        }
+        return upsertStatement;
+    }
+
+    /**
+     * Append the assignment adding an argument to the given column.
+     * @param databaseType Type of the database, used to escape the column name.
+     * @param statement Statement the assignment should be appended to.
+     * @param columnName Name of the column that should be incremented.
+     */
+    private static void appendIncrement(DatabaseType databaseType, StringBuilder statement, String columnName) {
+        databaseType.appendEscapedEntityName(statement, columnName);
+        statement.append(" = ");
+        databaseType.appendEscapedEntityName(statement, columnName);
+        statement.append(" + ?");
+    }
+
+    /**
+     * Restrict the given statement to the stored rollup with the same dimensions as the given rollup.
+     * The dimensions are unique, so the lookup uses the unique index instead of relying on the derived id.
+     * @param where Where clause of the statement.
+     * @param rollup Rollup whose dimensions should be matched.
+     * @return The where clause, so further conditions can be added.
+     * @throws SQLException Exception thrown if the where clause could not be built.
+     */
+    private static Where<TimeRollup, String> whereDimensions(Where<TimeRollup, String> where, TimeRollup rollup)
+            throws SQLException {
+        return where.eq("userId", new SelectArg(rollup.getUserId()))
+                .and().eq("projectId", new SelectArg(rollup.getProjectId()))
+                .and().eq("period", rollup.getPeriod())
+                .and().eq("periodStart", rollup.getPeriodStart().toEpochDay());
+    }
+
+    /**
+     * Replace the rollups of a user with rollups calculated from the given entries.
+     * Must be called within a transaction, so reports never see a partially rebuilt state.
+     * @param userId Id of the user whose rollups should be rebuilt.
+     * @param entries All time entries of the user.
+     * @return Amount of rollups that were created.
+     * @throws SQLException Exception thrown if the rollups could not be replaced.
+     */
+    public int rebuild(String userId, Collection<TimeEntry> entries) throws SQLException {
+        Map<String, TimeRollup> rollups = new LinkedHashMap<>();
+        for (TimeEntry entry : entries) {
+            addContribution(entry, 1, rollups);
+        }
+
+        long start = metrics.start();
+        try {
+            DeleteBuilder<TimeRollup, String> deleteBuilder = dao.deleteBuilder();
+            deleteBuilder.where().eq("userId", userId);
+            int affectedRows = deleteBuilder.delete();
+            for (TimeRollup rollup : rollups.values()) {
+                affectedRows += dao.create(rollup);
+            }
+            metrics.success("rebuild", start, affectedRows);
+            return rollups.size();
+        } catch (SQLException ex) {
+            metrics.error("rebuild", start);
+            throw ex;
+        } finally {
+            invalidateCache();
+        }
+    }
+
+    /**
+     * Stream the daily rollups within the given range, ordered by user. Used to calculate the overtime balances.
+     * @param userId Id of the user whose rollups should be streamed, null to stream the rollups of all users.
+     * @param from First day of the range.
+     * @param to Last day of the range, inclusive.
+     * @return Iterator over the daily rollups. It must be closed to release the database connection.
+     * @throws SQLException Exception thrown if the query could not be executed.
+     */
+    public CloseableIterator<TimeRollup> streamDays(String userId, LocalDate from, LocalDate to) throws SQLException {
+        QueryBuilder<TimeRollup, String> queryBuilder = getReadDao().queryBuilder();
+        Where<TimeRollup, String> where = queryBuilder.where();
+        where.eq("period", RollupPeriod.DAY).and().between("periodStart", from.toEpochDay(), to.toEpochDay());
+        if (userId != null) {
+            where.and().eq("userId", userId);
+        }
+        queryBuilder.orderBy("userId", true);
+        return stream(queryBuilder);
+    }
+
+    /**
+     * Get the rollups of a user within the given range, ordered by period and project.
+     * @param userId Id of the user.
+     * @param period Period the rollups should be aggregated by.
+     * @param from First day of the range. The rollup of the period containing this day is included.
+     * @param to Last day of the range, inclusive.
+     * @param projectId Id of the project the rollups should be limited to, null to include all projects.
+     * @return List containing the matching rollups.
+     * @throws SQLException Exception thrown if the query could not be executed.
+     */
+    public List<TimeRollup> getRollups(String userId, RollupPeriod period, LocalDate from, LocalDate to,
+                                       String projectId) throws SQLException {
+        long start = metrics.start();
+        try {
+            QueryBuilder<TimeRollup, String> queryBuilder = getReadDao().queryBuilder();
+            Where<TimeRollup, String> where = queryBuilder.where();
+            where.eq("userId", userId).and().eq("period", period)
+                    .and().between("periodStart", period.getPeriodStart(from).toEpochDay(), to.toEpochDay());
+            if (projectId != null) {
+                where.and().eq("projectId", projectId);
+            }
+            queryBuilder.orderBy("periodStart", true).orderBy("projectId", true);
+            List<TimeRollup> rollups = queryBuilder.query();
+            metrics.success("getRollups", start, rollups.size());
+            return rollups;
+        } catch (SQLException ex) {
+            metrics.error("getRollups", start);
+            throw ex;
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package dev.bluemedia.timechamp.db.persister;
+
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.field.types.LongObjectType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Custom ORMLite persister used to store {@link LocalDateTime} as milliseconds since the epoch in a BIGINT column.
+ * Numeric columns can be compared and indexed efficiently and are decoded without parsing a string.
+ * <p>
+ * The local date and time is always interpreted in UTC, independent of the time zone of the server. The stored value
+ * therefore represents the wall clock time and is not affected by daylight saving time changes. Precision is
+ * reduced to milliseconds.
+ */
+public class EpochMillisLocalDateTimePersister extends LongObjectType {
+
+    private static final EpochMillisLocalDateTimePersister singleton = new EpochMillisLocalDateTimePersister();
+
+    /** Fixed offset used to convert between local date and time and the epoch */
+    private static final ZoneOffset ZONE = ZoneOffset.UTC;
+
+    private EpochMillisLocalDateTimePersister() {
+        super(SqlType.LONG, new Class<?>[] { LocalDateTime.class });
+    }
+
+    public static EpochMillisLocalDateTimePersister getSingleton() {
+        return singleton;
+    }
+
+    /**
+     * Convert an {@link LocalDateTime} to milliseconds since the epoch for persistence.
+     * @param fieldType Type of the SQL field where the object should be persisted.
+     * @param javaObject Object that should be persisted.
+     * @return Milliseconds since the epoch of the given {@link LocalDateTime}, or null if the given object was null.
+     */
+    @Override
+    public Object javaToSqlArg(FieldType fieldType, Object javaObject) {
+        LocalDateTime dateTime = (LocalDateTime) javaObject;
+        if (dateTime == null) {
+            return null;
+        }
+        return dateTime.toEpochSecond(ZONE) * 1000L + dateTime.getNano() / 1_000_000;
+    }
+
+    /**
+     * Convert milliseconds since the epoch back to it's {@link LocalDateTime} representation.
+     * @param fieldType Type of the SQL field where the object was persisted.
+     * @param sqlArg Object that was persisted.
+     * @return Java object representing the given sql type.
+     */
+    @Override
+    public Object sqlArgToJava(FieldType fieldType, Object sqlArg, int columnPos) {
+        long epochMillis = (Long) sqlArg;
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000L),
+                (int) Math.floorMod(epochMillis, 1000L) * 1_000_000, ZONE);
+    }
+
+    @Override
+    public boolean isValidGeneratedType() {
+        return false;
+    }
+
+}
@@ -0,0 +1,141 @@
+package dev.bluemedia.timechamp.db.pool;
+
+import com.j256.ormlite.support.ConnectionSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import dev.bluemedia.timechamp.model.config.DatabasePoolConfig;
+import dev.bluemedia.timechamp.util.MetricsUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Factory used to create instrumented connection pools for the configured pool provider.
+ */
+public class ConnectionPoolFactory {
+
+    /** SLF4J logger for usage in this class */
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectionPoolFactory.class.getName());
+
+    /** Pool provider using HikariCP */
+    public static final String PROVIDER_HIKARI = "hikari";
+
+    /** Pool provider using the pool built into ORMLite */
+    public static final String PROVIDER_ORMLITE = "ormlite";
+
+    /**
+     * Create a new connection pool and register its metrics.
+     * @param name Name of the pool, used to tag the metrics of the pool.
+     * @param jdbcUrl JDBC URL used to connect to the database.
+     * @param poolConfig Settings of the pool.
+     * @return Connection source backed by the created pool.
+     * @throws SQLException Exception thrown if the pool could not be created.
+     */
+    public static ConnectionSource create(String name, String jdbcUrl, DatabasePoolConfig poolConfig)
+            throws SQLException {
+        MeterRegistry registry = MetricsUtil.getRegistry();
+        Timer acquisitionTimer = Timer.builder("db.pool.connections.acquire")
+                .description("Time it takes to acquire a database connection from the pool")
+                .tag("pool", name)
+                .publishPercentileHistogram()
+                .register(registry);
+
+        switch (poolConfig.getProvider()) {
+            case PROVIDER_HIKARI:
+                return createHikariPool(name, jdbcUrl, poolConfig, acquisitionTimer, registry);
+            case PROVIDER_ORMLITE:
+                return createOrmlitePool(name, jdbcUrl, poolConfig, acquisitionTimer, registry);
+            default:
+                throw new SQLException(String.format("Unknown connection pool provider %s", poolConfig.getProvider()));
+        }
+    }
+
+    /**
+     * Create a new HikariCP connection pool.
+     * @param name Name of the pool.
+     * @param jdbcUrl JDBC URL used to connect to the database.
+     * @param poolConfig Settings of the pool.
+     * @param acquisitionTimer Timer used to record connection acquisition times.
+     * @param registry Registry the metrics of the pool should be registered to.
+     * @return Connection source backed by the created pool.
+     * @throws SQLException Exception thrown if the pool could not be created.
+     */
+    private static ConnectionSource createHikariPool(String name, String jdbcUrl, DatabasePoolConfig poolConfig,
+                                                     Timer acquisitionTimer, MeterRegistry registry)
+            throws SQLException {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName("timechamp-" + name);
+        hikariConfig.setJdbcUrl(jdbcUrl);
+        hikariConfig.setMinimumIdle(poolConfig.getMinIdle());
+        hikariConfig.setMaximumPoolSize(poolConfig.getMaxSize());
+        hikariConfig.setConnectionTimeout(poolConfig.getAcquisitionTimeoutMillis());
+        hikariConfig.setMaxLifetime(poolConfig.getMaxLifetimeMillis());
+        // Validate idle connections in the background instead of testing every connection before it is handed out
+        hikariConfig.setKeepaliveTime(poolConfig.getValidationIntervalMillis());
+        hikariConfig.setLeakDetectionThreshold(poolConfig.getLeakDetectionThresholdMillis());
+
+        HikariDataSource dataSource = new HikariDataSource(hikariConfig);
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        registerGauge(registry, "db.pool.connections.active", name, pool, HikariPoolMXBean::getActiveConnections);
+        registerGauge(registry, "db.pool.connections.idle", name, pool, HikariPoolMXBean::getIdleConnections);
+        registerGauge(registry, "db.pool.connections.pending", name, pool,
+                HikariPoolMXBean::getThreadsAwaitingConnection);
+        return new HikariConnectionSource(dataSource, jdbcUrl, acquisitionTimer);
+    }
+
+    /**
+     * Create a new connection pool using the pool built into ORMLite.
+     * This pool opens new connections on demand, so the minimum idle and maximum size, the acquisition timeout
+     * and the leak detection settings are not supported.
+     * @param name Name of the pool.
+     * @param jdbcUrl JDBC URL used to connect to the database.
+     * @param poolConfig Settings of the pool.
+     * @param acquisitionTimer Timer used to record connection acquisition times.
+     * @param registry Registry the metrics of the pool should be registered to.
+     * @return Connection source backed by the created pool.
+     * @throws SQLException Exception thrown if the pool could not be created.
+     */
+    private static ConnectionSource createOrmlitePool(String name, String jdbcUrl, DatabasePoolConfig poolConfig,
+                                                      Timer acquisitionTimer, MeterRegistry registry)
+            throws SQLException {
+        LOG.warn("The ormlite connection pool ignores the minIdle, maxSize, acquisitionTimeoutMillis " +
+                "and leakDetectionThresholdMillis settings. Use the hikari pool if you need them.");
+        PooledConnectionSource connectionSource = new PooledConnectionSource(jdbcUrl, acquisitionTimer);
+        connectionSource.setMaxConnectionsFree(poolConfig.getMaxSize());
+        connectionSource.setMaxConnectionAgeMillis(poolConfig.getMaxLifetimeMillis());
+        // Validate idle connections in the background instead of testing every connection before it is handed out
+        connectionSource.setTestBeforeGet(false);
+        connectionSource.setCheckConnectionsEveryMillis(poolConfig.getValidationIntervalMillis());
+
+        registerGauge(registry, "db.pool.connections.active", name, connectionSource,
+                source -> source.getCurrentConnectionsManaged() - source.getCurrentConnectionsFree());
+        registerGauge(registry, "db.pool.connections.idle", name, connectionSource,
+                PooledConnectionSource::getCurrentConnectionsFree);
+        registerGauge(registry, "db.pool.connections.pending", name, connectionSource, source -> 0);
+        return connectionSource;
+    }
+
+    /**
+     * Register a gauge reporting a value of a connection pool.
+     * @param registry Registry the gauge should be registered to.
+     * @param metricName Name of the gauge.
+     * @param poolName Name of the pool, used as a tag.
+     * @param pool Pool the value is read from.
+     * @param valueFunction Function used to read the value from the pool.
+     * @param <P> Type of the pool.
+     */
+    private static <P> void registerGauge(MeterRegistry registry, String metricName, String poolName, P pool,
+                                          ToDoubleFunction<P> valueFunction) {
+        Gauge.builder(metricName, pool, valueFunction)
+                .tag("pool", poolName)
+                .strongReference(true)
+                .register(registry);
+    }
+
+}
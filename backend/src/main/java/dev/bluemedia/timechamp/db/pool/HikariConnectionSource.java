@@ -0,0 +1,55 @@
+package dev.bluemedia.timechamp.db.pool;
+
+import com.j256.ormlite.jdbc.DataSourceConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ORMLite connection source backed by a HikariCP pool, that records the time it takes to acquire a connection.
+ */
+class HikariConnectionSource extends DataSourceConnectionSource {
+
+    /** HikariCP pool connections are taken from */
+    private final HikariDataSource dataSource;
+
+    /** Timer used to record connection acquisition times */
+    private final Timer acquisitionTimer;
+
+    /**
+     * Create a new {@link HikariConnectionSource}.
+     * @param dataSource HikariCP pool connections should be taken from.
+     * @param jdbcUrl JDBC URL of the pool, used to determine the database type.
+     * @param acquisitionTimer Timer used to record connection acquisition times.
+     * @throws SQLException Exception thrown if the connection source could not be initialized.
+     */
+    HikariConnectionSource(HikariDataSource dataSource, String jdbcUrl, Timer acquisitionTimer) throws SQLException {
+        super(dataSource, jdbcUrl);
+        this.dataSource = dataSource;
+        this.acquisitionTimer = acquisitionTimer;
+    }
+
+    @Override
+    public DatabaseConnection getReadWriteConnection(String tableName) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return super.getReadWriteConnection(tableName);
+        } finally {
+            acquisitionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Close the connection source and the underlying pool.
+     */
+    @Override
+    public void close() throws IOException {
+        super.close();
+        dataSource.close();
+    }
+
+}
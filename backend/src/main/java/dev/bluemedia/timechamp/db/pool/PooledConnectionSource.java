@@ -0,0 +1,39 @@
+package dev.bluemedia.timechamp.db.pool;
+
+import com.j256.ormlite.jdbc.JdbcPooledConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+import io.micrometer.core.instrument.Timer;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ORMLite {@link JdbcPooledConnectionSource} that records the time it takes to acquire a connection.
+ */
+class PooledConnectionSource extends JdbcPooledConnectionSource {
+
+    /** Timer used to record connection acquisition times */
+    private final Timer acquisitionTimer;
+
+    /**
+     * Create a new {@link PooledConnectionSource}.
+     * @param jdbcUrl JDBC URL used to connect to the database.
+     * @param acquisitionTimer Timer used to record connection acquisition times.
+     * @throws SQLException Exception thrown if the connection source could not be initialized.
+     */
+    PooledConnectionSource(String jdbcUrl, Timer acquisitionTimer) throws SQLException {
+        super(jdbcUrl);
+        this.acquisitionTimer = acquisitionTimer;
+    }
+
+    @Override
+    public DatabaseConnection getReadWriteConnection(String tableName) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return super.getReadWriteConnection(tableName);
+        } finally {
+            acquisitionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+}
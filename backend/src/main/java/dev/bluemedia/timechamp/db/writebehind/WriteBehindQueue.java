@@ -0,0 +1,718 @@
+package dev.bluemedia.timechamp.db.writebehind;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.bluemedia.timechamp.db.EntityVersions;
+import dev.bluemedia.timechamp.db.dao.BatchResult;
+import dev.bluemedia.timechamp.db.dao.GenericDao;
+import dev.bluemedia.timechamp.model.config.WriteBehindConfig;
+import dev.bluemedia.timechamp.util.MetricsUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Queue acknowledging writes as soon as they are appended to a journal file and writing them to the database
+ * in batches afterwards. Repeated writes of the same object are coalesced, so only the latest state is written.
+ * Writes are flushed once {@link WriteBehindConfig#getBatchSize()} objects are queued or the flush interval
+ * passed. Writes that are still journaled after a crash are replayed on the next start.
+ * @param <T> Type of the queued objects.
+ */
+public class WriteBehindQueue<T> {
+
+    /** SLF4J logger for usage in this class */
+    private static final Logger LOG = LoggerFactory.getLogger(WriteBehindQueue.class.getName());
+
+    /** Suffix of the journal containing the writes of the currently running flush */
+    private static final String FLUSHING_SUFFIX = ".flushing";
+
+    /** Suffix of the file receiving the writes that failed too often to be retried */
+    private static final String DEAD_LETTER_SUFFIX = ".dead";
+
+    /** Name of the queue, used for logging and metrics */
+    private final String name;
+
+    /** DAO the queued writes are flushed to */
+    private final GenericDao<T> dao;
+
+    /** Class of the queued objects */
+    private final Class<T> type;
+
+    /** Function returning the id of a queued object, which is used to coalesce writes */
+    private final Function<T, String> idExtractor;
+
+    /** Settings of the queue */
+    private final WriteBehindConfig config;
+
+    /** Mapper used to write and read the journal records */
+    private final ObjectMapper mapper;
+
+    /** Journal of all queued writes */
+    private final Path journalPath;
+
+    /** Journal of the writes taken by the currently running flush, deleted once they are committed */
+    private final Path flushingPath;
+
+    /** File receiving the writes that failed too often, so they can be inspected and replayed manually */
+    private final Path deadLetterPath;
+
+    /** Lock guarding the pending writes and the journal */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Condition signalled once a flush freed capacity */
+    private final Condition notFull = lock.newCondition();
+
+    /** Latest queued write of every object by id, in order of the first write */
+    private LinkedHashMap<String, PendingWrite<T>> pending = new LinkedHashMap<>();
+
+    /** Writes taken by the currently running flush, which are not committed yet */
+    private volatile Map<String, PendingWrite<T>> flushing = Collections.emptyMap();
+
+    /** Channel appending to the journal */
+    private FileChannel journal;
+
+    /** Boolean indicating if the queue accepts no further writes */
+    private boolean closed = false;
+
+    /** Lock making sure only one flush runs at a time */
+    private final Object flushLock = new Object();
+
+    /** Executor running the size and time triggered flushes */
+    private final ScheduledExecutorService flusher;
+
+    /** Amount of writes replacing a queued write of the same object */
+    private final Counter coalesced;
+
+    /** Amount of writes rejected because the queue was full */
+    private final Counter rejections;
+
+    /** Amount of writes moved to the dead-letter file */
+    private final Counter deadLetters;
+
+    /** Duration of the flushes */
+    private final Timer flushTimer;
+
+    /**
+     * Create a new {@link WriteBehindQueue}. Writes left behind in the journal are recovered and the periodic
+     * flush is started.
+     * @param name Name of the queue, used for logging and metrics.
+     * @param dao DAO the queued writes are flushed to.
+     * @param type Class of the queued objects.
+     * @param idExtractor Function returning the id of a queued object.
+     * @param config Settings of the queue.
+     * @throws IOException Exception thrown if the journal could not be read or opened.
+     */
+    public WriteBehindQueue(String name, GenericDao<T> dao, Class<T> type, Function<T, String> idExtractor,
+                            WriteBehindConfig config) throws IOException {
+        this.name = name;
+        this.dao = dao;
+        this.type = type;
+        this.idExtractor = idExtractor;
+        this.config = config;
+        this.mapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        this.journalPath = Paths.get(config.getJournalFile()).toAbsolutePath();
+        this.flushingPath = Paths.get(journalPath + FLUSHING_SUFFIX);
+        this.deadLetterPath = Paths.get(journalPath + DEAD_LETTER_SUFFIX);
+
+        recover();
+        journal = openJournal();
+
+        MeterRegistry registry = MetricsUtil.getRegistry();
+        coalesced = Counter.builder("writebehind.coalesced").tag("queue", name)
+                .description("Queued writes replaced by a newer write of the same object")
+                .register(registry);
+        rejections = Counter.builder("writebehind.rejections").tag("queue", name)
+                .description("Writes rejected because the write-behind queue was full")
+                .register(registry);
+        deadLetters = Counter.builder("writebehind.deadletters").tag("queue", name)
+                .description("Writes moved to the dead-letter file after failing too often")
+                .register(registry);
+        flushTimer = Timer.builder("writebehind.flushes").tag("queue", name)
+                .description("Duration of the write-behind flushes")
+                .register(registry);
+        Gauge.builder("writebehind.pending", this, WriteBehindQueue::size).tag("queue", name)
+                .description("Objects with writes waiting to be flushed")
+                .register(registry);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-behind-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, config.getFlushIntervalMillis(),
+                config.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queue the creation or update of the given object.
+     * @param object Object that should be saved to the database.
+     * @throws IOException Exception thrown if the write could not be journaled.
+     * @throws RejectedExecutionException Exception thrown if the queue stayed full or is closed.
+     */
+    public void save(T object) throws IOException {
+        enqueue(new PendingWrite<>(Operation.SAVE, object));
+    }
+
+    /**
+     * Queue the deletion of the given object.
+     * @param object Object that should be deleted from the database.
+     * @throws IOException Exception thrown if the write could not be journaled.
+     * @throws RejectedExecutionException Exception thrown if the queue stayed full or is closed.
+     */
+    public void delete(T object) throws IOException {
+        enqueue(new PendingWrite<>(Operation.DELETE, object));
+    }
+
+    /**
+     * Get the write of the given object that is not committed to the database yet.
+     * @param id Id of the object.
+     * @return Latest uncommitted write of the object, or null if the database contains its latest state.
+     */
+    public PendingWrite<T> getPending(String id) {
+        lock.lock();
+        try {
+            PendingWrite<T> write = pending.get(id);
+            if (write != null) {
+                return write;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return flushing.get(id);
+    }
+
+    /**
+     * Get the amount of objects with writes waiting to be flushed.
+     * @return Amount of objects with queued writes.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Journal the given write and queue it, waiting for free capacity up to the configured enqueue timeout.
+     * The write is acknowledged once the journal is forced to the storage device.
+     * @param write Write that should be queued.
+     * @throws IOException Exception thrown if the write could not be journaled.
+     */
+    private void enqueue(PendingWrite<T> write) throws IOException {
+        String id = idExtractor.apply(write.getObject());
+        byte[] record = toRecord(write);
+        boolean flushRequired;
+
+        lock.lock();
+        try {
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(config.getEnqueueTimeoutMillis());
+            // Writes of already queued objects are coalesced and don't need additional capacity
+            while (!closed && pending.size() >= config.getCapacity() && !pending.containsKey(id)) {
+                if (remainingNanos <= 0) {
+                    rejections.increment();
+                    throw new RejectedExecutionException("Too many pending writes in write-behind queue " + name);
+                }
+                try {
+                    remainingNanos = notFull.awaitNanos(remainingNanos);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted while waiting for the write-behind queue", ex);
+                }
+            }
+            if (closed) {
+                throw new RejectedExecutionException("Write-behind queue " + name + " is closed");
+            }
+
+            writeFully(journal, record);
+            journal.force(false);
+            if (pending.put(id, write) != null) {
+                coalesced.increment();
+            }
+            // Queued writes are already visible to readers of the queue
+            EntityVersions.bump(type);
+            flushRequired = pending.size() >= config.getBatchSize();
+        } finally {
+            lock.unlock();
+        }
+
+        if (flushRequired) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException ex) {
+                // The queue is closing and flushes the remaining writes itself
+            }
+        }
+    }
+
+    /**
+     * Write all queued writes to the database. The writes of a failed batch are retried one by one, so a single
+     * failing write does not hold back the others. Failed writes stay queued and are retried by the next flush,
+     * unless the object was written again in the meantime. Writes failing {@link WriteBehindConfig#getMaxAttempts()}
+     * times for a reason other than an unavailable database are moved to the dead-letter file.
+     * @throws IOException Exception thrown if the journal could not be rotated or the failed writes could not be
+     *                     journaled again. The flushing journal is kept and the affected writes stay queued.
+     */
+    public void flush() throws IOException {
+        synchronized (flushLock) {
+            Map<String, PendingWrite<T>> batch;
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                rotateJournal();
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                flushing = batch;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            long start = System.nanoTime();
+            List<PendingWrite<T>> failed = new ArrayList<>();
+            try {
+                List<PendingWrite<T>> saves = new ArrayList<>();
+                List<PendingWrite<T>> deletes = new ArrayList<>();
+                for (PendingWrite<T> write : batch.values()) {
+                    (write.isDelete() ? deletes : saves).add(write);
+                }
+                write(saves, failed);
+                write(deletes, failed);
+
+                if (!failed.isEmpty()) {
+                    LOG.error("{} of {} writes of write-behind queue {} could not be flushed",
+                            failed.size(), batch.size(), name);
+                    requeue(failed);
+                }
+                // Every write of the flushing journal is committed, queued and journaled again or dead-lettered
+                Files.deleteIfExists(flushingPath);
+            } finally {
+                flushing = Collections.emptyMap();
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            LOG.debug("Flushed {} writes of write-behind queue {} in {} ms", batch.size() - failed.size(), name,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Stop the periodic flush and write all queued writes to the database. Further writes are rejected.
+     */
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        lock.lock();
+        try {
+            closed = true;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            flush();
+            journal.close();
+            if (size() > 0) {
+                LOG.warn("{} writes of write-behind queue {} could not be flushed and will be recovered " +
+                        "on the next start", size(), name);
+            }
+        } catch (IOException ex) {
+            LOG.error("An unexpected error occurred", ex);
+        }
+    }
+
+    /**
+     * Flush the queue, logging instead of throwing errors, so the periodic flush keeps running.
+     */
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            LOG.error("An unexpected error occurred", ex);
+        }
+    }
+
+    /**
+     * Write the given writes of the same operation in batches. The writes of a failed batch are written again
+     * one by one, so only the writes that fail on their own are added to the failed writes.
+     * @param writes Writes that should be written, all using the same operation.
+     * @param failed List the failed writes are added to, with their attempt counted.
+     */
+    private void write(List<PendingWrite<T>> writes, List<PendingWrite<T>> failed) {
+        List<BatchResult> results = execute(writes, config.getBatchSize());
+        for (BatchResult result : results) {
+            if (result.isSuccessful()) {
+                continue;
+            }
+            int from = result.getBatchIndex() * config.getBatchSize();
+            List<PendingWrite<T>> batch = writes.subList(from, from + result.getBatchSize());
+            if (batch.size() == 1) {
+                failed.add(batch.get(0).failedAttempt(result.getException()));
+                continue;
+            }
+            LOG.warn("Batch of write-behind queue {} was rolled back, writing its objects one by one", name,
+                    result.getException());
+            for (PendingWrite<T> write : batch) {
+                BatchResult single = execute(List.of(write), 1).get(0);
+                if (!single.isSuccessful()) {
+                    failed.add(write.failedAttempt(single.getException()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the given writes of the same operation to the database.
+     * @param writes Writes that should be written, all using the same operation.
+     * @param batchSize Maximum amount of objects written per transaction.
+     * @return Result of every executed batch.
+     */
+    private List<BatchResult> execute(List<PendingWrite<T>> writes, int batchSize) {
+        if (writes.isEmpty()) {
+            return List.of();
+        }
+        List<T> objects = new ArrayList<>(writes.size());
+        for (PendingWrite<T> write : writes) {
+            objects.add(write.getObject());
+        }
+        return writes.get(0).isDelete() ? dao.deleteAll(objects, batchSize) : dao.saveAll(objects, batchSize);
+    }
+
+    /**
+     * Queue the given failed writes again or move them to the dead-letter file, if they failed too often.
+     * Objects that were written again since the flush started keep their newer write, which also keeps the
+     * journal free of outdated records following newer ones. The writes are queued before they are journaled,
+     * so they are retried by the next flush even if journaling fails.
+     * @param failed Writes that could not be flushed.
+     * @throws IOException Exception thrown if the writes could not be journaled or dead-lettered.
+     */
+    private void requeue(List<PendingWrite<T>> failed) throws IOException {
+        List<PendingWrite<T>> retries = new ArrayList<>();
+        List<PendingWrite<T>> dead = new ArrayList<>();
+        for (PendingWrite<T> write : failed) {
+            (write.getAttempts() >= config.getMaxAttempts() ? dead : retries).add(write);
+        }
+
+        IOException deadLetterError = null;
+        if (!dead.isEmpty()) {
+            try {
+                appendDeadLetters(dead);
+            } catch (IOException ex) {
+                // Keep retrying the writes instead of losing them
+                retries.addAll(dead);
+                deadLetterError = ex;
+            }
+        }
+        journalRetries(retries);
+        if (deadLetterError != null) {
+            throw deadLetterError;
+        }
+    }
+
+    /**
+     * Queue and journal the given writes again.
+     * @param retries Writes that should be retried by the next flush.
+     * @throws IOException Exception thrown if the writes could not be journaled.
+     */
+    private void journalRetries(List<PendingWrite<T>> retries) throws IOException {
+        if (retries.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            List<PendingWrite<T>> requeued = new ArrayList<>();
+            for (PendingWrite<T> write : retries) {
+                if (pending.putIfAbsent(idExtractor.apply(write.getObject()), write) == null) {
+                    requeued.add(write);
+                }
+            }
+            for (PendingWrite<T> write : requeued) {
+                writeFully(journal, toRecord(write));
+            }
+            journal.force(false);
+        } finally {
+            lock.unlock();
+        }
+        LOG.warn("{} failed writes of write-behind queue {} will be retried", retries.size(), name);
+    }
+
+    /**
+     * Append the given writes to the dead-letter file. The file uses the journal format, so the writes can be
+     * replayed by moving the file to the journal once the cause of the failures is fixed.
+     * @param dead Writes that failed too often.
+     * @throws IOException Exception thrown if the writes could not be written to the dead-letter file.
+     */
+    private void appendDeadLetters(List<PendingWrite<T>> dead) throws IOException {
+        try (FileChannel channel = FileChannel.open(deadLetterPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            for (PendingWrite<T> write : dead) {
+                writeFully(channel, toRecord(write));
+            }
+            channel.force(false);
+        }
+        deadLetters.increment(dead.size());
+        for (PendingWrite<T> write : dead) {
+            LOG.error("Write of object {} failed {} times and was moved to the dead-letter file {}",
+                    idExtractor.apply(write.getObject()), write.getAttempts(), deadLetterPath);
+        }
+    }
+
+    /**
+     * Move the journal of the queued writes to the flushing journal and open a new journal.
+     * If a previous flush could not clean up its journal, the journal is appended to it instead, so no
+     * write is lost before it is committed.
+     * @throws IOException Exception thrown if the journal could not be moved.
+     */
+    private void rotateJournal() throws IOException {
+        journal.close();
+        try {
+            if (Files.exists(flushingPath)) {
+                try (OutputStream out = Files.newOutputStream(flushingPath, StandardOpenOption.APPEND)) {
+                    Files.copy(journalPath, out);
+                }
+                try (FileChannel channel = FileChannel.open(flushingPath, StandardOpenOption.WRITE)) {
+                    channel.force(false);
+                }
+                Files.delete(journalPath);
+            } else {
+                Files.move(journalPath, flushingPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } finally {
+            journal = openJournal();
+        }
+    }
+
+    /**
+     * Replay the writes left behind in the journals by a crash and compact them into a new journal.
+     * A damaged record at the end of a journal belongs to a write that was never acknowledged and is skipped.
+     * @throws IOException Exception thrown if a journal could not be read or written.
+     */
+    private void recover() throws IOException {
+        replay(flushingPath);
+        replay(journalPath);
+        if (pending.isEmpty()) {
+            Files.deleteIfExists(flushingPath);
+            return;
+        }
+
+        Path compactedPath = Paths.get(journalPath + ".tmp");
+        try (FileChannel channel = FileChannel.open(compactedPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (PendingWrite<T> write : pending.values()) {
+                writeFully(channel, toRecord(write));
+            }
+            channel.force(false);
+        }
+        Files.move(compactedPath, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(flushingPath);
+        LOG.info("Recovered {} pending writes of write-behind queue {}", pending.size(), name);
+    }
+
+    /**
+     * Read the writes of the given journal into the pending writes.
+     * @param path Journal that should be read.
+     * @throws IOException Exception thrown if the journal could not be read.
+     */
+    private void replay(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    JournalRecord record = mapper.readValue(line, JournalRecord.class);
+                    T object = mapper.treeToValue(record.data, type);
+                    pending.put(idExtractor.apply(object), new PendingWrite<>(record.op, object, record.attempts));
+                } catch (JsonProcessingException ex) {
+                    LOG.warn("Skipping damaged record in write-behind journal {}", path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Open the journal for appending.
+     * @return Channel appending to the journal.
+     * @throws IOException Exception thrown if the journal could not be opened.
+     */
+    private FileChannel openJournal() throws IOException {
+        return FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Serialize the given write to a journal record.
+     * @param write Write that should be serialized.
+     * @return Journal record terminated by a line break.
+     * @throws JsonProcessingException Exception thrown if the object could not be serialized.
+     */
+    private byte[] toRecord(PendingWrite<T> write) throws JsonProcessingException {
+        JournalRecord record = new JournalRecord();
+        record.op = write.getOperation();
+        record.attempts = write.getAttempts();
+        record.data = mapper.valueToTree(write.getObject());
+        return (mapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write the whole given record to the given channel.
+     * @param channel Channel the record should be written to.
+     * @param record Record that should be written.
+     * @throws IOException Exception thrown if the record could not be written.
+     */
+    private static void writeFully(FileChannel channel, byte[] record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /** Operation of a queued write */
+    public enum Operation {
+        SAVE, DELETE
+    }
+
+    /**
+     * Write of a single object waiting to be flushed.
+     * @param <T> Type of the written object.
+     */
+    public static class PendingWrite<T> {
+
+        /** Operation of the write */
+        private final Operation operation;
+
+        /** State of the object at the time of the write */
+        private final T object;
+
+        /** Amount of failed attempts to write the object, not counting failures of an unavailable database */
+        private final int attempts;
+
+        /**
+         * Create a new {@link PendingWrite}.
+         * @param operation Operation of the write.
+         * @param object State of the object at the time of the write.
+         */
+        PendingWrite(Operation operation, T object) {
+            this(operation, object, 0);
+        }
+
+        /**
+         * Create a new {@link PendingWrite}.
+         * @param operation Operation of the write.
+         * @param object State of the object at the time of the write.
+         * @param attempts Amount of failed attempts to write the object.
+         */
+        PendingWrite(Operation operation, T object, int attempts) {
+            this.operation = operation;
+            this.object = object;
+            this.attempts = attempts;
+        }
+
+        /**
+         * Create the write to retry after this write failed. Failures caused by an unavailable database are not
+         * counted, so an outage does not move all queued writes to the dead-letter file.
+         * @param cause Exception the write failed with.
+         * @return Write with the failed attempt counted.
+         */
+        PendingWrite<T> failedAttempt(Throwable cause) {
+            return new PendingWrite<>(operation, object, isTransient(cause) ? attempts : attempts + 1);
+        }
+
+        /**
+         * Check if the given exception is caused by an unavailable database instead of the written object.
+         * @param cause Exception the write failed with.
+         * @return true if the write may succeed without changes once the database is available again.
+         */
+        private static boolean isTransient(Throwable cause) {
+            for (Throwable ex = cause; ex != null; ex = ex.getCause()) {
+                if (ex instanceof SQLTransientException || ex instanceof SQLRecoverableException
+                        || ex instanceof SQLNonTransientConnectionException) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public Operation getOperation() {
+            return operation;
+        }
+
+        public T getObject() {
+            return object;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        /**
+         * Get if the write deletes the object.
+         * @return true if the object is deleted by the write.
+         */
+        public boolean isDelete() {
+            return operation == Operation.DELETE;
+        }
+
+    }
+
+    /** Single line of the journal */
+    static class JournalRecord {
+
+        /** Operation of the write */
+        public Operation op;
+
+        /** Amount of failed attempts to write the object */
+        public int attempts;
+
+        /** State of the object at the time of the write */
+        public JsonNode data;
+
+    }
+
+}
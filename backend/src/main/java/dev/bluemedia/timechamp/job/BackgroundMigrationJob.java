@@ -0,0 +1,31 @@
+package dev.bluemedia.timechamp.job;
+
+import dev.bluemedia.timechamp.db.DBHelper;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.InterruptableJob;
+import org.quartz.JobExecutionContext;
+
+/**
+ * Quartz job continuing the pending background migrations. Every execution works until the migrations are
+ * completed or the time budget of the run is used up, the next execution continues at the stored checkpoint.
+ */
+@DisallowConcurrentExecution
+public class BackgroundMigrationJob implements InterruptableJob {
+
+    /** Name of the job within the scheduler */
+    public static final String NAME = "backgroundMigrations";
+
+    /** Boolean indicating if the job should stop after the current chunk */
+    private volatile boolean interrupted = false;
+
+    @Override
+    public void execute(JobExecutionContext context) {
+        DBHelper.getBackgroundMigrationRunner().run(() -> interrupted);
+    }
+
+    @Override
+    public void interrupt() {
+        interrupted = true;
+    }
+
+}
@@ -0,0 +1,75 @@
+package dev.bluemedia.timechamp.job;
+
+import dev.bluemedia.timechamp.db.DBHelper;
+import dev.bluemedia.timechamp.db.ReadConsistency;
+import dev.bluemedia.timechamp.db.dao.TimeEntryDaoImpl;
+import dev.bluemedia.timechamp.db.dao.TimeRollupDaoImpl;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.InterruptableJob;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quartz job rebuilding the time rollups from the stored time entries. Used to repair the rollups
+ * after entries were changed outside the application. Every user is rebuilt within its own transaction,
+ * so reports keep working while the job is running.
+ */
+@DisallowConcurrentExecution
+public class TimeRollupRebuildJob implements InterruptableJob {
+
+    /** SLF4J logger for usage in this class */
+    private static final Logger LOG = LoggerFactory.getLogger(TimeRollupRebuildJob.class.getName());
+
+    /** Name of the job within the scheduler */
+    public static final String NAME = "timeRollupRebuild";
+
+    /** Key of the job data containing the id of the user whose rollups should be rebuilt, all users if absent */
+    public static final String USER_ID = "userId";
+
+    /** Boolean indicating if the job should stop after the current user */
+    private volatile boolean interrupted = false;
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        long start = System.nanoTime();
+        TimeEntryDaoImpl entryDao = DBHelper.getTimeEntryDao();
+        TimeRollupDaoImpl rollupDao = DBHelper.getTimeRollupDao();
+        // The rebuild must see the latest entries, so it never reads from the replica
+        ReadConsistency.requirePrimary();
+        try {
+            String userId = context.getMergedJobDataMap().getString(USER_ID);
+            List<String> userIds = userId != null ? List.of(userId) : entryDao.getUserIds();
+            int rebuiltUsers = 0;
+            int rollups = 0;
+            for (String id : userIds) {
+                if (interrupted) {
+                    LOG.info("Time rollup rebuild interrupted after {} of {} users", rebuiltUsers, userIds.size());
+                    return;
+                }
+                // Lock the user's entries before the rollups are replaced. A plain read would see the snapshot of
+                // the transaction and drop entries committed after it, whose contributions the rollups already hold.
+                rollups += rollupDao.callInTransaction(() -> rollupDao.rebuild(id, entryDao.lockByUser(id)));
+                rebuiltUsers++;
+            }
+            LOG.info("Rebuilt {} time rollups of {} users in {} ms", rollups, rebuiltUsers,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (SQLException ex) {
+            LOG.error("An unexpected error occurred", ex);
+            throw new JobExecutionException(ex);
+        } finally {
+            ReadConsistency.reset();
+        }
+    }
+
+    @Override
+    public void interrupt() {
+        interrupted = true;
+    }
+
+}
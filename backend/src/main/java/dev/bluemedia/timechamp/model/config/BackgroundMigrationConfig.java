@@ -0,0 +1,60 @@
+package dev.bluemedia.timechamp.model.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Model for the background migration settings inside the main configuration file
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BackgroundMigrationConfig {
+
+    /** Maximum amount of rows processed within one chunk */
+    @JsonProperty(value = "chunkSize")
+    private int chunkSize = 1000;
+
+    /** Time in milliseconds to pause between two chunks, so the migration does not saturate the database */
+    @JsonProperty(value = "chunkPauseMillis")
+    private long chunkPauseMillis = 250;
+
+    /** Interval in seconds in which pending background migrations are continued */
+    @JsonProperty(value = "intervalSeconds")
+    private int intervalSeconds = 30;
+
+    /** Maximum time in seconds a single run may spend on migrating before it yields until the next interval */
+    @JsonProperty(value = "maxRunSeconds")
+    private long maxRunSeconds = 20;
+
+    /**
+     * Get the maximum amount of rows processed within one chunk.
+     * @return Maximum amount of rows processed within one chunk.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Get the time to pause between two chunks.
+     * @return Time to pause between two chunks in milliseconds.
+     */
+    public long getChunkPauseMillis() {
+        return chunkPauseMillis;
+    }
+
+    /**
+     * Get the interval in which pending background migrations are continued.
+     * @return Interval in seconds.
+     */
+    public int getIntervalSeconds() {
+        return intervalSeconds;
+    }
+
+    /**
+     * Get the maximum time a single run may spend on migrating.
+     * @return Maximum time in seconds.
+     */
+    public long getMaxRunSeconds() {
+        return maxRunSeconds;
+    }
+
+}
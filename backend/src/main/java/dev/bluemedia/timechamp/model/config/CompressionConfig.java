@@ -0,0 +1,74 @@
+package dev.bluemedia.timechamp.model.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Model for the API response compression settings inside the main configuration file
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CompressionConfig {
+
+    /** Boolean indicating if API responses are compressed for clients accepting gzip */
+    @JsonProperty(value = "enabled")
+    private boolean enabled = true;
+
+    /** Minimum size in bytes of a response to be compressed, smaller responses gain nothing from compression */
+    @JsonProperty(value = "minSize")
+    private int minSize = 1024;
+
+    /** Deflate compression level from 1 (fastest) to 9 (smallest) */
+    @JsonProperty(value = "level")
+    private int level = 5;
+
+    /** Mime types of the responses that are compressed */
+    @JsonProperty(value = "mimeTypes")
+    private List<String> mimeTypes = List.of("application/json", "text/plain");
+
+    /** Path specs of the API paths that are never compressed, e.g. streamed exports */
+    @JsonProperty(value = "excludedPaths")
+    private List<String> excludedPaths = List.of("/api/reports/export/*");
+
+    /**
+     * Get if API responses are compressed.
+     * @return true if API responses are compressed.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the minimum size of a response to be compressed.
+     * @return Minimum response size in bytes.
+     */
+    public int getMinSize() {
+        return minSize;
+    }
+
+    /**
+     * Get the deflate compression level.
+     * @return Compression level from 1 (fastest) to 9 (smallest).
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Get the mime types of the responses that are compressed.
+     * @return List containing the compressed mime types.
+     */
+    public List<String> getMimeTypes() {
+        return mimeTypes;
+    }
+
+    /**
+     * Get the path specs of the API paths that are never compressed.
+     * @return List containing the excluded path specs.
+     */
+    public List<String> getExcludedPaths() {
+        return excludedPaths;
+    }
+
+}
@@ -0,0 +1,29 @@
+package dev.bluemedia.timechamp.model.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Model for the conditional GET settings inside the main configuration file
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ConditionalGetConfig {
+
+    /**
+     * Boolean indicating if versioned resources are answered with 304 Not Modified based on the in-memory entity
+     * versions, without accessing the database. The versions only see writes of this instance through the DAOs,
+     * so this may only be enabled if the application runs as a single instance and the database is never changed
+     * from outside, e.g. by manual fixes. Otherwise clients keep outdated responses.
+     */
+    @JsonProperty(value = "singleInstanceVersions")
+    private boolean singleInstanceVersions = false;
+
+    /**
+     * Get if versioned resources are answered based on the in-memory entity versions.
+     * @return true if the in-memory entity versions are used for conditional GET requests.
+     */
+    public boolean isSingleInstanceVersions() {
+        return singleInstanceVersions;
+    }
+
+}
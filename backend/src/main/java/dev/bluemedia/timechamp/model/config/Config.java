@@ -3,6 +3,9 @@ package dev.bluemedia.timechamp.model.config;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Model for the main configuration file
  *
@@ -15,6 +18,49 @@ public class Config {
     @JsonProperty("databaseJDBCUrl")
     private String databaseJDBCUrl;
 
+    /** Optional jdbc url of a read replica. Reads that don't require the latest state are sent to the replica */
+    @JsonProperty("databaseReplicaJDBCUrl")
+    private String databaseReplicaJDBCUrl;
+
+    /**
+     * JDBC fetch size used for streaming reads. 0 selects the streaming mode on MySQL and the driver default
+     * for other databases.
+     */
+    @JsonProperty(value = "databaseFetchSize")
+    private int databaseFetchSize = 0;
+
+    /** Duration in milliseconds after which database operations are logged as slow, 0 to disable the log */
+    @JsonProperty(value = "databaseSlowQueryThresholdMillis")
+    private long databaseSlowQueryThresholdMillis = 500;
+
+    /** Settings of the database connection pool */
+    @JsonProperty(value = "databasePool")
+    private DatabasePoolConfig databasePool = new DatabasePoolConfig();
+
+    /** Settings of the executor running asynchronous database operations */
+    @JsonProperty(value = "databaseExecutor")
+    private DatabaseExecutorConfig databaseExecutor = new DatabaseExecutorConfig();
+
+    /** Settings of the background migrations */
+    @JsonProperty(value = "backgroundMigrations")
+    private BackgroundMigrationConfig backgroundMigrations = new BackgroundMigrationConfig();
+
+    /** Settings of the scheduler executing background jobs */
+    @JsonProperty(value = "scheduler")
+    private SchedulerConfig scheduler = new SchedulerConfig();
+
+    /** Settings of the write-behind queue for time entries */
+    @JsonProperty(value = "writeBehind")
+    private WriteBehindConfig writeBehind = new WriteBehindConfig();
+
+    /** Settings used to calculate the overtime balances */
+    @JsonProperty(value = "overtime")
+    private OvertimeConfig overtime = new OvertimeConfig();
+
+    /** Cache settings for entity types whose attribute lookups should be cached, keyed by the entity class name */
+    @JsonProperty(value = "entityCaches")
+    private Map<String, EntityCacheConfig> entityCaches = new HashMap<>();
+
     /** Port for HTTP on which the web application server should be listening */
     @JsonProperty(value = "httpPort")
     private int httpPort = 8080;
@@ -31,6 +77,26 @@ public class Config {
     @JsonProperty(value = "redirectHttp")
     private boolean redirectHttp = true;
 
+    /** Settings of the thread pool of the web application server */
+    @JsonProperty(value = "httpThreadPool")
+    private HttpThreadPoolConfig httpThreadPool = new HttpThreadPoolConfig();
+
+    /** Settings of the HTTP/2 support of the web application server */
+    @JsonProperty(value = "http2")
+    private Http2Config http2 = new Http2Config();
+
+    /** Settings for serving the static frontend files */
+    @JsonProperty(value = "staticResources")
+    private StaticResourcesConfig staticResources = new StaticResourcesConfig();
+
+    /** Settings of the compression of API responses */
+    @JsonProperty(value = "compression")
+    private CompressionConfig compression = new CompressionConfig();
+
+    /** Settings of the conditional GET requests of the API */
+    @JsonProperty(value = "conditionalGet")
+    private ConditionalGetConfig conditionalGet = new ConditionalGetConfig();
+
     /**
      * Get the JDBC url that should be used to connect to the database.
      * @return JDBC url that should be used for the database.
@@ -39,6 +105,86 @@ public class Config {
         return databaseJDBCUrl;
     }
 
+    /**
+     * Get the JDBC url of the read replica.
+     * @return JDBC url of the read replica, or null if no replica should be used.
+     */
+    public String getDatabaseReplicaJDBCUrl() {
+        return databaseReplicaJDBCUrl;
+    }
+
+    /**
+     * Get the JDBC fetch size used for streaming reads.
+     * @return JDBC fetch size used for streaming reads, or 0 if the default should be used.
+     */
+    public int getDatabaseFetchSize() {
+        return databaseFetchSize;
+    }
+
+    /**
+     * Get the duration after which database operations are logged as slow.
+     * @return Duration in milliseconds, or 0 if slow operations should not be logged.
+     */
+    public long getDatabaseSlowQueryThresholdMillis() {
+        return databaseSlowQueryThresholdMillis;
+    }
+
+    /**
+     * Get the settings of the database connection pool.
+     * @return Settings of the database connection pool.
+     */
+    public DatabasePoolConfig getDatabasePool() {
+        return databasePool;
+    }
+
+    /**
+     * Get the settings of the executor running asynchronous database operations.
+     * @return Settings of the executor running asynchronous database operations.
+     */
+    public DatabaseExecutorConfig getDatabaseExecutor() {
+        return databaseExecutor;
+    }
+
+    /**
+     * Get the settings of the background migrations.
+     * @return Settings of the background migrations.
+     */
+    public BackgroundMigrationConfig getBackgroundMigrations() {
+        return backgroundMigrations;
+    }
+
+    /**
+     * Get the settings of the scheduler executing background jobs.
+     * @return Settings of the scheduler executing background jobs.
+     */
+    public SchedulerConfig getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Get the settings of the write-behind queue for time entries.
+     * @return Settings of the write-behind queue for time entries.
+     */
+    public WriteBehindConfig getWriteBehind() {
+        return writeBehind;
+    }
+
+    /**
+     * Get the settings used to calculate the overtime balances.
+     * @return Settings used to calculate the overtime balances.
+     */
+    public OvertimeConfig getOvertime() {
+        return overtime;
+    }
+
+    /**
+     * Get the cache settings for entity types whose attribute lookups should be cached.
+     * @return Map containing the cache settings, keyed by the simple class name of the entity type.
+     */
+    public Map<String, EntityCacheConfig> getEntityCaches() {
+        return entityCaches;
+    }
+
     /**
      * Get the HTTP port on which the web application server should be listening
      * @return The HTTP port on which the web application server should be listening
@@ -71,4 +217,44 @@ public class Config {
         return redirectHttp;
     }
 
+    /**
+     * Get the settings of the thread pool of the web application server.
+     * @return Settings of the thread pool of the web application server.
+     */
+    public HttpThreadPoolConfig getHttpThreadPool() {
+        return httpThreadPool;
+    }
+
+    /**
+     * Get the settings of the HTTP/2 support of the web application server.
+     * @return Settings of the HTTP/2 support.
+     */
+    public Http2Config getHttp2() {
+        return http2;
+    }
+
+    /**
+     * Get the settings for serving the static frontend files.
+     * @return Settings for serving the static frontend files.
+     */
+    public StaticResourcesConfig getStaticResources() {
+        return staticResources;
+    }
+
+    /**
+     * Get the settings of the compression of API responses.
+     * @return Settings of the compression of API responses.
+     */
+    public CompressionConfig getCompression() {
+        return compression;
+    }
+
+    /**
+     * Get the settings of the conditional GET requests of the API.
+     * @return Conditional GET settings.
+     */
+    public ConditionalGetConfig getConditionalGet() {
+        return conditionalGet;
+    }
+
 }
@@ -0,0 +1,48 @@
+package dev.bluemedia.timechamp.model.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Model for the settings of the executor running asynchronous database operations inside the main configuration file
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DatabaseExecutorConfig {
+
+    /** Maximum amount of database operations running concurrently, 0 to use the maximum size of the pool */
+    @JsonProperty(value = "threads")
+    private int threads = 0;
+
+    /** Maximum amount of database operations waiting for execution before new operations are rejected */
+    @JsonProperty(value = "queueCapacity")
+    private int queueCapacity = 1000;
+
+    /** Boolean to set if database operations should run on virtual threads, if supported by the Java runtime */
+    @JsonProperty(value = "virtualThreads")
+    private boolean virtualThreads = false;
+
+    /**
+     * Get the maximum amount of database operations running concurrently.
+     * @return Maximum amount of concurrent database operations, or 0 if the maximum size of the pool should be used.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Get the maximum amount of database operations waiting for execution.
+     * @return Maximum amount of database operations waiting for execution.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Get if database operations should run on virtual threads.
+     * @return true if database operations should run on virtual threads, otherwise false.
+     */
+    public boolean useVirtualThreads() {
+        return virtualThreads;
+    }
+
+}
@@ -0,0 +1,96 @@
+package dev.bluemedia.timechamp.model.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Model for the connection pool settings inside the main configuration file
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DatabasePoolConfig {
+
+    /** Name of the pool provider used for database connections, either hikari or ormlite */
+    @JsonProperty(value = "provider")
+    private String provider = "hikari";
+
+    /** Minimum amount of idle connections kept open by the pool */
+    @JsonProperty(value = "minIdle")
+    private int minIdle = 2;
+
+    /** Maximum amount of connections opened by the pool */
+    @JsonProperty(value = "maxSize")
+    private int maxSize = 10;
+
+    /** Time in milliseconds a caller waits for a free connection before the acquisition fails */
+    @JsonProperty(value = "acquisitionTimeoutMillis")
+    private long acquisitionTimeoutMillis = 30 * 1000;
+
+    /** Interval in milliseconds in which idle connections are validated */
+    @JsonProperty(value = "validationIntervalMillis")
+    private long validationIntervalMillis = 60 * 1000;
+
+    /** Maximum time in milliseconds a connection is kept open before it is replaced */
+    @JsonProperty(value = "maxLifetimeMillis")
+    private long maxLifetimeMillis = 5 * 60 * 1000;
+
+    /** Time in milliseconds after which a connection that was not returned is reported as leaked, 0 to disable */
+    @JsonProperty(value = "leakDetectionThresholdMillis")
+    private long leakDetectionThresholdMillis = 0;
+
+    /**
+     * Get the name of the pool provider used for database connections.
+     * @return Name of the pool provider, either hikari or ormlite.
+     */
+    public String getProvider() {
+        return provider;
+    }
+
+    /**
+     * Get the minimum amount of idle connections kept open by the pool.
+     * @return Minimum amount of idle connections kept open by the pool.
+     */
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    /**
+     * Get the maximum amount of connections opened by the pool.
+     * @return Maximum amount of connections opened by the pool.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Get the time in milliseconds a caller waits for a free connection before the acquisition fails.
+     * @return Time in milliseconds a caller waits for a free connection.
+     */
+    public long getAcquisitionTimeoutMillis() {
+        return acquisitionTimeoutMillis;
+    }
+
+    /**
+     * Get the interval in milliseconds in which idle connections are validated.
+     * @return Interval in milliseconds in which idle connections are validated.
+     */
+    public long getValidationIntervalMillis() {
+        return validationIntervalMillis;
+    }
+
+    /**
+     * Get the maximum time in milliseconds a connection is kept open before it is replaced.
+     * @return Maximum time in milliseconds a connection is kept open.
+     */
+    public long getMaxLifetimeMillis() {
+        return maxLifetimeMillis;
+    }
+
+    /**
+     * Get the time in milliseconds after which a connection that was not returned is reported as leaked.
+     * @return Leak detection threshold in milliseconds, or 0 if leak detection is disabled.
+     */
+    public long getLeakDetectionThresholdMillis() {
+        return leakDetectionThresholdMillis;
+    }
+
+}
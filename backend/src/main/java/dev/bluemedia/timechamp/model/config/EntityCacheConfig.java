@@ -0,0 +1,36 @@
+package dev.bluemedia.timechamp.model.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Model for the cache settings of a single entity type inside the main configuration file
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class EntityCacheConfig {
+
+    /** Maximum amount of lookup results that are kept in the cache */
+    @JsonProperty(value = "maxSize")
+    private int maxSize = 1000;
+
+    /** Time in seconds after which a cached lookup result expires */
+    @JsonProperty(value = "ttlSeconds")
+    private long ttlSeconds = 300;
+
+    /**
+     * Get the maximum amount of lookup results that are kept in the cache.
+     * @return Maximum amount of lookup results that are kept in the cache.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Get the time in seconds after which a cached lookup result expires.
+     * @return Time in seconds after which a cached lookup result expires.
+     */
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+}
@@ -0,0 +1,72 @@
+package dev.bluemedia.timechamp.model.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Model for the HTTP/2 settings inside the main configuration file
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Http2Config {
+
+    /** Boolean indicating if HTTP/2 is offered via ALPN on the HTTPs connector */
+    @JsonProperty(value = "enabled")
+    private boolean enabled = true;
+
+    /** Boolean indicating if cleartext HTTP/2 (h2c) is accepted on the HTTP connector, e.g. behind a reverse proxy */
+    @JsonProperty(value = "cleartext")
+    private boolean cleartext = false;
+
+    /** Maximum amount of concurrent streams a client may open per connection */
+    @JsonProperty(value = "maxConcurrentStreams")
+    private int maxConcurrentStreams = 128;
+
+    /** Initial flow control window in bytes shared by all streams of a connection */
+    @JsonProperty(value = "initialSessionRecvWindow")
+    private int initialSessionRecvWindow = 1024 * 1024;
+
+    /** Initial flow control window in bytes of a single stream */
+    @JsonProperty(value = "initialStreamRecvWindow")
+    private int initialStreamRecvWindow = 512 * 1024;
+
+    /**
+     * Get if HTTP/2 is offered via ALPN on the HTTPs connector.
+     * @return true if HTTP/2 is enabled for HTTPs.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get if cleartext HTTP/2 (h2c) is accepted on the HTTP connector.
+     * @return true if h2c is enabled.
+     */
+    public boolean isCleartext() {
+        return cleartext;
+    }
+
+    /**
+     * Get the maximum amount of concurrent streams a client may open per connection.
+     * @return Maximum amount of concurrent streams per connection.
+     */
+    public int getMaxConcurrentStreams() {
+        return maxConcurrentStreams;
+    }
+
+    /**
+     * Get the initial flow control window shared by all streams of a connection.
+     * @return Initial session receive window in bytes.
+     */
+    public int getInitialSessionRecvWindow() {
+        return initialSessionRecvWindow;
+    }
+
+    /**
+     * Get the initial flow control window of a single stream.
+     * @return Initial stream receive window in bytes.
+     */
+    public int getInitialStreamRecvWindow() {
+        return initialStreamRecvWindow;
+    }
+
+}
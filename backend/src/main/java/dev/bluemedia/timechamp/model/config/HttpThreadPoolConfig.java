@@ -0,0 +1,127 @@
+package dev.bluemedia.timechamp.model.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Model for the settings of the web server thread pool inside the main configuration file
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class HttpThreadPoolConfig {
+
+    /** Minimum amount of threads kept alive to handle requests */
+    @JsonProperty(value = "minThreads")
+    private int minThreads = 8;
+
+    /**
+     * Maximum amount of threads handling requests, including acceptor and selector threads.
+     * If virtual threads are enabled, requests are handled on virtual threads, which are not limited by this setting.
+     */
+    @JsonProperty(value = "maxThreads")
+    private int maxThreads = 200;
+
+    /** Maximum amount of tasks waiting for a free thread, 0 for an unbounded queue */
+    @JsonProperty(value = "queueCapacity")
+    private int queueCapacity = 0;
+
+    /** Time in milliseconds after which idle threads above the minimum are stopped */
+    @JsonProperty(value = "idleTimeoutMillis")
+    private int idleTimeoutMillis = 60000;
+
+    /** Amount of threads accepting connections per connector, -1 to derive it from the available processors */
+    @JsonProperty(value = "acceptors")
+    private int acceptors = -1;
+
+    /** Amount of threads selecting readable connections per connector, -1 to derive it from the available processors */
+    @JsonProperty(value = "selectors")
+    private int selectors = -1;
+
+    /** Boolean to set if requests should be handled on virtual threads, if supported by the Java runtime (Java 21+) */
+    @JsonProperty(value = "virtualThreads")
+    private boolean virtualThreads = false;
+
+    /**
+     * Get the minimum amount of threads kept alive to handle requests.
+     * @return Minimum amount of threads.
+     */
+    public int getMinThreads() {
+        return minThreads;
+    }
+
+    /**
+     * Get the maximum amount of threads handling requests.
+     * @return Maximum amount of threads.
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Get the maximum amount of tasks waiting for a free thread.
+     * @return Capacity of the task queue, or 0 if the queue is unbounded.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Get the time after which idle threads above the minimum are stopped.
+     * @return Idle timeout in milliseconds.
+     */
+    public int getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    /**
+     * Get the amount of threads accepting connections per connector.
+     * @return Amount of acceptor threads, or -1 if it should be derived from the available processors.
+     */
+    public int getAcceptors() {
+        return acceptors;
+    }
+
+    /**
+     * Get the amount of threads selecting readable connections per connector.
+     * @return Amount of selector threads, or -1 if it should be derived from the available processors.
+     */
+    public int getSelectors() {
+        return selectors;
+    }
+
+    /**
+     * Get if requests should be handled on virtual threads.
+     * @return true if requests should be handled on virtual threads.
+     */
+    public boolean useVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Check if the settings can be used to create the thread pool.
+     * @throws IllegalArgumentException Exception thrown if a setting is out of range.
+     */
+    public void validate() {
+        if (minThreads < 1) {
+            throw new IllegalArgumentException("httpThreadPool.minThreads must be at least 1, but is " + minThreads);
+        }
+        if (maxThreads < minThreads) {
+            throw new IllegalArgumentException(String.format(
+                    "httpThreadPool.maxThreads (%d) must not be less than httpThreadPool.minThreads (%d)",
+                    maxThreads, minThreads));
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException(
+                    "httpThreadPool.queueCapacity must be 0 (unbounded) or positive, but is " + queueCapacity);
+        }
+        if (idleTimeoutMillis < 0) {
+            throw new IllegalArgumentException(
+                    "httpThreadPool.idleTimeoutMillis must not be negative, but is " + idleTimeoutMillis);
+        }
+        if (acceptors < -1 || selectors < -1) {
+            throw new IllegalArgumentException(String.format(
+                    "httpThreadPool.acceptors (%d) and httpThreadPool.selectors (%d) must be -1 or more",
+                    acceptors, selectors));
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package dev.bluemedia.timechamp.model.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Model for the overtime settings inside the main configuration file
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OvertimeConfig {
+
+    /** Minutes a user has to work per day of the week, starting with Monday */
+    @JsonProperty(value = "dailyTargetMinutes")
+    private int[] dailyTargetMinutes = {480, 480, 480, 480, 480, 0, 0};
+
+    /**
+     * Get the minutes a user has to work per day of the week.
+     * @return Array containing the target minutes of every day of the week, starting with Monday.
+     */
+    public int[] getDailyTargetMinutes() {
+        return dailyTargetMinutes;
+    }
+
+}
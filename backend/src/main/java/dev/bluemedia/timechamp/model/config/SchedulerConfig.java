@@ -0,0 +1,48 @@
+package dev.bluemedia.timechamp.model.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Model for the scheduler settings inside the main configuration file
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SchedulerConfig {
+
+    /** Amount of threads executing background jobs */
+    @JsonProperty(value = "threadCount")
+    private int threadCount = 2;
+
+    /** Time in seconds a trigger may be late before it is handled according to the misfire policy of its job */
+    @JsonProperty(value = "misfireThresholdSeconds")
+    private int misfireThresholdSeconds = 60;
+
+    /** Cron expression for the recurring rebuild of the time rollups, null to only rebuild them on demand */
+    @JsonProperty(value = "timeRollupRebuildCron")
+    private String timeRollupRebuildCron = null;
+
+    /**
+     * Get the amount of threads executing background jobs.
+     * @return Amount of threads executing background jobs.
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * Get the time a trigger may be late before it is handled according to the misfire policy of its job.
+     * @return Misfire threshold in seconds.
+     */
+    public int getMisfireThresholdSeconds() {
+        return misfireThresholdSeconds;
+    }
+
+    /**
+     * Get the cron expression for the recurring rebuild of the time rollups.
+     * @return Cron expression for the recurring rebuild, or null if the rollups are only rebuilt on demand.
+     */
+    public String getTimeRollupRebuildCron() {
+        return timeRollupRebuildCron;
+    }
+
+}
@@ -0,0 +1,60 @@
+package dev.bluemedia.timechamp.model.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Model for the static frontend resource settings inside the main configuration file
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StaticResourcesConfig {
+
+    /** Maximum amount of bytes of frontend files held in memory, 0 to disable the cache */
+    @JsonProperty(value = "cacheMaxSize")
+    private int cacheMaxSize = 32 * 1024 * 1024;
+
+    /** Maximum size in bytes of a single frontend file held in memory */
+    @JsonProperty(value = "cacheMaxFileSize")
+    private int cacheMaxFileSize = 256 * 1024;
+
+    /** Maximum amount of frontend files held in memory */
+    @JsonProperty(value = "cacheMaxFiles")
+    private int cacheMaxFiles = 1024;
+
+    /** Time in seconds browsers may use index.html without revalidating it */
+    @JsonProperty(value = "indexMaxAgeSeconds")
+    private int indexMaxAgeSeconds = 60;
+
+    /**
+     * Get the maximum amount of bytes of frontend files held in memory.
+     * @return Maximum size of the resource cache in bytes.
+     */
+    public int getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    /**
+     * Get the maximum size of a single frontend file held in memory.
+     * @return Maximum size of a cached file in bytes.
+     */
+    public int getCacheMaxFileSize() {
+        return cacheMaxFileSize;
+    }
+
+    /**
+     * Get the maximum amount of frontend files held in memory.
+     * @return Maximum amount of cached files.
+     */
+    public int getCacheMaxFiles() {
+        return cacheMaxFiles;
+    }
+
+    /**
+     * Get the time browsers may use index.html without revalidating it.
+     * @return Max age of index.html in seconds.
+     */
+    public int getIndexMaxAgeSeconds() {
+        return indexMaxAgeSeconds;
+    }
+
+}
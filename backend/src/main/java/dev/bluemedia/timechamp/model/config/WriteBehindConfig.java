@@ -0,0 +1,99 @@
+package dev.bluemedia.timechamp.model.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Model for the write-behind settings inside the main configuration file
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class WriteBehindConfig {
+
+    /** Boolean indicating if time entry writes are acknowledged once they are journaled instead of committed */
+    @JsonProperty(value = "enabled")
+    private boolean enabled = false;
+
+    /** File the queued writes are journaled to, relative paths are resolved against the working directory */
+    @JsonProperty(value = "journalFile")
+    private String journalFile = "timechamp-write-behind.journal";
+
+    /** Maximum amount of distinct objects with queued writes */
+    @JsonProperty(value = "capacity")
+    private int capacity = 10000;
+
+    /** Amount of queued objects that triggers a flush, also the amount of objects written per transaction */
+    @JsonProperty(value = "batchSize")
+    private int batchSize = 500;
+
+    /** Maximum time in milliseconds a write stays queued before it is flushed */
+    @JsonProperty(value = "flushIntervalMillis")
+    private long flushIntervalMillis = 1000;
+
+    /** Time in milliseconds a write waits for free capacity before it is rejected */
+    @JsonProperty(value = "enqueueTimeoutMillis")
+    private long enqueueTimeoutMillis = 250;
+
+    /**
+     * Amount of failed flushes after which a write is moved to the dead-letter file next to the journal.
+     * Failures caused by an unavailable database are not counted.
+     */
+    @JsonProperty(value = "maxAttempts")
+    private int maxAttempts = 5;
+
+    /**
+     * Get if time entry writes are acknowledged once they are journaled.
+     * @return true if the write-behind queue is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the file the queued writes are journaled to.
+     * @return Path of the journal file.
+     */
+    public String getJournalFile() {
+        return journalFile;
+    }
+
+    /**
+     * Get the maximum amount of distinct objects with queued writes.
+     * @return Maximum amount of distinct objects with queued writes.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Get the amount of queued objects that triggers a flush.
+     * @return Amount of queued objects that triggers a flush.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Get the maximum time a write stays queued before it is flushed.
+     * @return Flush interval in milliseconds.
+     */
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    /**
+     * Get the time a write waits for free capacity before it is rejected.
+     * @return Enqueue timeout in milliseconds.
+     */
+    public long getEnqueueTimeoutMillis() {
+        return enqueueTimeoutMillis;
+    }
+
+    /**
+     * Get the amount of failed flushes after which a write is moved to the dead-letter file.
+     * @return Maximum amount of attempts to write an object.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+}
@@ -0,0 +1,133 @@
+package dev.bluemedia.timechamp.model.object;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+import dev.bluemedia.timechamp.db.persister.EpochMillisLocalDateTimePersister;
+import dev.bluemedia.timechamp.model.type.BackgroundMigrationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a background migration. The checkpoint is updated after every chunk,
+ * so an interrupted migration resumes behind the last completed chunk.
+ */
+@DatabaseTable(tableName = "meta_background_migrations")
+public class BackgroundMigrationState {
+
+    /** Maximum length of the stored error message */
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    @DatabaseField(id = true)
+    private String name;
+
+    @DatabaseField
+    private BackgroundMigrationStatus status;
+
+    @DatabaseField(width = 1024)
+    private String checkpoint;
+
+    @DatabaseField
+    private long processedRows;
+
+    @DatabaseField
+    private long processedChunks;
+
+    @DatabaseField(width = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @DatabaseField(persisterClass = EpochMillisLocalDateTimePersister.class)
+    private LocalDateTime startedAt;
+
+    @DatabaseField(persisterClass = EpochMillisLocalDateTimePersister.class)
+    private LocalDateTime updatedAt;
+
+    @DatabaseField(persisterClass = EpochMillisLocalDateTimePersister.class)
+    private LocalDateTime completedAt;
+
+    private BackgroundMigrationState() {}
+
+    public BackgroundMigrationState(String name) {
+        this.name = name;
+        this.status = BackgroundMigrationStatus.PENDING;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Record a completed chunk.
+     * @param checkpoint Checkpoint the next chunk should start after.
+     * @param rows Amount of rows processed by the chunk.
+     * @param finished true if the chunk was the last one.
+     */
+    public void advance(String checkpoint, long rows, boolean finished) {
+        LocalDateTime now = LocalDateTime.now();
+        if (startedAt == null) {
+            startedAt = now;
+        }
+        this.checkpoint = checkpoint;
+        this.processedRows += rows;
+        this.processedChunks++;
+        this.lastError = null;
+        this.updatedAt = now;
+        if (finished) {
+            this.status = BackgroundMigrationStatus.COMPLETED;
+            this.completedAt = now;
+        } else {
+            this.status = BackgroundMigrationStatus.RUNNING;
+        }
+    }
+
+    /**
+     * Mark the migration as failed. The checkpoint is kept, so a retry resumes behind the last completed chunk.
+     * @param error Message of the error that caused the failure.
+     */
+    public void fail(String error) {
+        this.status = BackgroundMigrationStatus.FAILED;
+        this.lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Reset a failed migration, so it is retried.
+     */
+    public void retry() {
+        this.status = startedAt == null ? BackgroundMigrationStatus.PENDING : BackgroundMigrationStatus.RUNNING;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BackgroundMigrationStatus getStatus() {
+        return status;
+    }
+
+    public String getCheckpoint() {
+        return checkpoint;
+    }
+
+    public long getProcessedRows() {
+        return processedRows;
+    }
+
+    public long getProcessedChunks() {
+        return processedChunks;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+}
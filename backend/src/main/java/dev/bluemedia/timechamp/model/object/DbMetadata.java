@@ -2,7 +2,7 @@ package dev.bluemedia.timechamp.model.object;
 
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.table.DatabaseTable;
-import dev.bluemedia.timechamp.db.persister.LocalDateTimePersister;
+import dev.bluemedia.timechamp.db.persister.EpochMillisLocalDateTimePersister;
 
 import java.time.LocalDateTime;
 
@@ -15,15 +15,20 @@ public class DbMetadata {
     @DatabaseField
     private long schemaVersion;
 
-    @DatabaseField(persisterClass = LocalDateTimePersister.class)
+    @DatabaseField(persisterClass = EpochMillisLocalDateTimePersister.class)
     private LocalDateTime migrationDate;
 
+    /** Checksum of the applied migration file, null if the schema version was not reached by a migration */
+    @DatabaseField
+    private String checksum;
+
     private DbMetadata() {}
 
-    public DbMetadata(String id, long schemaVersion, LocalDateTime migrationDate) {
+    public DbMetadata(String id, long schemaVersion, LocalDateTime migrationDate, String checksum) {
         this.id = id;
         this.schemaVersion = schemaVersion;
         this.migrationDate = migrationDate;
+        this.checksum = checksum;
     }
 
     public String getId() {
@@ -38,4 +43,8 @@ public class DbMetadata {
         return migrationDate;
     }
 
+    public String getChecksum() {
+        return checksum;
+    }
+
 }
@@ -0,0 +1,70 @@
+package dev.bluemedia.timechamp.model.object;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+import dev.bluemedia.timechamp.db.persister.EpochMillisLocalDateTimePersister;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time a user worked on a project. Reports are served by the {@link TimeRollup}s, which are updated
+ * whenever an entry is written.
+ */
+@DatabaseTable(tableName = "time_entries")
+public class TimeEntry {
+
+    @DatabaseField(id = true)
+    private String id;
+
+    @DatabaseField(index = true)
+    private String userId;
+
+    @DatabaseField
+    private String projectId;
+
+    @DatabaseField(persisterClass = EpochMillisLocalDateTimePersister.class, index = true)
+    private LocalDateTime startTime;
+
+    @DatabaseField(persisterClass = EpochMillisLocalDateTimePersister.class)
+    private LocalDateTime endTime;
+
+    @DatabaseField(width = 1024)
+    private String comment;
+
+    private TimeEntry() {}
+
+    public TimeEntry(String id, String userId, String projectId, LocalDateTime startTime, LocalDateTime endTime,
+                     String comment) {
+        this.id = id;
+        this.userId = userId;
+        this.projectId = projectId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.comment = comment;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+}
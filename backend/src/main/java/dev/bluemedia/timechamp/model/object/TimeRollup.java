@@ -0,0 +1,126 @@
+package dev.bluemedia.timechamp.model.object;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+import dev.bluemedia.timechamp.model.type.RollupPeriod;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated duration of the {@link TimeEntry}s of a user and project within a single day, ISO week or month.
+ * The id is a hash of the aggregated dimensions, so the rollup of a period can be created without looking it up.
+ * The dimensions themselves are unique and used to update the rollups.
+ */
+@DatabaseTable(tableName = "time_rollups")
+public class TimeRollup {
+
+    /** Length of the hex encoded SHA-256 hash used as id */
+    private static final int ID_LENGTH = 64;
+
+    @DatabaseField(id = true, width = ID_LENGTH)
+    private String id;
+
+    @DatabaseField(uniqueIndexName = "time_rollups_period_idx")
+    private String userId;
+
+    @DatabaseField(uniqueIndexName = "time_rollups_period_idx")
+    private RollupPeriod period;
+
+    @DatabaseField(uniqueIndexName = "time_rollups_period_idx")
+    private long periodStart;
+
+    @DatabaseField(uniqueIndexName = "time_rollups_period_idx")
+    private String projectId;
+
+    @DatabaseField
+    private long durationSeconds;
+
+    @DatabaseField
+    private int entries;
+
+    private TimeRollup() {}
+
+    public TimeRollup(String userId, String projectId, RollupPeriod period, LocalDate periodStart,
+                      long durationSeconds, int entries) {
+        this.id = createId(userId, projectId, period, periodStart);
+        this.userId = userId;
+        this.projectId = projectId;
+        this.period = period;
+        this.periodStart = periodStart.toEpochDay();
+        this.durationSeconds = durationSeconds;
+        this.entries = entries;
+    }
+
+    /**
+     * Create the id of the rollup of the given dimensions. User and project ids may be up to 255 characters long
+     * and contain any character, so the dimensions are hashed to get an id of fixed length.
+     * @param userId Id of the user.
+     * @param projectId Id of the project.
+     * @param period Period that is rolled up.
+     * @param periodStart First day of the period.
+     * @return Id of the rollup.
+     */
+    public static String createId(String userId, String projectId, RollupPeriod period, LocalDate periodStart) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java runtime is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+        for (String dimension : new String[] {userId, projectId, period.toValue(), periodStart.toString()}) {
+            // Prefix every dimension with its length, so no combination of ids results in the same input
+            byte[] bytes = dimension.getBytes(StandardCharsets.UTF_8);
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+            digest.update(bytes);
+        }
+        StringBuilder id = new StringBuilder(ID_LENGTH);
+        for (byte b : digest.digest()) {
+            id.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return id.toString();
+    }
+
+    /**
+     * Add the given amounts to this rollup.
+     * @param durationSeconds Duration that should be added in seconds, negative to subtract.
+     * @param entries Amount of entries that should be added, negative to subtract.
+     */
+    public void add(long durationSeconds, int entries) {
+        this.durationSeconds += durationSeconds;
+        this.entries += entries;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public RollupPeriod getPeriod() {
+        return period;
+    }
+
+    public LocalDate getPeriodStart() {
+        return LocalDate.ofEpochDay(periodStart);
+    }
+
+    public long getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+}
@@ -0,0 +1,45 @@
+package dev.bluemedia.timechamp.model.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+/**
+ * Request used to create or update a time entry.
+ */
+public class TimeEntryRequest {
+
+    /** Id of the user that worked */
+    @JsonProperty("userId")
+    @NotBlank
+    @Size(max = 255)
+    public String userId;
+
+    /** Id of the project that was worked on */
+    @JsonProperty("projectId")
+    @NotBlank
+    @Size(max = 255)
+    public String projectId;
+
+    /** Start of the work */
+    @JsonProperty("startTime")
+    @NotNull
+    public LocalDateTime startTime;
+
+    /** End of the work, must be after the start */
+    @JsonProperty("endTime")
+    @NotNull
+    public LocalDateTime endTime;
+
+    /** Optional description of the work */
+    @JsonProperty("comment")
+    @Size(max = 1024)
+    public String comment;
+
+    /** Default constructor */
+    public TimeEntryRequest() {}
+
+}
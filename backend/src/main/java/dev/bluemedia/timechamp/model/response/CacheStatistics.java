@@ -0,0 +1,35 @@
+package dev.bluemedia.timechamp.model.response;
+
+/**
+ * Response containing the usage statistics of a single entity cache.
+ */
+public class CacheStatistics {
+
+    /** Name of the entity type that is cached */
+    public String name;
+
+    /** Amount of lookup results currently kept in the cache */
+    public int size;
+
+    /** Maximum amount of lookup results that are kept in the cache */
+    public int maxSize;
+
+    /** Amount of lookups that were answered from the cache */
+    public long hits;
+
+    /** Amount of lookups that had to query the database */
+    public long misses;
+
+    /** Amount of lookup results that were removed because the cache was full */
+    public long evictions;
+
+    /** Amount of lookup results that were removed because they expired */
+    public long expirations;
+
+    /** Amount of times the cache was cleared because the entity type was written to */
+    public long invalidations;
+
+    /** Default constructor */
+    public CacheStatistics() {}
+
+}
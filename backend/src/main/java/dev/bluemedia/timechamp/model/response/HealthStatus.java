@@ -0,0 +1,24 @@
+package dev.bluemedia.timechamp.model.response;
+
+/**
+ * Response containing the health of the application, used by orchestrators to probe the application.
+ */
+public class HealthStatus {
+
+    /** Status of the probed aspect, either up or starting */
+    public String status;
+
+    /**
+     * Default constructor used for serialization.
+     */
+    public HealthStatus() {}
+
+    /**
+     * Create a new {@link HealthStatus}.
+     * @param status Status of the probed aspect.
+     */
+    public HealthStatus(String status) {
+        this.status = status;
+    }
+
+}
@@ -0,0 +1,33 @@
+package dev.bluemedia.timechamp.model.response;
+
+import dev.bluemedia.timechamp.model.type.MisfirePolicy;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response containing the schedule and state of a single background job.
+ */
+public class JobStatus {
+
+    /** Name of the job */
+    public String name;
+
+    /** Human-readable description of the schedule of the job */
+    public String schedule;
+
+    /** Handling of missed executions */
+    public MisfirePolicy misfirePolicy;
+
+    /** Start of the previous execution, null if the job was not executed yet */
+    public LocalDateTime previousExecution;
+
+    /** Start of the next scheduled execution, null if the job is only executed on demand */
+    public LocalDateTime nextExecution;
+
+    /** Boolean indicating if the job is currently running */
+    public boolean running;
+
+    /** Default constructor */
+    public JobStatus() {}
+
+}
@@ -0,0 +1,38 @@
+package dev.bluemedia.timechamp.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response containing the overtime balance of a user within a range of days.
+ */
+public class OvertimeBalance {
+
+    /** Id of the user */
+    public String userId;
+
+    /** First day of the range */
+    public LocalDate from;
+
+    /** Last day of the range, inclusive */
+    public LocalDate to;
+
+    /** Minutes worked within the range */
+    public long workedMinutes;
+
+    /** Minutes that had to be worked within the range */
+    public long targetMinutes;
+
+    /** Difference between the worked and target minutes, positive if the user worked overtime */
+    public long balanceMinutes;
+
+    /** Breakdown of the range into periods, only included if requested */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<OvertimePeriod> periods;
+
+    /** Default constructor */
+    public OvertimeBalance() {}
+
+}
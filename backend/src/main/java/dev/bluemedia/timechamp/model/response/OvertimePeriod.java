@@ -0,0 +1,39 @@
+package dev.bluemedia.timechamp.model.response;
+
+import java.time.LocalDate;
+
+/**
+ * Response containing the worked and target minutes of a user within a single period.
+ */
+public class OvertimePeriod {
+
+    /** First day of the period, or of the report if the report starts within the period */
+    public LocalDate periodStart;
+
+    /** Minutes worked within the period */
+    public long workedMinutes;
+
+    /** Minutes that had to be worked within the period */
+    public long targetMinutes;
+
+    /** Balance at the end of the period in minutes, accumulated since the start of the report */
+    public long balanceMinutes;
+
+    /** Default constructor */
+    public OvertimePeriod() {}
+
+    /**
+     * Constructor used to create a new period.
+     * @param periodStart First day of the period.
+     * @param workedMinutes Minutes worked within the period.
+     * @param targetMinutes Minutes that had to be worked within the period.
+     * @param balanceMinutes Balance at the end of the period in minutes.
+     */
+    public OvertimePeriod(LocalDate periodStart, long workedMinutes, long targetMinutes, long balanceMinutes) {
+        this.periodStart = periodStart;
+        this.workedMinutes = workedMinutes;
+        this.targetMinutes = targetMinutes;
+        this.balanceMinutes = balanceMinutes;
+    }
+
+}
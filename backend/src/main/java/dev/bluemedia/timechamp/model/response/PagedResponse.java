@@ -0,0 +1,30 @@
+package dev.bluemedia.timechamp.model.response;
+
+import java.util.List;
+
+/**
+ * Response used to return a single page of a paginated list.
+ * @param <T> Type of the objects contained in the page.
+ */
+public class PagedResponse<T> {
+
+    /** Objects contained in the page */
+    public List<T> items;
+
+    /** Opaque cursor that has to be sent to get the next page, or null if this is the last page */
+    public String nextCursor;
+
+    /** Default constructor */
+    public PagedResponse() {}
+
+    /**
+     * Create an new prefilled {@link PagedResponse}.
+     * @param items Objects contained in the page.
+     * @param nextCursor Opaque cursor that has to be sent to get the next page, or null if this is the last page.
+     */
+    public PagedResponse(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+}
@@ -0,0 +1,44 @@
+package dev.bluemedia.timechamp.model.response;
+
+/**
+ * Response containing the timing of a single startup phase.
+ */
+public class StartupPhase {
+
+    /** Name of the phase */
+    public String name;
+
+    /** Name of the thread the phase was executed on */
+    public String thread;
+
+    /** Time in milliseconds between the start of the application and the start of the phase */
+    public long startOffsetMillis;
+
+    /** Duration of the phase in milliseconds */
+    public long durationMillis;
+
+    /** Boolean indicating if the phase completed without an error */
+    public boolean successful;
+
+    /**
+     * Default constructor used for serialization.
+     */
+    public StartupPhase() {}
+
+    /**
+     * Create a new {@link StartupPhase}.
+     * @param name Name of the phase.
+     * @param thread Name of the thread the phase was executed on.
+     * @param startOffsetMillis Time in milliseconds between the start of the application and the start of the phase.
+     * @param durationMillis Duration of the phase in milliseconds.
+     * @param successful true if the phase completed without an error.
+     */
+    public StartupPhase(String name, String thread, long startOffsetMillis, long durationMillis, boolean successful) {
+        this.name = name;
+        this.thread = thread;
+        this.startOffsetMillis = startOffsetMillis;
+        this.durationMillis = durationMillis;
+        this.successful = successful;
+    }
+
+}
@@ -0,0 +1,19 @@
+package dev.bluemedia.timechamp.model.response;
+
+import java.util.List;
+
+/**
+ * Response containing the timed breakdown of the application startup.
+ */
+public class StartupReport {
+
+    /** Boolean indicating if the application completed its startup and is ready to handle requests */
+    public boolean ready;
+
+    /** Time in milliseconds the application needed to become ready, or the time elapsed so far if not ready */
+    public long totalMillis;
+
+    /** Startup phases in order of their start */
+    public List<StartupPhase> phases;
+
+}
@@ -0,0 +1,47 @@
+package dev.bluemedia.timechamp.model.response;
+
+import dev.bluemedia.timechamp.model.object.TimeRollup;
+import dev.bluemedia.timechamp.model.type.RollupPeriod;
+
+import java.time.LocalDate;
+
+/**
+ * Response containing the time a user worked on a project within a single period.
+ */
+public class TimeReportRow {
+
+    /** Id of the user */
+    public String userId;
+
+    /** Id of the project */
+    public String projectId;
+
+    /** Period the time is aggregated by */
+    public RollupPeriod period;
+
+    /** First day of the period */
+    public LocalDate periodStart;
+
+    /** Time worked within the period in seconds */
+    public long durationSeconds;
+
+    /** Amount of time entries within the period */
+    public int entries;
+
+    /** Default constructor */
+    public TimeReportRow() {}
+
+    /**
+     * Constructor used to create a report row from a rollup.
+     * @param rollup Rollup containing the aggregated time.
+     */
+    public TimeReportRow(TimeRollup rollup) {
+        this.userId = rollup.getUserId();
+        this.projectId = rollup.getProjectId();
+        this.period = rollup.getPeriod();
+        this.periodStart = rollup.getPeriodStart();
+        this.durationSeconds = rollup.getDurationSeconds();
+        this.entries = rollup.getEntries();
+    }
+
+}
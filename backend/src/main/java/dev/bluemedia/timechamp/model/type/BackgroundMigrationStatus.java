@@ -0,0 +1,54 @@
+package dev.bluemedia.timechamp.model.type;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enum containing the possible states of a background migration.
+ */
+public enum BackgroundMigrationStatus {
+
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED;
+
+    /**
+     * Map used to convert enum values to and from strings for JSON serialisation and deserialization.
+     */
+    private static Map<String, BackgroundMigrationStatus> typeMap = new HashMap<>();
+
+    static {
+        typeMap.put("pending", PENDING);
+        typeMap.put("running", RUNNING);
+        typeMap.put("completed", COMPLETED);
+        typeMap.put("failed", FAILED);
+    }
+
+    /**
+     * Get the enum value that represents the given string. The value is determined by the type map.
+     * @param value String value you want to get the enum value for.
+     * @return Enum value that represents the given string, or null if the string could not be matched to any value.
+     */
+    @JsonCreator
+    public static BackgroundMigrationStatus forValue(String value) {
+        return typeMap.get(value.toLowerCase());
+    }
+
+    /**
+     * Get the lower case string representation of the enum value.
+     * @return Lower case string representation of the enum value
+     */
+    @JsonValue
+    public String toValue() {
+        for (Map.Entry<String, BackgroundMigrationStatus> entry : typeMap.entrySet()) {
+            if (entry.getValue() == this)
+                return entry.getKey();
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,69 @@
+package dev.bluemedia.timechamp.model.type;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enum containing the file formats reports can be exported in.
+ */
+public enum ExportFormat {
+
+    JSON("application/json"),
+    CSV("text/csv");
+
+    /**
+     * Map used to convert enum values to and from strings for JSON serialisation and deserialization.
+     */
+    private static Map<String, ExportFormat> typeMap = new HashMap<>();
+
+    static {
+        typeMap.put("json", JSON);
+        typeMap.put("csv", CSV);
+    }
+
+    /** Media type of the exported file */
+    private final String mediaType;
+
+    /**
+     * Create a new export format.
+     * @param mediaType Media type of the exported file.
+     */
+    ExportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Get the media type of files exported in this format.
+     * @return Media type of the exported file.
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Get the enum value that represents the given string. The value is determined by the type map.
+     * @param value String value you want to get the enum value for.
+     * @return Enum value that represents the given string, or null if the string could not be matched to any value.
+     */
+    @JsonCreator
+    public static ExportFormat forValue(String value) {
+        return typeMap.get(value.toLowerCase());
+    }
+
+    /**
+     * Get the lower case string representation of the enum value.
+     * @return Lower case string representation of the enum value
+     */
+    @JsonValue
+    public String toValue() {
+        for (Map.Entry<String, ExportFormat> entry : typeMap.entrySet()) {
+            if (entry.getValue() == this)
+                return entry.getKey();
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,53 @@
+package dev.bluemedia.timechamp.model.type;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enum containing the ways a job is handled if its trigger was missed, e.g. because all scheduler
+ * threads were busy or the application was paused.
+ */
+public enum MisfirePolicy {
+
+    /** Execute the job once as soon as possible, then continue with the regular schedule */
+    FIRE_ONCE,
+    /** Skip the missed executions and wait for the next regular execution */
+    SKIP;
+
+    /**
+     * Map used to convert enum values to and from strings for JSON serialisation and deserialization.
+     */
+    private static Map<String, MisfirePolicy> typeMap = new HashMap<>();
+
+    static {
+        typeMap.put("fire_once", FIRE_ONCE);
+        typeMap.put("skip", SKIP);
+    }
+
+    /**
+     * Get the enum value that represents the given string. The value is determined by the type map.
+     * @param value String value you want to get the enum value for.
+     * @return Enum value that represents the given string, or null if the string could not be matched to any value.
+     */
+    @JsonCreator
+    public static MisfirePolicy forValue(String value) {
+        return typeMap.get(value.toLowerCase());
+    }
+
+    /**
+     * Get the lower case string representation of the enum value.
+     * @return Lower case string representation of the enum value
+     */
+    @JsonValue
+    public String toValue() {
+        for (Map.Entry<String, MisfirePolicy> entry : typeMap.entrySet()) {
+            if (entry.getValue() == this)
+                return entry.getKey();
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,71 @@
+package dev.bluemedia.timechamp.model.type;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enum containing the periods time entries are rolled up by.
+ */
+public enum RollupPeriod {
+
+    DAY,
+    WEEK,
+    MONTH;
+
+    /**
+     * Map used to convert enum values to and from strings for JSON serialisation and deserialization.
+     */
+    private static Map<String, RollupPeriod> typeMap = new HashMap<>();
+
+    static {
+        typeMap.put("day", DAY);
+        typeMap.put("week", WEEK);
+        typeMap.put("month", MONTH);
+    }
+
+    /**
+     * Get the first day of the period containing the given date. Weeks follow ISO-8601 and start on Monday.
+     * @param date Date whose period should be determined.
+     * @return First day of the period containing the given date.
+     */
+    public LocalDate getPeriodStart(LocalDate date) {
+        switch (this) {
+            case WEEK:
+                return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return date.withDayOfMonth(1);
+            default:
+                return date;
+        }
+    }
+
+    /**
+     * Get the enum value that represents the given string. The value is determined by the type map.
+     * @param value String value you want to get the enum value for.
+     * @return Enum value that represents the given string, or null if the string could not be matched to any value.
+     */
+    @JsonCreator
+    public static RollupPeriod forValue(String value) {
+        return typeMap.get(value.toLowerCase());
+    }
+
+    /**
+     * Get the lower case string representation of the enum value.
+     * @return Lower case string representation of the enum value
+     */
+    @JsonValue
+    public String toValue() {
+        for (Map.Entry<String, RollupPeriod> entry : typeMap.entrySet()) {
+            if (entry.getValue() == this)
+                return entry.getKey();
+        }
+        return null;
+    }
+
+}
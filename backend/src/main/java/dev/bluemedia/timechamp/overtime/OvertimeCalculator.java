@@ -0,0 +1,142 @@
+package dev.bluemedia.timechamp.overtime;
+
+import dev.bluemedia.timechamp.model.type.RollupPeriod;
+
+import java.time.LocalDate;
+
+/**
+ * Calculations on per-day minute arrays as used by {@link WorkTimeline}. All methods work on primitive arrays
+ * indexed by the offset to the first day of a range, and only allocate their result arrays.
+ */
+public class OvertimeCalculator {
+
+    /** Offset added to an epoch day to get the index of its day of the week, as 1970-01-01 was a Thursday */
+    private static final int EPOCH_WEEKDAY_OFFSET = 3;
+
+    /**
+     * Get the day of the week of an epoch day.
+     * @param epochDay Epoch day.
+     * @return Index of the day of the week, 0 for Monday up to 6 for Sunday.
+     */
+    static int weekdayIndex(long epochDay) {
+        return (int) Math.floorMod(epochDay + EPOCH_WEEKDAY_OFFSET, 7L);
+    }
+
+    /**
+     * Calculate the minutes that have to be worked per day.
+     * @param firstDay Epoch day of the first day of the range.
+     * @param days Amount of days within the range.
+     * @param weekdayTargets Minutes that have to be worked per day of the week, starting with Monday.
+     * @return Array containing the target minutes of every day.
+     */
+    public static int[] targetMinutes(long firstDay, int days, int[] weekdayTargets) {
+        if (weekdayTargets.length != 7) {
+            throw new IllegalArgumentException("A target is required for every day of the week");
+        }
+        int[] targets = new int[days];
+        int weekday = weekdayIndex(firstDay);
+        for (int i = 0; i < days; i++) {
+            targets[i] = weekdayTargets[weekday];
+            if (++weekday == 7) {
+                weekday = 0;
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Calculate the running balance of worked and target minutes.
+     * @param worked Worked minutes per day.
+     * @param targets Target minutes per day, must have the same length as the worked minutes.
+     * @return Array containing the balance at the end of every day in minutes.
+     */
+    public static long[] runningBalance(int[] worked, int[] targets) {
+        long[] balance = new long[worked.length];
+        long running = 0;
+        for (int i = 0; i < worked.length; i++) {
+            running += worked[i] - targets[i];
+            balance[i] = running;
+        }
+        return balance;
+    }
+
+    /**
+     * Sum up the values of a range of days.
+     * @param values Values per day.
+     * @param from Index of the first day, inclusive.
+     * @param to Index of the last day, exclusive.
+     * @return Sum of the values.
+     */
+    public static long sum(int[] values, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Get the indices at which the periods within a range start. Only one date is calculated per period,
+     * the first period starts at index 0 even if the range starts within it.
+     * @param firstDay Epoch day of the first day of the range.
+     * @param days Amount of days within the range.
+     * @param period Period the range should be split into.
+     * @return Array containing the index of the first day of every period within the range.
+     */
+    public static int[] periodBoundaries(long firstDay, int days, RollupPeriod period) {
+        if (days == 0) {
+            return new int[0];
+        }
+        int[] boundaries = new int[days];
+        if (period == RollupPeriod.DAY) {
+            for (int i = 0; i < days; i++) {
+                boundaries[i] = i;
+            }
+            return boundaries;
+        }
+        int count = 0;
+        LocalDate periodStart = period.getPeriodStart(LocalDate.ofEpochDay(firstDay));
+        long index = 0;
+        while (index < days) {
+            boundaries[count++] = (int) index;
+            periodStart = nextPeriodStart(periodStart, period);
+            index = periodStart.toEpochDay() - firstDay;
+        }
+        int[] result = new int[count];
+        System.arraycopy(boundaries, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Sum up the values of every period.
+     * @param values Values per day.
+     * @param boundaries Index of the first day of every period, see {@link #periodBoundaries(long, int, RollupPeriod)}.
+     * @return Array containing the sum of every period.
+     */
+    public static long[] periodSums(int[] values, int[] boundaries) {
+        long[] sums = new long[boundaries.length];
+        for (int p = 0; p < boundaries.length; p++) {
+            int end = p + 1 < boundaries.length ? boundaries[p + 1] : values.length;
+            sums[p] = sum(values, boundaries[p], end);
+        }
+        return sums;
+    }
+
+    /**
+     * Get the first day of the period following the given one.
+     * @param periodStart First day of the current period.
+     * @param period Type of the period.
+     * @return First day of the next period.
+     */
+    private static LocalDate nextPeriodStart(LocalDate periodStart, RollupPeriod period) {
+        switch (period) {
+            case WEEK:
+                return periodStart.plusWeeks(1);
+            case MONTH:
+                return periodStart.plusMonths(1);
+            default:
+                return periodStart.plusDays(1);
+        }
+    }
+
+}
@@ -0,0 +1,231 @@
+package dev.bluemedia.timechamp.overtime;
+
+import com.j256.ormlite.dao.CloseableIterator;
+import dev.bluemedia.timechamp.db.dao.TimeRollupDaoImpl;
+import dev.bluemedia.timechamp.model.object.TimeRollup;
+import dev.bluemedia.timechamp.model.response.OvertimeBalance;
+import dev.bluemedia.timechamp.model.response.OvertimePeriod;
+import dev.bluemedia.timechamp.model.type.RollupPeriod;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Calculates the overtime balances of users from their {@link WorkTimeline}s. The target minutes only depend
+ * on the range, so they are calculated once and shared by all users. Balances of many users are calculated
+ * in parallel using fork/join.
+ */
+public class OvertimeEngine {
+
+    /** Maximum amount of users a task calculates itself instead of splitting them into subtasks */
+    static final int USERS_PER_TASK = 16;
+
+    /** Minutes that have to be worked per day of the week, starting with Monday */
+    private final int[] weekdayTargets;
+
+    /** Pool the balances of multiple users are calculated in */
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a new engine calculating the balances of multiple users in the common fork/join pool.
+     * @param weekdayTargets Minutes that have to be worked per day of the week, starting with Monday.
+     */
+    public OvertimeEngine(int[] weekdayTargets) {
+        this(weekdayTargets, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new engine.
+     * @param weekdayTargets Minutes that have to be worked per day of the week, starting with Monday.
+     * @param pool Pool the balances of multiple users are calculated in.
+     */
+    public OvertimeEngine(int[] weekdayTargets, ForkJoinPool pool) {
+        if (weekdayTargets.length != 7) {
+            throw new IllegalArgumentException("A target is required for every day of the week");
+        }
+        this.weekdayTargets = weekdayTargets.clone();
+        this.pool = pool;
+    }
+
+    /**
+     * Load the worked time of users from the daily rollups. The seconds of all projects are added up per day
+     * before they are rounded down to whole minutes.
+     * @param rollupDao DAO used to read the daily rollups.
+     * @param userId Id of the user whose minutes should be loaded, null to load all users with rollups in the range.
+     * @param from First day of the range.
+     * @param to Last day of the range, inclusive.
+     * @return List containing the timeline of every loaded user. If a single user was requested,
+     *         the list contains the user even if no minutes were found.
+     * @throws SQLException Exception thrown if the rollups could not be read.
+     */
+    public static List<WorkTimeline> loadTimelines(TimeRollupDaoImpl rollupDao, String userId, LocalDate from,
+                                                   LocalDate to) throws SQLException {
+        long firstDay = from.toEpochDay();
+        int days = Math.toIntExact(to.toEpochDay() - firstDay + 1);
+        Map<String, WorkTimeline> timelines = new LinkedHashMap<>();
+        if (userId != null) {
+            timelines.put(userId, new WorkTimeline(userId, firstDay, days));
+        }
+
+        try (CloseableIterator<TimeRollup> rollups = rollupDao.streamDays(userId, from, to)) {
+            // Rollups are ordered by user, so the map is only consulted when the user changes
+            WorkTimeline current = null;
+            while (rollups.hasNext()) {
+                TimeRollup rollup = rollups.next();
+                if (current == null || !current.getUserId().equals(rollup.getUserId())) {
+                    current = timelines.computeIfAbsent(rollup.getUserId(),
+                            id -> new WorkTimeline(id, firstDay, days));
+                }
+                current.addSeconds(rollup.getPeriodStart().toEpochDay(), rollup.getDurationSeconds());
+            }
+        } catch (IOException ex) {
+            throw new SQLException(ex);
+        }
+        return new ArrayList<>(timelines.values());
+    }
+
+    /**
+     * Calculate the balance of a single user.
+     * @param timeline Worked minutes of the user.
+     * @param period Period the balance should be broken down by, null to omit the breakdown.
+     * @return Balance of the user within the range of the timeline.
+     */
+    public OvertimeBalance calculate(WorkTimeline timeline, RollupPeriod period) {
+        int[] targets = OvertimeCalculator.targetMinutes(timeline.getFirstDay(), timeline.getDays(), weekdayTargets);
+        OvertimeBalance balance = calculate(timeline, targets, OvertimeCalculator.sum(targets, 0, targets.length));
+        if (period != null) {
+            balance.periods = breakDown(timeline, targets, period);
+        }
+        return balance;
+    }
+
+    /**
+     * Calculate the balances of multiple users in parallel. All timelines must cover the same range.
+     * @param timelines Worked minutes of the users.
+     * @return List containing the balance of every user in order of the given timelines.
+     */
+    public List<OvertimeBalance> calculateAll(List<WorkTimeline> timelines) {
+        if (timelines.isEmpty()) {
+            return List.of();
+        }
+        WorkTimeline first = timelines.get(0);
+        int[] targets = OvertimeCalculator.targetMinutes(first.getFirstDay(), first.getDays(), weekdayTargets);
+        long targetTotal = OvertimeCalculator.sum(targets, 0, targets.length);
+        OvertimeBalance[] results = new OvertimeBalance[timelines.size()];
+        pool.invoke(new BalanceTask(timelines, targets, targetTotal, results, 0, timelines.size()));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Calculate the balance of a single user without breakdown.
+     * @param timeline Worked minutes of the user.
+     * @param targets Target minutes per day of the range.
+     * @param targetTotal Sum of the target minutes.
+     * @return Balance of the user within the range of the timeline.
+     */
+    private static OvertimeBalance calculate(WorkTimeline timeline, int[] targets, long targetTotal) {
+        if (timeline.getDays() != targets.length) {
+            throw new IllegalArgumentException("All timelines must cover the same range");
+        }
+        OvertimeBalance balance = new OvertimeBalance();
+        balance.userId = timeline.getUserId();
+        balance.from = LocalDate.ofEpochDay(timeline.getFirstDay());
+        balance.to = LocalDate.ofEpochDay(timeline.getFirstDay() + timeline.getDays() - 1);
+        balance.workedMinutes = OvertimeCalculator.sum(timeline.getWorkedMinutes(), 0, timeline.getDays());
+        balance.targetMinutes = targetTotal;
+        balance.balanceMinutes = balance.workedMinutes - targetTotal;
+        return balance;
+    }
+
+    /**
+     * Break the balance of a user down into periods.
+     * @param timeline Worked minutes of the user.
+     * @param targets Target minutes per day of the range.
+     * @param period Period the balance should be broken down by.
+     * @return List containing the sums and the running balance of every period.
+     */
+    private static List<OvertimePeriod> breakDown(WorkTimeline timeline, int[] targets, RollupPeriod period) {
+        int[] worked = timeline.getWorkedMinutes();
+        int[] boundaries = OvertimeCalculator.periodBoundaries(timeline.getFirstDay(), timeline.getDays(), period);
+        long[] workedSums = OvertimeCalculator.periodSums(worked, boundaries);
+        long[] targetSums = OvertimeCalculator.periodSums(targets, boundaries);
+        long[] balance = OvertimeCalculator.runningBalance(worked, targets);
+
+        List<OvertimePeriod> periods = new ArrayList<>(boundaries.length);
+        for (int p = 0; p < boundaries.length; p++) {
+            int lastDay = (p + 1 < boundaries.length ? boundaries[p + 1] : worked.length) - 1;
+            periods.add(new OvertimePeriod(LocalDate.ofEpochDay(timeline.getFirstDay() + boundaries[p]),
+                    workedSums[p], targetSums[p], balance[lastDay]));
+        }
+        return periods;
+    }
+
+    /**
+     * Task calculating the balances of a range of users, split into subtasks if the range is too large.
+     */
+    private static class BalanceTask extends RecursiveAction {
+
+        /** Serial version for this class */
+        private static final long serialVersionUID = 2361708834621474563L;
+
+        /** Worked minutes of all users */
+        private final transient List<WorkTimeline> timelines;
+
+        /** Target minutes per day of the range, shared by all users */
+        private final int[] targets;
+
+        /** Sum of the target minutes */
+        private final long targetTotal;
+
+        /** Array the balances are written to, at the index of the timeline */
+        private final OvertimeBalance[] results;
+
+        /** Index of the first user of this task, inclusive */
+        private final int start;
+
+        /** Index of the last user of this task, exclusive */
+        private final int end;
+
+        /**
+         * Create a new task.
+         * @param timelines Worked minutes of all users.
+         * @param targets Target minutes per day of the range.
+         * @param targetTotal Sum of the target minutes.
+         * @param results Array the balances are written to.
+         * @param start Index of the first user of this task, inclusive.
+         * @param end Index of the last user of this task, exclusive.
+         */
+        BalanceTask(List<WorkTimeline> timelines, int[] targets, long targetTotal, OvertimeBalance[] results,
+                    int start, int end) {
+            this.timelines = timelines;
+            this.targets = targets;
+            this.targetTotal = targetTotal;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= USERS_PER_TASK) {
+                for (int i = start; i < end; i++) {
+                    results[i] = calculate(timelines.get(i), targets, targetTotal);
+                }
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new BalanceTask(timelines, targets, targetTotal, results, start, middle),
+                    new BalanceTask(timelines, targets, targetTotal, results, middle, end));
+        }
+
+    }
+
+}
@@ -0,0 +1,78 @@
+package dev.bluemedia.timechamp.overtime;
+
+/**
+ * Time a single user worked per day within a fixed range of days. The time is kept in primitive arrays
+ * indexed by the offset to the first day of the range, so calculations don't box values or allocate
+ * date objects per day.
+ * <p>
+ * Durations are added in seconds and only converted to whole minutes once per day, so durations of multiple
+ * projects on the same day don't each lose their partial minute.
+ */
+public class WorkTimeline {
+
+    /** Id of the user */
+    private final String userId;
+
+    /** Epoch day of the first day of the range */
+    private final long firstDay;
+
+    /** Worked seconds, the index is the offset to the first day of the range */
+    private final long[] workedSeconds;
+
+    /** Worked minutes calculated from the worked seconds, null until requested or after seconds were added */
+    private int[] workedMinutes;
+
+    /**
+     * Create a new timeline without worked time.
+     * @param userId Id of the user.
+     * @param firstDay Epoch day of the first day of the range.
+     * @param days Amount of days within the range.
+     */
+    public WorkTimeline(String userId, long firstDay, int days) {
+        this.userId = userId;
+        this.firstDay = firstDay;
+        this.workedSeconds = new long[days];
+    }
+
+    /**
+     * Add worked seconds to a day. Days outside the range are ignored.
+     * @param epochDay Epoch day the seconds were worked on.
+     * @param seconds Seconds that should be added.
+     */
+    public void addSeconds(long epochDay, long seconds) {
+        long index = epochDay - firstDay;
+        if (index >= 0 && index < workedSeconds.length) {
+            workedSeconds[(int) index] += seconds;
+            workedMinutes = null;
+        }
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public long getFirstDay() {
+        return firstDay;
+    }
+
+    public int getDays() {
+        return workedSeconds.length;
+    }
+
+    /**
+     * Get the worked minutes, rounded down to whole minutes per day. The returned array is not copied and
+     * must not be modified.
+     * @return Array containing the worked minutes, the index is the offset to the first day of the range.
+     */
+    int[] getWorkedMinutes() {
+        if (workedMinutes == null) {
+            int[] minutes = new int[workedSeconds.length];
+            for (int i = 0; i < minutes.length; i++) {
+                minutes[i] = Math.toIntExact(workedSeconds[i] / 60);
+            }
+            workedMinutes = minutes;
+        }
+        return workedMinutes;
+    }
+
+}
@@ -0,0 +1,158 @@
+package dev.bluemedia.timechamp.scheduler;
+
+import dev.bluemedia.timechamp.model.type.MisfirePolicy;
+import org.quartz.CronScheduleBuilder;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+
+/**
+ * Definition of a background job that is registered with the {@link SchedulerHelper}. A job either recurs
+ * in a fixed interval, recurs according to a cron expression, or is only executed when it is triggered.
+ */
+public class JobDefinition {
+
+    /** Unique name of the job, also used as name of its trigger */
+    private final String name;
+
+    /** Class implementing the job */
+    private final Class<? extends Job> jobClass;
+
+    /** Interval in seconds for recurring jobs, 0 if the job does not recur in a fixed interval */
+    private final int intervalSeconds;
+
+    /** Cron expression for recurring jobs, null if the job does not recur according to a cron expression */
+    private final String cronExpression;
+
+    /** Handling of missed executions */
+    private final MisfirePolicy misfirePolicy;
+
+    /**
+     * Create a new job definition.
+     * @param name Unique name of the job.
+     * @param jobClass Class implementing the job.
+     * @param intervalSeconds Interval in seconds, 0 if the job does not recur in a fixed interval.
+     * @param cronExpression Cron expression, null if the job does not recur according to a cron expression.
+     * @param misfirePolicy Handling of missed executions.
+     */
+    private JobDefinition(String name, Class<? extends Job> jobClass, int intervalSeconds, String cronExpression,
+                          MisfirePolicy misfirePolicy) {
+        this.name = name;
+        this.jobClass = jobClass;
+        this.intervalSeconds = intervalSeconds;
+        this.cronExpression = cronExpression;
+        this.misfirePolicy = misfirePolicy;
+    }
+
+    /**
+     * Define a job recurring in a fixed interval. The first execution starts immediately.
+     * @param name Unique name of the job.
+     * @param jobClass Class implementing the job.
+     * @param intervalSeconds Interval in seconds between the starts of two executions.
+     * @param misfirePolicy Handling of missed executions.
+     * @return Definition of the job.
+     */
+    public static JobDefinition recurring(String name, Class<? extends Job> jobClass, int intervalSeconds,
+                                          MisfirePolicy misfirePolicy) {
+        if (intervalSeconds <= 0) {
+            throw new IllegalArgumentException("The interval of a recurring job must be positive");
+        }
+        return new JobDefinition(name, jobClass, intervalSeconds, null, misfirePolicy);
+    }
+
+    /**
+     * Define a job recurring according to a cron expression.
+     * @param name Unique name of the job.
+     * @param jobClass Class implementing the job.
+     * @param cronExpression Quartz cron expression, evaluated in the time zone of the server.
+     * @param misfirePolicy Handling of missed executions.
+     * @return Definition of the job.
+     */
+    public static JobDefinition cron(String name, Class<? extends Job> jobClass, String cronExpression,
+                                     MisfirePolicy misfirePolicy) {
+        return new JobDefinition(name, jobClass, 0, cronExpression, misfirePolicy);
+    }
+
+    /**
+     * Define a job that is only executed when it is triggered.
+     * @param name Unique name of the job.
+     * @param jobClass Class implementing the job.
+     * @return Definition of the job.
+     */
+    public static JobDefinition onDemand(String name, Class<? extends Job> jobClass) {
+        return new JobDefinition(name, jobClass, 0, null, MisfirePolicy.FIRE_ONCE);
+    }
+
+    /**
+     * Create the Quartz job of this definition. Jobs without trigger are stored durably, so they can be triggered.
+     * @return Quartz job of this definition.
+     */
+    JobDetail createJobDetail() {
+        return JobBuilder.newJob(jobClass)
+                .withIdentity(name)
+                .storeDurably(!isRecurring())
+                .build();
+    }
+
+    /**
+     * Create the Quartz trigger of this definition.
+     * @return Quartz trigger of this definition, or null if the job is only executed when it is triggered.
+     */
+    Trigger createTrigger() {
+        if (intervalSeconds > 0) {
+            SimpleScheduleBuilder schedule = SimpleScheduleBuilder.simpleSchedule()
+                    .withIntervalInSeconds(intervalSeconds)
+                    .repeatForever();
+            if (misfirePolicy == MisfirePolicy.SKIP) {
+                schedule.withMisfireHandlingInstructionNextWithRemainingCount();
+            } else {
+                schedule.withMisfireHandlingInstructionNowWithExistingCount();
+            }
+            return TriggerBuilder.newTrigger().withIdentity(name).startNow().withSchedule(schedule).build();
+        }
+        if (cronExpression != null) {
+            CronScheduleBuilder schedule = CronScheduleBuilder.cronSchedule(cronExpression);
+            if (misfirePolicy == MisfirePolicy.SKIP) {
+                schedule.withMisfireHandlingInstructionDoNothing();
+            } else {
+                schedule.withMisfireHandlingInstructionFireAndProceed();
+            }
+            return TriggerBuilder.newTrigger().withIdentity(name).withSchedule(schedule).build();
+        }
+        return null;
+    }
+
+    /**
+     * Check if the job recurs on its own.
+     * @return true if the job recurs in a fixed interval or according to a cron expression.
+     */
+    public boolean isRecurring() {
+        return intervalSeconds > 0 || cronExpression != null;
+    }
+
+    /**
+     * Get a human-readable description of the schedule of the job.
+     * @return Description of the schedule of the job.
+     */
+    public String getSchedule() {
+        if (intervalSeconds > 0) {
+            return String.format("every %ds", intervalSeconds);
+        }
+        if (cronExpression != null) {
+            return "cron " + cronExpression;
+        }
+        return "on demand";
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public MisfirePolicy getMisfirePolicy() {
+        return misfirePolicy;
+    }
+
+}
@@ -0,0 +1,103 @@
+package dev.bluemedia.timechamp.scheduler;
+
+import dev.bluemedia.timechamp.util.MetricsUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobListener;
+import org.quartz.Trigger;
+import org.quartz.TriggerListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listener recording the duration, failures, start lag and misfires of every job execution,
+ * tagged by the name of the job.
+ */
+class JobMetricsListener implements JobListener, TriggerListener {
+
+    /** SLF4J logger for usage in this class */
+    private static final Logger LOG = LoggerFactory.getLogger(JobMetricsListener.class.getName());
+
+    /** Registry the metrics are registered to */
+    private final MeterRegistry registry = MetricsUtil.getRegistry();
+
+    @Override
+    public String getName() {
+        return "metrics";
+    }
+
+    @Override
+    public void jobToBeExecuted(JobExecutionContext context) {
+        // Time between the scheduled and the actual start, grows if all scheduler threads are busy
+        if (context.getScheduledFireTime() != null) {
+            long lagMillis = context.getFireTime().getTime() - context.getScheduledFireTime().getTime();
+            Timer.builder("jobs.lag")
+                    .description("Time between the scheduled and the actual start of background jobs")
+                    .tag("job", getJobName(context))
+                    .register(registry)
+                    .record(Math.max(lagMillis, 0), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void jobExecutionVetoed(JobExecutionContext context) {
+    }
+
+    @Override
+    public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+        String outcome = jobException == null ? "success" : "error";
+        Timer.builder("jobs.executions")
+                .description("Duration of background job executions")
+                .tag("job", getJobName(context))
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(context.getJobRunTime(), TimeUnit.MILLISECONDS);
+        if (jobException != null) {
+            Counter.builder("jobs.failures")
+                    .description("Failed background job executions")
+                    .tag("job", getJobName(context))
+                    .register(registry)
+                    .increment();
+        }
+        LOG.debug("Job {} finished in {} ms ({})", getJobName(context), context.getJobRunTime(), outcome);
+    }
+
+    @Override
+    public void triggerFired(Trigger trigger, JobExecutionContext context) {
+    }
+
+    @Override
+    public boolean vetoJobExecution(Trigger trigger, JobExecutionContext context) {
+        return false;
+    }
+
+    @Override
+    public void triggerMisfired(Trigger trigger) {
+        Counter.builder("jobs.misfires")
+                .description("Missed background job executions, handled according to the misfire policy of the job")
+                .tag("job", trigger.getJobKey().getName())
+                .register(registry)
+                .increment();
+        LOG.warn("Job {} missed its scheduled execution", trigger.getJobKey().getName());
+    }
+
+    @Override
+    public void triggerComplete(Trigger trigger, JobExecutionContext context,
+                                Trigger.CompletedExecutionInstruction triggerInstructionCode) {
+    }
+
+    /**
+     * Get the name of the executed job.
+     * @param context Context of the job execution.
+     * @return Name of the executed job.
+     */
+    private static String getJobName(JobExecutionContext context) {
+        return context.getJobDetail().getKey().getName();
+    }
+
+}
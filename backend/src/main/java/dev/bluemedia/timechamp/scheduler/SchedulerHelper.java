@@ -0,0 +1,188 @@
+package dev.bluemedia.timechamp.scheduler;
+
+import dev.bluemedia.timechamp.model.config.SchedulerConfig;
+import dev.bluemedia.timechamp.model.response.JobStatus;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.quartz.impl.StdSchedulerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Class for management of the scheduler executing background jobs, so maintenance work stays off the request
+ * threads. Other modules register their jobs using {@link #register(JobDefinition)}. Jobs registered before the
+ * scheduler is started are scheduled once it starts, later registrations are scheduled immediately.
+ */
+public class SchedulerHelper {
+
+    /** SLF4J logger for usage in this class */
+    private static final Logger LOG = LoggerFactory.getLogger(SchedulerHelper.class.getName());
+
+    /** Registered jobs, keyed by their name */
+    private static final Map<String, JobDefinition> jobs = new LinkedHashMap<>();
+
+    /** Quartz scheduler executing the jobs, null if the scheduler was not started yet */
+    private static Scheduler scheduler;
+
+    /**
+     * Register a background job. The job is scheduled immediately if the scheduler is already running.
+     * @param job Definition of the job.
+     * @throws SchedulerException Exception thrown if the job could not be scheduled.
+     */
+    public static synchronized void register(JobDefinition job) throws SchedulerException {
+        if (jobs.containsKey(job.getName())) {
+            throw new IllegalArgumentException(String.format("A job named %s is already registered", job.getName()));
+        }
+        jobs.put(job.getName(), job);
+        if (scheduler != null) {
+            schedule(job);
+        }
+    }
+
+    /**
+     * Create and start the scheduler and schedule all registered jobs.
+     * @param config Settings of the scheduler.
+     * @throws SchedulerException Exception thrown if the scheduler could not be started.
+     */
+    public static synchronized void start(SchedulerConfig config) throws SchedulerException {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", "timechamp");
+        properties.setProperty("org.quartz.scheduler.skipUpdateCheck", "true");
+        properties.setProperty("org.quartz.threadPool.threadCount", String.valueOf(config.getThreadCount()));
+        properties.setProperty("org.quartz.jobStore.class", "org.quartz.simpl.RAMJobStore");
+        properties.setProperty("org.quartz.jobStore.misfireThreshold",
+                String.valueOf(config.getMisfireThresholdSeconds() * 1000L));
+        Scheduler newScheduler = new StdSchedulerFactory(properties).getScheduler();
+
+        JobMetricsListener metricsListener = new JobMetricsListener();
+        newScheduler.getListenerManager().addJobListener(metricsListener);
+        newScheduler.getListenerManager().addTriggerListener(metricsListener);
+
+        scheduler = newScheduler;
+        for (JobDefinition job : jobs.values()) {
+            schedule(job);
+        }
+        scheduler.start();
+        LOG.info("Scheduler started with {} threads and {} jobs", config.getThreadCount(), jobs.size());
+    }
+
+    /**
+     * Add the given job to the scheduler.
+     * @param job Definition of the job.
+     * @throws SchedulerException Exception thrown if the job could not be scheduled.
+     */
+    private static void schedule(JobDefinition job) throws SchedulerException {
+        Trigger trigger = job.createTrigger();
+        if (trigger != null) {
+            scheduler.scheduleJob(job.createJobDetail(), trigger);
+        } else {
+            scheduler.addJob(job.createJobDetail(), false);
+        }
+        LOG.debug("Job {} scheduled ({})", job.getName(), job.getSchedule());
+    }
+
+    /**
+     * Execute a registered job as soon as a scheduler thread is available.
+     * @param name Name of the job.
+     * @param data Data passed to the job execution, may be empty.
+     * @throws SchedulerException Exception thrown if the job could not be triggered.
+     * @throws IllegalStateException Exception thrown if the scheduler is not running.
+     */
+    public static void trigger(String name, Map<String, Object> data) throws SchedulerException {
+        Scheduler current = scheduler;
+        if (current == null || current.isShutdown()) {
+            throw new IllegalStateException("The scheduler is not running");
+        }
+        current.triggerJob(JobKey.jobKey(name), new JobDataMap(data));
+    }
+
+    /**
+     * Check if the scheduler is running.
+     * @return true if the scheduler was started and is not shut down yet.
+     */
+    public static boolean isRunning() {
+        Scheduler current = scheduler;
+        try {
+            return current != null && current.isStarted() && !current.isShutdown();
+        } catch (SchedulerException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Get the schedule and state of all registered jobs.
+     * @return List containing the status of every registered job in order of registration.
+     * @throws SchedulerException Exception thrown if the state of the scheduler could not be read.
+     */
+    public static List<JobStatus> getJobs() throws SchedulerException {
+        List<JobDefinition> definitions;
+        synchronized (SchedulerHelper.class) {
+            definitions = new ArrayList<>(jobs.values());
+        }
+        List<String> runningJobs = new ArrayList<>();
+        Scheduler current = scheduler;
+        if (current != null) {
+            for (JobExecutionContext context : current.getCurrentlyExecutingJobs()) {
+                runningJobs.add(context.getJobDetail().getKey().getName());
+            }
+        }
+
+        List<JobStatus> statuses = new ArrayList<>();
+        for (JobDefinition job : definitions) {
+            JobStatus status = new JobStatus();
+            status.name = job.getName();
+            status.schedule = job.getSchedule();
+            status.misfirePolicy = job.getMisfirePolicy();
+            status.running = runningJobs.contains(job.getName());
+            Trigger trigger = current != null ? current.getTrigger(TriggerKey.triggerKey(job.getName())) : null;
+            if (trigger != null) {
+                status.previousExecution = toLocalDateTime(trigger.getPreviousFireTime());
+                status.nextExecution = toLocalDateTime(trigger.getNextFireTime());
+            }
+            statuses.add(status);
+        }
+        return statuses;
+    }
+
+    /**
+     * Ask running jobs to stop, wait for them to finish and shut down the scheduler.
+     * Must be called before the database connections are closed, so jobs don't lose their connections.
+     */
+    public static synchronized void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        try {
+            for (JobExecutionContext context : scheduler.getCurrentlyExecutingJobs()) {
+                scheduler.interrupt(context.getFireInstanceId());
+            }
+            scheduler.shutdown(true);
+        } catch (SchedulerException ex) {
+            LOG.error("An unexpected error occurred", ex);
+        }
+    }
+
+    /**
+     * Convert a date used by Quartz to the local date and time of the server.
+     * @param date Date that should be converted, may be null.
+     * @return Local date and time, or null if the given date was null.
+     */
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return date == null ? null : LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+}
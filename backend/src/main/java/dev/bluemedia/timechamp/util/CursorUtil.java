@@ -0,0 +1,59 @@
+package dev.bluemedia.timechamp.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.bluemedia.timechamp.db.dao.PageCursor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Util to convert {@link PageCursor} objects to opaque strings that can be handed out to API clients and back.
+ */
+public class CursorUtil {
+
+    /** {@link ObjectMapper} used to serialize the cursor values */
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    /**
+     * Encode the given cursor to an opaque, url safe string.
+     * @param cursor Cursor that should be encoded.
+     * @return Opaque string representation of the cursor, or null if the given cursor was null.
+     */
+    public static String encode(PageCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        ArrayNode node = MAPPER.createArrayNode();
+        node.add(MAPPER.valueToTree(cursor.getValue()));
+        node.add(MAPPER.valueToTree(cursor.getId()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(node.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor that was previously created by {@link #encode(PageCursor)}.
+     * @param cursor Opaque string representation of the cursor.
+     * @param valueType Java type of the order column the cursor was created for.
+     * @param idType Java type of the id column the cursor was created for.
+     * @return Decoded cursor, or null if the given string was null or empty.
+     * @throws IllegalArgumentException Exception thrown if the given string is no valid cursor.
+     */
+    public static PageCursor decode(String cursor, Class<?> valueType, Class<?> idType) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            JsonNode node = MAPPER.readTree(Base64.getUrlDecoder().decode(cursor));
+            if (!node.isArray() || node.size() != 2) {
+                throw new IllegalArgumentException("Cursor has an unexpected format");
+            }
+            return new PageCursor(MAPPER.treeToValue(node.get(0), valueType), MAPPER.treeToValue(node.get(1), idType));
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Cursor could not be parsed", ex);
+        }
+    }
+
+}
@@ -1,16 +1,33 @@
 package dev.bluemedia.timechamp.util;
 
 import dev.bluemedia.timechamp.api.RestApplication;
+import dev.bluemedia.timechamp.model.config.CompressionConfig;
 import dev.bluemedia.timechamp.model.config.Config;
+import dev.bluemedia.timechamp.model.config.Http2Config;
+import dev.bluemedia.timechamp.model.config.HttpThreadPoolConfig;
+import dev.bluemedia.timechamp.model.config.StaticResourcesConfig;
+import io.micrometer.core.instrument.Gauge;
+import jakarta.servlet.DispatcherType;
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
 import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.AbstractHTTP2ServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
 import org.eclipse.jetty.server.*;
 import org.eclipse.jetty.server.handler.HandlerList;
 import org.eclipse.jetty.server.handler.SecuredRedirectHandler;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.eclipse.jetty.servlet.DefaultServlet;
+import org.eclipse.jetty.servlet.FilterHolder;
+import org.eclipse.jetty.servlet.FilterMapping;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.VirtualThreads;
 import org.eclipse.jetty.util.resource.Resource;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.glassfish.jersey.servlet.ServletContainer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +37,10 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.EnumSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Utility class to handle actions around the embedded Jetty server.
@@ -39,9 +60,17 @@ public class JettyServer {
      * When a frontend is found, jetty serves it under the web root.
      */
     public static void start(Config config) throws Exception {
+        // Resolve the frontend location in parallel to the remaining setup, as it may need to open the JAR file
+        CompletableFuture<Resource> webRoot = CompletableFuture.supplyAsync(() -> {
+            try {
+                return StartupTracker.time("web.static-resources", JettyServer::resolveWebRoot);
+            } catch (Exception ex) {
+                throw new CompletionException(ex);
+            }
+        });
 
         // Create embedded Jetty server
-        jetty = new Server();
+        jetty = new Server(createThreadPool(config.getHttpThreadPool()));
 
         HandlerList handlerList = new HandlerList();
 
@@ -53,8 +82,16 @@ public class JettyServer {
         httpConfiguration.setSecurePort(config.getHttpsPort());
         httpConfiguration.setSendServerVersion(false);
 
-        // Create ServerConnector for HTTP
-        ServerConnector http = new ServerConnector(jetty, new HttpConnectionFactory(httpConfiguration));
+        // Create ServerConnector for HTTP. Cleartext HTTP/2 is accepted via upgrade or prior knowledge if enabled,
+        // which allows a reverse proxy terminating TLS to forward HTTP/2 requests.
+        ServerConnector http;
+        if (config.getHttp2().isCleartext()) {
+            LOG.info("Cleartext HTTP/2 (h2c) is enabled on port {}", config.getHttpPort());
+            http = createConnector(config, new HttpConnectionFactory(httpConfiguration),
+                    configureHttp2(new HTTP2CServerConnectionFactory(httpConfiguration), config.getHttp2()));
+        } else {
+            http = createConnector(config, new HttpConnectionFactory(httpConfiguration));
+        }
         http.setPort(config.getHttpPort());
         jetty.addConnector(http);
 
@@ -77,44 +114,164 @@ public class JettyServer {
         ServletContextHandler srvCtxHandler = new ServletContextHandler(ServletContextHandler.SESSIONS);
         srvCtxHandler.setContextPath("/*");
 
-        // Figure out what path to serve the frontend from
-        // Get a file from the frontend folder, as ClassLoader.getResource() is not
-        // designed to look for directories (we resolve the directory later)
-        URL webRootLocation = JettyServer.class.getResource("/static/index.html");
-        if (webRootLocation == null) {
-            LOG.warn("Unable to determine frontend location in JAR file. " +
-                    "This may be ok, if you are running the backend without a packaged frontend.");
-        } else {
-            // Resolve file to directory
-            URI webRootUri = URI.create(
-                    webRootLocation.toURI().toASCIIString().replaceFirst("/index.html$", "/")
-            );
+        // Create the servlet that handles the rest api
+        ServletHolder jerseyServlet = new ServletHolder(new ServletContainer(new RestApplication()));
+        // Required for resources releasing the request thread while waiting for the database
+        jerseyServlet.setAsyncSupported(true);
+        // Bootstrap Jersey while starting the server instead of on the first request
+        jerseyServlet.setInitOrder(0);
+        srvCtxHandler.addServlet(jerseyServlet, "/api/*");
 
+        Resource webRootResource;
+        try {
+            webRootResource = webRoot.join();
+        } catch (CompletionException ex) {
+            throw (Exception) ex.getCause();
+        }
+        if (webRootResource != null) {
             // Set frontend settings to main ServletContextHandler
-            srvCtxHandler.setBaseResource(Resource.newResource(webRootUri));
+            srvCtxHandler.setBaseResource(webRootResource);
             srvCtxHandler.setWelcomeFiles(new String[]{"index.html"});
         }
 
-        // Create the servlet that handles the rest api
-        ServletHolder jerseyServlet = new ServletHolder(new ServletContainer(new RestApplication()));
-        srvCtxHandler.addServlet(jerseyServlet, "/api/*");
-
         // Lastly, the default servlet for serving frontend files.
         // It is important that this is last.
+        StaticResourcesConfig staticConfig = config.getStaticResources();
         ServletHolder frontendHolder = new ServletHolder("default", DefaultServlet.class);
         frontendHolder.setInitParameter("dirAllowed","false");
         frontendHolder.setInitParameter("pathInfoOnly","true");
+        // Serve the variants compressed by the frontend build instead of compressing on every request
+        frontendHolder.setInitParameter("precompressed", "br=.br,gzip=.gz");
+        frontendHolder.setInitParameter("etags", "true");
+        frontendHolder.setInitParameter("maxCacheSize", String.valueOf(staticConfig.getCacheMaxSize()));
+        frontendHolder.setInitParameter("maxCachedFileSize", String.valueOf(staticConfig.getCacheMaxFileSize()));
+        frontendHolder.setInitParameter("maxCachedFiles", String.valueOf(staticConfig.getCacheMaxFiles()));
         srvCtxHandler.addServlet(frontendHolder,"/*");
 
-        handlerList.addHandler(srvCtxHandler);
+        // Set the Cache-Control header of the frontend files only, the API sets its own headers
+        FilterHolder cacheControlHolder = new FilterHolder(
+                new StaticCacheControlFilter(staticConfig.getIndexMaxAgeSeconds()));
+        cacheControlHolder.setName("staticCacheControl");
+        FilterMapping cacheControlMapping = new FilterMapping();
+        cacheControlMapping.setFilterName(cacheControlHolder.getName());
+        cacheControlMapping.setServletName(frontendHolder.getName());
+        cacheControlMapping.setDispatcherTypes(EnumSet.of(DispatcherType.REQUEST));
+        srvCtxHandler.getServletHandler().addFilter(cacheControlHolder, cacheControlMapping);
+
+        handlerList.addHandler(createCompressionHandler(config.getCompression(), srvCtxHandler));
 
         jetty.setHandler(handlerList);
 
         // Start the server thread
-        jetty.start();
+        StartupTracker.run("web.start", jetty::start);
         LOG.info("Web server started successfully");
     }
 
+    /**
+     * Create the thread pool handling the requests.
+     * @param poolConfig Settings of the thread pool.
+     * @return Thread pool handling the requests.
+     * @throws IllegalArgumentException Exception thrown if the settings of the thread pool are invalid.
+     */
+    private static QueuedThreadPool createThreadPool(HttpThreadPoolConfig poolConfig) {
+        poolConfig.validate();
+        int queueCapacity = poolConfig.getQueueCapacity();
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new BlockingArrayQueue<>(Math.min(poolConfig.getMinThreads(), queueCapacity),
+                        poolConfig.getMinThreads(), queueCapacity)
+                : null;
+
+        QueuedThreadPool threadPool = new QueuedThreadPool(poolConfig.getMaxThreads(), poolConfig.getMinThreads(),
+                poolConfig.getIdleTimeoutMillis(), -1, queue, null);
+        threadPool.setName("http");
+        if (poolConfig.useVirtualThreads()) {
+            if (VirtualThreads.areSupported()) {
+                // Selectors and acceptors keep running on the pool, only the blocking request handling is
+                // dispatched to virtual threads, which are not limited by the maximum amount of threads.
+                threadPool.setVirtualThreadsExecutor(VirtualThreads.getDefaultVirtualThreadsExecutor());
+                LOG.info("Requests will be handled on virtual threads");
+            } else {
+                LOG.warn("Virtual threads are not supported by this Java runtime. Falling back to platform threads.");
+            }
+        }
+
+        Gauge.builder("http.threads.busy", threadPool, QueuedThreadPool::getBusyThreads)
+                .description("Threads of the web server currently handling a task")
+                .register(MetricsUtil.getRegistry());
+        Gauge.builder("http.threads.queued", threadPool, QueuedThreadPool::getQueueSize)
+                .description("Tasks of the web server waiting for a free thread")
+                .register(MetricsUtil.getRegistry());
+        return threadPool;
+    }
+
+    /**
+     * Create a connector using the configured amount of acceptor and selector threads.
+     * @param config Config containing the settings of the thread pool.
+     * @param factories Connection factories of the connector.
+     * @return Connector using the given connection factories.
+     */
+    private static ServerConnector createConnector(Config config, ConnectionFactory... factories) {
+        return new ServerConnector(jetty, config.getHttpThreadPool().getAcceptors(),
+                config.getHttpThreadPool().getSelectors(), factories);
+    }
+
+    /**
+     * Wrap the given handler into a handler compressing the API responses, if enabled.
+     * The frontend files are precompressed by the frontend build and excluded.
+     * @param compressionConfig Settings of the compression of API responses.
+     * @param handler Handler serving the API.
+     * @return Handler compressing the responses of the given handler, or the given handler if compression is disabled.
+     */
+    private static Handler createCompressionHandler(CompressionConfig compressionConfig, Handler handler) {
+        if (!compressionConfig.isEnabled()) {
+            return handler;
+        }
+        GzipHandler gzipHandler = new GzipHandler();
+        gzipHandler.setIncludedPaths("/api/*");
+        gzipHandler.setExcludedPaths(compressionConfig.getExcludedPaths().toArray(new String[0]));
+        gzipHandler.setIncludedMimeTypes(compressionConfig.getMimeTypes().toArray(new String[0]));
+        gzipHandler.setMinGzipSize(compressionConfig.getMinSize());
+        gzipHandler.setDeflaterPool(new MeteredDeflaterPool(compressionConfig.getLevel()));
+        gzipHandler.setHandler(handler);
+        return gzipHandler;
+    }
+
+    /**
+     * Figure out what path to serve the frontend from.
+     * @return Resource pointing to the folder containing the packaged frontend, or null if there is no frontend.
+     * @throws Exception Exception thrown if the location of the frontend could not be resolved.
+     */
+    private static Resource resolveWebRoot() throws Exception {
+        // Get a file from the frontend folder, as ClassLoader.getResource() is not
+        // designed to look for directories (we resolve the directory later)
+        URL webRootLocation = JettyServer.class.getResource("/static/index.html");
+        if (webRootLocation == null) {
+            LOG.warn("Unable to determine frontend location in JAR file. " +
+                    "This may be ok, if you are running the backend without a packaged frontend.");
+            return null;
+        }
+        // Resolve file to directory
+        URI webRootUri = URI.create(
+                webRootLocation.toURI().toASCIIString().replaceFirst("/index.html$", "/")
+        );
+        return Resource.newResource(webRootUri);
+    }
+
+    /**
+     * Apply the stream and flow control limits from the config to the given HTTP/2 connection factory.
+     * @param factory HTTP/2 connection factory that should be configured.
+     * @param http2Config Settings of the HTTP/2 support.
+     * @param <F> Type of the HTTP/2 connection factory.
+     * @return The configured connection factory.
+     */
+    private static <F extends AbstractHTTP2ServerConnectionFactory> F configureHttp2(F factory,
+                                                                                     Http2Config http2Config) {
+        factory.setMaxConcurrentStreams(http2Config.getMaxConcurrentStreams());
+        factory.setInitialSessionRecvWindow(http2Config.getInitialSessionRecvWindow());
+        factory.setInitialStreamRecvWindow(http2Config.getInitialStreamRecvWindow());
+        return factory;
+    }
+
     /**
      * Enable HTTPs on Jetty using the given keystore.
      * @param config Config to get relevant settings, like the keystore password and the HTTPS port.
@@ -131,14 +288,35 @@ public class JettyServer {
         HttpConfiguration httpsConfiguration = new HttpConfiguration(httpConfiguration);
         httpsConfiguration.addCustomizer(new SecureRequestCustomizer());
 
-        // Create ServerConnector for HTTPs
-        ServerConnector httpsConnector = new ServerConnector(jetty,
-                new SslConnectionFactory(sslContextFactory, HttpVersion.HTTP_1_1.asString()),
-                new HttpConnectionFactory(httpsConfiguration));
+        // Create ServerConnector for HTTPs. If HTTP/2 is enabled, the protocol is negotiated via ALPN and
+        // clients without HTTP/2 support fall back to HTTP/1.1.
+        HttpConnectionFactory http11 = new HttpConnectionFactory(httpsConfiguration);
+        ServerConnector httpsConnector;
+        if (config.getHttp2().isEnabled()) {
+            // HTTP/2 forbids a number of weak cipher suites, so the allowed ones must be preferred
+            sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+            ALPNServerConnectionFactory alpn = new ALPNServerConnectionFactory();
+            alpn.setDefaultProtocol(http11.getProtocol());
+            httpsConnector = createConnector(config,
+                    new SslConnectionFactory(sslContextFactory, alpn.getProtocol()), alpn,
+                    configureHttp2(new HTTP2ServerConnectionFactory(httpsConfiguration), config.getHttp2()), http11);
+        } else {
+            httpsConnector = createConnector(config,
+                    new SslConnectionFactory(sslContextFactory, HttpVersion.HTTP_1_1.asString()), http11);
+        }
         httpsConnector.setPort(config.getHttpsPort());
         jetty.addConnector(httpsConnector);
     }
 
+    /**
+     * Wait until the embedded Jetty is stopped. Keeps the application running, even if requests are handled
+     * on virtual threads, which never keep the JVM alive.
+     * @throws InterruptedException Exception thrown if the waiting thread was interrupted.
+     */
+    public static void join() throws InterruptedException {
+        jetty.join();
+    }
+
     /**
      * Cleanly shutdown the embedded Jetty.
      */
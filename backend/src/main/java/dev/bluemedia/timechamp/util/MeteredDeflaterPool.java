@@ -0,0 +1,143 @@
+package dev.bluemedia.timechamp.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.eclipse.jetty.util.compression.CompressionPool;
+import org.eclipse.jetty.util.compression.DeflaterPool;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * {@link DeflaterPool} recording the compression ratio and the time spent compressing responses.
+ * Every response compressed by the GzipHandler uses one pooled {@link Deflater}, which is recorded
+ * when it is returned to the pool.
+ */
+class MeteredDeflaterPool extends DeflaterPool {
+
+    /** Compression level of the created deflaters */
+    private final int level;
+
+    /** Uncompressed bytes of all compressed responses */
+    private final Counter bytesIn;
+
+    /** Compressed bytes of all compressed responses */
+    private final Counter bytesOut;
+
+    /** Ratio of compressed to uncompressed size per response */
+    private final DistributionSummary ratio;
+
+    /** Time spent compressing per response */
+    private final Timer compressionTime;
+
+    /**
+     * Create a new {@link MeteredDeflaterPool}.
+     * @param level Compression level of the created deflaters.
+     */
+    MeteredDeflaterPool(int level) {
+        // Same capacity and nowrap setting as the pool created by the GzipHandler itself
+        super(CompressionPool.DEFAULT_CAPACITY, level, true);
+        this.level = level;
+
+        MeterRegistry registry = MetricsUtil.getRegistry();
+        bytesIn = Counter.builder("http.compression.bytes.in").baseUnit("bytes")
+                .description("Uncompressed size of the compressed responses")
+                .register(registry);
+        bytesOut = Counter.builder("http.compression.bytes.out").baseUnit("bytes")
+                .description("Compressed size of the compressed responses")
+                .register(registry);
+        ratio = DistributionSummary.builder("http.compression.ratio")
+                .description("Compressed size of a response relative to its uncompressed size")
+                .register(registry);
+        compressionTime = Timer.builder("http.compression.time")
+                .description("Time spent compressing a response")
+                .register(registry);
+    }
+
+    @Override
+    protected Deflater newPooled() {
+        return new MeteredDeflater(level);
+    }
+
+    @Override
+    protected void reset(Deflater deflater) {
+        record(deflater);
+        super.reset(deflater);
+    }
+
+    @Override
+    protected void end(Deflater deflater) {
+        record(deflater);
+        super.end(deflater);
+    }
+
+    /**
+     * Record the response compressed by the given deflater since it was last reset.
+     * @param deflater Deflater that is returned to the pool or discarded.
+     */
+    private void record(Deflater deflater) {
+        long read = deflater.getBytesRead();
+        if (read == 0 || !(deflater instanceof MeteredDeflater)) {
+            return;
+        }
+        long written = deflater.getBytesWritten();
+        bytesIn.increment(read);
+        bytesOut.increment(written);
+        ratio.record((double) written / read);
+        compressionTime.record(((MeteredDeflater) deflater).takeDeflateNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * {@link Deflater} summing up the time spent in its deflate calls.
+     * The remaining deflate methods delegate to the two overridden ones.
+     */
+    private static class MeteredDeflater extends Deflater {
+
+        /** Time spent in deflate calls since the last reset */
+        private long deflateNanos;
+
+        /**
+         * Create a new {@link MeteredDeflater} using the raw deflate format, as the GzipHandler writes the gzip
+         * header and trailer itself.
+         * @param level Compression level.
+         */
+        MeteredDeflater(int level) {
+            super(level, true);
+        }
+
+        @Override
+        public int deflate(byte[] output, int off, int len, int flush) {
+            long start = System.nanoTime();
+            try {
+                return super.deflate(output, off, len, flush);
+            } finally {
+                deflateNanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public int deflate(ByteBuffer output, int flush) {
+            long start = System.nanoTime();
+            try {
+                return super.deflate(output, flush);
+            } finally {
+                deflateNanos += System.nanoTime() - start;
+            }
+        }
+
+        /**
+         * Get and reset the time spent in deflate calls.
+         * @return Time spent in deflate calls since the last call of this method.
+         */
+        long takeDeflateNanos() {
+            long nanos = deflateNanos;
+            deflateNanos = 0;
+            return nanos;
+        }
+
+    }
+
+}
@@ -0,0 +1,31 @@
+package dev.bluemedia.timechamp.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+/**
+ * Util holding the global metrics registry, which is published through the REST API in the Prometheus format.
+ */
+public class MetricsUtil {
+
+    /** Global registry all application metrics are registered to */
+    private static final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+    /**
+     * Get the global registry all application metrics should be registered to.
+     * @return The global metrics registry.
+     */
+    public static MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Get the current values of all registered metrics in the Prometheus text format.
+     * @return Current values of all registered metrics.
+     */
+    public static String scrape() {
+        return registry.scrape();
+    }
+
+}
@@ -0,0 +1,137 @@
+package dev.bluemedia.timechamp.util;
+
+import dev.bluemedia.timechamp.model.response.StartupPhase;
+import dev.bluemedia.timechamp.model.response.StartupReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Util recording the timing of the startup phases and the readiness of the application.
+ * Phases may run in parallel on different threads.
+ */
+public class StartupTracker {
+
+    /** SLF4J logger for usage in this class */
+    private static final Logger LOG = LoggerFactory.getLogger(StartupTracker.class.getName());
+
+    /** Start of the application, taken when this class is initialized at the beginning of the startup */
+    private static final long startNanos = System.nanoTime();
+
+    /** Completed startup phases */
+    private static final List<StartupPhase> phases = new CopyOnWriteArrayList<>();
+
+    /** Time the application needed to become ready in nanoseconds, or -1 if it is not ready yet */
+    private static volatile long readyNanos = -1;
+
+    /**
+     * Execute and time a startup phase.
+     * @param name Name of the phase.
+     * @param phase Phase that should be executed.
+     * @param <T> Type of the result of the phase.
+     * @param <E> Type of the exception thrown by the phase.
+     * @return Result of the phase.
+     * @throws E Exception thrown by the phase.
+     */
+    public static <T, E extends Exception> T time(String name, Phase<T, E> phase) throws E {
+        long phaseStart = System.nanoTime();
+        boolean successful = false;
+        try {
+            T result = phase.run();
+            successful = true;
+            return result;
+        } finally {
+            long durationNanos = System.nanoTime() - phaseStart;
+            phases.add(new StartupPhase(name, Thread.currentThread().getName(),
+                    TimeUnit.NANOSECONDS.toMillis(phaseStart - startNanos),
+                    TimeUnit.NANOSECONDS.toMillis(durationNanos), successful));
+            LOG.info("Startup phase {} {} in {} ms", name, successful ? "completed" : "failed",
+                    TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        }
+    }
+
+    /**
+     * Execute and time a startup phase without a result.
+     * @param name Name of the phase.
+     * @param phase Phase that should be executed.
+     * @param <E> Type of the exception thrown by the phase.
+     * @throws E Exception thrown by the phase.
+     */
+    public static <E extends Exception> void run(String name, VoidPhase<E> phase) throws E {
+        time(name, () -> {
+            phase.run();
+            return null;
+        });
+    }
+
+    /**
+     * Mark the application as ready to handle requests.
+     */
+    public static void markReady() {
+        readyNanos = System.nanoTime() - startNanos;
+        LOG.info("Timechamp is ready after {} ms", TimeUnit.NANOSECONDS.toMillis(readyNanos));
+    }
+
+    /**
+     * Check if the application completed its startup.
+     * @return true if the application is ready to handle requests.
+     */
+    public static boolean isReady() {
+        return readyNanos >= 0;
+    }
+
+    /**
+     * Get the timed breakdown of the startup.
+     * @return Report containing the readiness and the timing of all completed startup phases.
+     */
+    public static StartupReport getReport() {
+        StartupReport report = new StartupReport();
+        long elapsedNanos = readyNanos;
+        report.ready = elapsedNanos >= 0;
+        if (!report.ready) {
+            elapsedNanos = System.nanoTime() - startNanos;
+        }
+        report.totalMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        report.phases = new ArrayList<>(phases);
+        report.phases.sort(Comparator.comparingLong(phase -> phase.startOffsetMillis));
+        return report;
+    }
+
+    /**
+     * Startup phase returning a result.
+     * @param <T> Type of the result.
+     * @param <E> Type of the exception thrown by the phase.
+     */
+    @FunctionalInterface
+    public interface Phase<T, E extends Exception> {
+
+        /**
+         * Execute the phase.
+         * @return Result of the phase.
+         * @throws E Exception thrown if the phase failed.
+         */
+        T run() throws E;
+
+    }
+
+    /**
+     * Startup phase without a result.
+     * @param <E> Type of the exception thrown by the phase.
+     */
+    @FunctionalInterface
+    public interface VoidPhase<E extends Exception> {
+
+        /**
+         * Execute the phase.
+         * @throws E Exception thrown if the phase failed.
+         */
+        void run() throws E;
+
+    }
+
+}
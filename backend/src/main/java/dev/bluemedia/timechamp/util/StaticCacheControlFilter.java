@@ -0,0 +1,62 @@
+package dev.bluemedia.timechamp.util;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Servlet filter setting the Cache-Control header of the static frontend files.
+ * Files containing a content hash in their name never change, so browsers may cache them forever.
+ * The index.html references the current hashed files and is only cached for a short time.
+ */
+public class StaticCacheControlFilter implements Filter {
+
+    /** Cache-Control header of files containing a content hash in their name */
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    /** File names containing a content hash, as generated by the frontend build, e.g. app.1a2b3c4d.js */
+    private static final Pattern HASHED_FILE = Pattern.compile(".*\\.[0-9a-f]{8,}\\.[a-z0-9]+$");
+
+    /** Cache-Control header of the index.html */
+    private final String indexCacheControl;
+
+    /**
+     * Create a new {@link StaticCacheControlFilter}.
+     * @param indexMaxAgeSeconds Time in seconds browsers may use the index.html without revalidating it.
+     */
+    public StaticCacheControlFilter(int indexMaxAgeSeconds) {
+        this.indexCacheControl = "public, max-age=" + indexMaxAgeSeconds + ", must-revalidate";
+    }
+
+    /**
+     * Set the Cache-Control header matching the requested file.
+     * @param request Current request.
+     * @param response Current response.
+     * @param chain Remaining filter chain.
+     * @throws IOException Exception thrown by the remaining filter chain.
+     * @throws ServletException Exception thrown by the remaining filter chain.
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        String path = httpRequest.getPathInfo() == null ? "/" : httpRequest.getPathInfo();
+
+        if (path.equals("/") || path.endsWith("/index.html")) {
+            ((HttpServletResponse) response).setHeader("Cache-Control", indexCacheControl);
+        } else if (HASHED_FILE.matcher(path).matches()
+                && httpRequest.getServletContext().getResource(path) != null) {
+            // Missing files must not be cached, as they might be deployed by the next release
+            ((HttpServletResponse) response).setHeader("Cache-Control", IMMUTABLE);
+        }
+        chain.doFilter(request, response);
+    }
+
+}
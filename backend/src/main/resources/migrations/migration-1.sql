@@ -0,0 +1,4 @@
+ALTER TABLE meta ADD COLUMN migrationDateMillis BIGINT;
+UPDATE meta SET migrationDateMillis = FLOOR(TIMESTAMPDIFF(MICROSECOND, '1970-01-01 00:00:00', CAST(REPLACE(LEFT(migrationDate, 26), 'T', ' ') AS DATETIME(6))) / 1000);
+ALTER TABLE meta DROP COLUMN migrationDate;
+ALTER TABLE meta CHANGE COLUMN migrationDateMillis migrationDate BIGINT;
@@ -0,0 +1 @@
+ALTER TABLE meta ADD COLUMN checksum VARCHAR(255);
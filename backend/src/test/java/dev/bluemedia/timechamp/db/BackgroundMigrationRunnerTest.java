@@ -0,0 +1,147 @@
+package dev.bluemedia.timechamp.db;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.table.TableUtils;
+import dev.bluemedia.timechamp.db.dao.BackgroundMigrationStateDaoImpl;
+import dev.bluemedia.timechamp.model.config.BackgroundMigrationConfig;
+import dev.bluemedia.timechamp.model.object.BackgroundMigrationState;
+import dev.bluemedia.timechamp.model.type.BackgroundMigrationStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BackgroundMigrationRunnerTest {
+
+    private JdbcConnectionSource connectionSource;
+
+    private BackgroundMigrationStateDaoImpl stateDao;
+
+    private BackgroundMigrationConfig config;
+
+    @BeforeEach
+    void createDatabase() throws Exception {
+        connectionSource = new JdbcConnectionSource("jdbc:h2:mem:background;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        TableUtils.createTable(connectionSource, BackgroundMigrationState.class);
+        stateDao = new BackgroundMigrationStateDaoImpl(
+                DaoManager.createDao(connectionSource, BackgroundMigrationState.class));
+        config = new ObjectMapper().readValue("{\"chunkSize\": 2, \"chunkPauseMillis\": 0}",
+                BackgroundMigrationConfig.class);
+    }
+
+    @AfterEach
+    void dropDatabase() throws Exception {
+        TableUtils.dropTable(connectionSource, BackgroundMigrationState.class, false);
+        connectionSource.close();
+    }
+
+    @Test
+    void migratesAllChunks() throws Exception {
+        RowMigration migration = new RowMigration("rows", 5);
+        BackgroundMigrationRunner runner = createRunner(migration);
+
+        runner.run(() -> false);
+
+        assertEquals(List.of(0, 1, 2, 3, 4), migration.migratedRows);
+        BackgroundMigrationState state = stateDao.getByAttributeMatch("name", "rows");
+        assertEquals(BackgroundMigrationStatus.COMPLETED, state.getStatus());
+        assertEquals(5, state.getProcessedRows());
+        assertEquals(3, state.getProcessedChunks());
+        assertNull(state.getCheckpoint());
+    }
+
+    @Test
+    void resumesAtCheckpointAfterInterruption() throws Exception {
+        RowMigration migration = new RowMigration("rows", 5);
+        int[] checks = {0};
+        createRunner(migration).run(() -> checks[0]++ >= 2);
+
+        assertEquals(List.of(0, 1, 2, 3), migration.migratedRows);
+        assertEquals("3", stateDao.getByAttributeMatch("name", "rows").getCheckpoint());
+
+        // A new runner, like after a restart, continues behind the stored checkpoint
+        createRunner(migration).run(() -> false);
+
+        assertEquals(List.of(0, 1, 2, 3, 4), migration.migratedRows);
+        assertEquals(BackgroundMigrationStatus.COMPLETED, stateDao.getByAttributeMatch("name", "rows").getStatus());
+    }
+
+    @Test
+    void stopsAtFailedMigrationUntilRetried() throws Exception {
+        RowMigration failing = new RowMigration("failing", 5);
+        failing.failAtRow = 2;
+        RowMigration later = new RowMigration("later", 3);
+        createRunner(failing, later).run(() -> false);
+
+        BackgroundMigrationState state = stateDao.getByAttributeMatch("name", "failing");
+        assertEquals(BackgroundMigrationStatus.FAILED, state.getStatus());
+        assertEquals("1", state.getCheckpoint());
+        assertEquals(List.of(), later.migratedRows);
+
+        // Failed migrations are retried from their last checkpoint after the next registration
+        failing.failAtRow = -1;
+        createRunner(failing, later).run(() -> false);
+
+        assertEquals(BackgroundMigrationStatus.COMPLETED, stateDao.getByAttributeMatch("name", "failing").getStatus());
+        assertEquals(List.of(0, 1, 2, 3, 4), failing.migratedRows);
+        assertEquals(List.of(0, 1, 2), later.migratedRows);
+    }
+
+    private BackgroundMigrationRunner createRunner(BackgroundMigration... migrations) throws SQLException {
+        BackgroundMigrationRunner runner = new BackgroundMigrationRunner(stateDao, config, List.of(migrations));
+        runner.register();
+        return runner;
+    }
+
+    /**
+     * Migration walking over a fixed amount of numbered rows, using the number of the last row as checkpoint.
+     */
+    private static class RowMigration implements BackgroundMigration {
+
+        private final String name;
+
+        private final int rows;
+
+        private final List<Integer> migratedRows = new ArrayList<>();
+
+        private int failAtRow = -1;
+
+        private RowMigration(String name, int rows) {
+            this.name = name;
+            this.rows = rows;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public BackgroundMigrationChunk migrateChunk(String checkpoint, int chunkSize) throws SQLException {
+            int first = checkpoint == null ? 0 : Integer.parseInt(checkpoint) + 1;
+            int last = Math.min(first + chunkSize, rows) - 1;
+            for (int row = first; row <= last; row++) {
+                if (row == failAtRow) {
+                    throw new SQLException("Row " + row + " can't be migrated");
+                }
+            }
+            for (int row = first; row <= last; row++) {
+                migratedRows.add(row);
+            }
+            if (last == rows - 1) {
+                return BackgroundMigrationChunk.finished(last - first + 1);
+            }
+            return BackgroundMigrationChunk.next(Integer.toString(last), last - first + 1);
+        }
+
+    }
+
+}
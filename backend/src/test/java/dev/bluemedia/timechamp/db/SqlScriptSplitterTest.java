@@ -0,0 +1,90 @@
+package dev.bluemedia.timechamp.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SqlScriptSplitterTest {
+
+    @Test
+    void splitsStatementsAtTheDelimiter() {
+        assertEquals(List.of("CREATE TABLE a (id INT)", "INSERT INTO a VALUES (1)"),
+                SqlScriptSplitter.split("CREATE TABLE a (id INT);\n\nINSERT INTO a VALUES (1);\n"));
+    }
+
+    @Test
+    void keepsTheLastStatementWithoutDelimiter() {
+        assertEquals(List.of("SELECT 1", "SELECT 2"), SqlScriptSplitter.split("SELECT 1;\nSELECT 2"));
+    }
+
+    @Test
+    void skipsEmptyStatements() {
+        assertEquals(List.of("SELECT 1"), SqlScriptSplitter.split(";;\n SELECT 1 ; ;\n"));
+    }
+
+    @Test
+    void ignoresDelimitersInQuotes() {
+        assertEquals(List.of("INSERT INTO a VALUES ('a;b', \"c;d\")", "SELECT `x;y` FROM a"),
+                SqlScriptSplitter.split("INSERT INTO a VALUES ('a;b', \"c;d\");\nSELECT `x;y` FROM a;"));
+    }
+
+    @Test
+    void handlesEscapedQuotes() {
+        assertEquals(List.of("SELECT 'it''s;', 'it\\'s;'", "SELECT 2"),
+                SqlScriptSplitter.split("SELECT 'it''s;', 'it\\'s;';\nSELECT 2;"));
+    }
+
+    @Test
+    void removesComments() {
+        String script = "-- leading comment; with delimiter\n"
+                + "SELECT 1; # trailing comment;\n"
+                + "SELECT /* block; comment */ 2;\n"
+                + "/* multi\n line; */ SELECT 3;";
+        assertEquals(List.of("SELECT 1", "SELECT   2", "SELECT 3"), SqlScriptSplitter.split(script));
+    }
+
+    @Test
+    void keepsDoubleDashWithoutWhitespaceInExpressions() {
+        assertEquals(List.of("SELECT 1--1"), SqlScriptSplitter.split("SELECT 1--1;"));
+    }
+
+    @Test
+    void keepsExecutableComments() {
+        assertEquals(List.of("/*!40101 SET NAMES utf8mb4 */"),
+                SqlScriptSplitter.split("/*!40101 SET NAMES utf8mb4 */;"));
+    }
+
+    @Test
+    void changesTheDelimiter() {
+        String script = "DELIMITER $$\n"
+                + "CREATE PROCEDURE p()\nBEGIN\n  SELECT 1;\n  SELECT 2;\nEND$$\n"
+                + "delimiter ;\n"
+                + "CALL p();";
+        assertEquals(List.of("CREATE PROCEDURE p()\nBEGIN\n  SELECT 1;\n  SELECT 2;\nEND", "CALL p()"),
+                SqlScriptSplitter.split(script));
+    }
+
+    @Test
+    void ignoresDelimiterDirectiveInsideStatements() {
+        assertEquals(List.of("SELECT 1 AS\nDELIMITER"), SqlScriptSplitter.split("SELECT 1 AS\nDELIMITER;"));
+    }
+
+    @Test
+    void rejectsDelimiterDirectiveWithoutDelimiter() {
+        assertThrows(IllegalArgumentException.class, () -> SqlScriptSplitter.split("DELIMITER \nSELECT 1;"));
+    }
+
+    @Test
+    void rejectsUnterminatedStrings() {
+        assertThrows(IllegalArgumentException.class, () -> SqlScriptSplitter.split("SELECT 'abc;"));
+    }
+
+    @Test
+    void rejectsUnterminatedBlockComments() {
+        assertThrows(IllegalArgumentException.class, () -> SqlScriptSplitter.split("SELECT 1 /* comment;"));
+    }
+
+}
@@ -0,0 +1,195 @@
+package dev.bluemedia.timechamp.db.dao;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.table.TableUtils;
+import dev.bluemedia.timechamp.model.object.TimeEntry;
+import dev.bluemedia.timechamp.model.object.TimeRollup;
+import dev.bluemedia.timechamp.model.type.RollupPeriod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeRollupDaoImplTest {
+
+    private JdbcConnectionSource connectionSource;
+
+    private TimeRollupDaoImpl rollupDao;
+
+    private TimeEntryDaoImpl entryDao;
+
+    @BeforeEach
+    void createDatabase() throws Exception {
+        connectionSource = new JdbcConnectionSource("jdbc:h2:mem:rollups;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        TableUtils.createTable(connectionSource, TimeRollup.class);
+        TableUtils.createTable(connectionSource, TimeEntry.class);
+        Dao<TimeRollup, String> dao = DaoManager.createDao(connectionSource, TimeRollup.class);
+        Dao<TimeEntry, String> entries = DaoManager.createDao(connectionSource, TimeEntry.class);
+        rollupDao = new TimeRollupDaoImpl(dao, dao);
+        entryDao = new TimeEntryDaoImpl(entries, entries, rollupDao);
+    }
+
+    @AfterEach
+    void dropDatabase() throws Exception {
+        TableUtils.dropTable(connectionSource, TimeEntry.class, false);
+        TableUtils.dropTable(connectionSource, TimeRollup.class, false);
+        connectionSource.close();
+    }
+
+    @Test
+    void splitsEntryAtMidnight() {
+        Map<String, TimeRollup> deltas = contribution(entry("2024-03-05T22:00", "2024-03-06T02:30"), 1);
+
+        assertRollup(deltas, RollupPeriod.DAY, "2024-03-05", 2 * 3600, 1);
+        assertRollup(deltas, RollupPeriod.DAY, "2024-03-06", 2 * 3600 + 1800, 1);
+        // The entry is counted once in the rollups containing both days
+        assertRollup(deltas, RollupPeriod.WEEK, "2024-03-04", 4 * 3600 + 1800, 1);
+        assertRollup(deltas, RollupPeriod.MONTH, "2024-03-01", 4 * 3600 + 1800, 1);
+        assertEquals(4, deltas.size());
+    }
+
+    @Test
+    void splitsEntryAtWeekBoundary() {
+        // Sunday evening to Monday morning
+        Map<String, TimeRollup> deltas = contribution(entry("2024-03-10T23:00", "2024-03-11T01:00"), 1);
+
+        assertRollup(deltas, RollupPeriod.WEEK, "2024-03-04", 3600, 1);
+        assertRollup(deltas, RollupPeriod.WEEK, "2024-03-11", 3600, 1);
+        assertRollup(deltas, RollupPeriod.MONTH, "2024-03-01", 7200, 1);
+    }
+
+    @Test
+    void splitsEntryAtMonthBoundary() {
+        // Leap day to the first of March within the same week
+        Map<String, TimeRollup> deltas = contribution(entry("2024-02-29T23:15", "2024-03-01T00:45"), 1);
+
+        assertRollup(deltas, RollupPeriod.DAY, "2024-02-29", 2700, 1);
+        assertRollup(deltas, RollupPeriod.DAY, "2024-03-01", 2700, 1);
+        assertRollup(deltas, RollupPeriod.WEEK, "2024-02-26", 5400, 1);
+        assertRollup(deltas, RollupPeriod.MONTH, "2024-02-01", 2700, 1);
+        assertRollup(deltas, RollupPeriod.MONTH, "2024-03-01", 2700, 1);
+    }
+
+    @Test
+    void countsWallClockTimeAcrossDaylightSavingChange() {
+        // Entries are stored as wall clock time, so the server time zone must not change the contribution
+        TimeZone defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/Berlin"));
+        try {
+            // Clocks in Berlin jumped from 02:00 to 03:00 in this night
+            Map<String, TimeRollup> deltas = contribution(entry("2024-03-31T01:30", "2024-03-31T03:30"), 1);
+
+            assertRollup(deltas, RollupPeriod.DAY, "2024-03-31", 7200, 1);
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    @Test
+    void ignoresOpenAndEmptyEntries() {
+        assertTrue(contribution(entry("2024-03-05T09:00", null), 1).isEmpty());
+        assertTrue(contribution(entry("2024-03-05T09:00", "2024-03-05T09:00"), 1).isEmpty());
+        assertTrue(contribution(entry("2024-03-05T09:00", "2024-03-05T08:00"), 1).isEmpty());
+    }
+
+    @Test
+    void removingEntryCancelsItsContribution() {
+        TimeEntry entry = entry("2024-03-05T22:00", "2024-03-06T02:30");
+        Map<String, TimeRollup> deltas = new HashMap<>();
+        TimeRollupDaoImpl.addContribution(entry, 1, deltas);
+        TimeRollupDaoImpl.addContribution(entry, -1, deltas);
+
+        for (TimeRollup delta : deltas.values()) {
+            assertEquals(0, delta.getDurationSeconds());
+            assertEquals(0, delta.getEntries());
+        }
+    }
+
+    @Test
+    void applyDeltasCreatesAndAddsToStoredRollups() throws Exception {
+        LocalDate day = LocalDate.parse("2024-03-05");
+        rollupDao.callInTransaction(() -> {
+            rollupDao.applyDeltas(List.of(new TimeRollup("alice", "p", RollupPeriod.DAY, day, 600, 1)));
+            rollupDao.applyDeltas(List.of(new TimeRollup("alice", "p", RollupPeriod.DAY, day, 300, 1)));
+            return null;
+        });
+
+        TimeRollup stored = rollupDao.getByAttributeMatch("id",
+                TimeRollup.createId("alice", "p", RollupPeriod.DAY, day));
+        assertEquals(900, stored.getDurationSeconds());
+        assertEquals(2, stored.getEntries());
+
+        rollupDao.callInTransaction(() -> {
+            rollupDao.applyDeltas(List.of(new TimeRollup("alice", "p", RollupPeriod.DAY, day, -900, -2)));
+            return null;
+        });
+
+        assertEquals(0, rollupDao.getAll().size());
+    }
+
+    @Test
+    void entryWritesKeepRollupsInSync() throws Exception {
+        TimeEntry entry = entry("2024-03-05T22:00", "2024-03-06T02:30");
+        entryDao.persistChecked(entry);
+        entryDao.persistChecked(new TimeEntry("other", "alice", "p", LocalDateTime.parse("2024-03-06T08:00"),
+                LocalDateTime.parse("2024-03-06T09:00"), null));
+
+        assertStored(RollupPeriod.DAY, "2024-03-06", 2 * 3600 + 1800 + 3600, 2);
+        assertStored(RollupPeriod.WEEK, "2024-03-04", 4 * 3600 + 1800 + 3600, 2);
+
+        // Moving the entry to the next month replaces its previous contribution
+        entryDao.updateChecked(new TimeEntry(entry.getId(), "alice", "p", LocalDateTime.parse("2024-04-01T10:00"),
+                LocalDateTime.parse("2024-04-01T11:00"), null));
+
+        assertNull(storedRollup(RollupPeriod.DAY, "2024-03-05"));
+        assertStored(RollupPeriod.DAY, "2024-03-06", 3600, 1);
+        assertStored(RollupPeriod.MONTH, "2024-04-01", 3600, 1);
+
+        entryDao.deleteChecked(entry);
+
+        assertNull(storedRollup(RollupPeriod.MONTH, "2024-04-01"));
+        assertStored(RollupPeriod.MONTH, "2024-03-01", 3600, 1);
+    }
+
+    private static TimeEntry entry(String start, String end) {
+        return new TimeEntry("entry", "alice", "p", LocalDateTime.parse(start),
+                end == null ? null : LocalDateTime.parse(end), null);
+    }
+
+    private static Map<String, TimeRollup> contribution(TimeEntry entry, int sign) {
+        Map<String, TimeRollup> deltas = new HashMap<>();
+        TimeRollupDaoImpl.addContribution(entry, sign, deltas);
+        return deltas;
+    }
+
+    private static void assertRollup(Map<String, TimeRollup> deltas, RollupPeriod period, String periodStart,
+                                     long durationSeconds, int entries) {
+        TimeRollup rollup = deltas.get(TimeRollup.createId("alice", "p", period, LocalDate.parse(periodStart)));
+        assertEquals(durationSeconds, rollup.getDurationSeconds(), period + " " + periodStart);
+        assertEquals(entries, rollup.getEntries(), period + " " + periodStart);
+    }
+
+    private TimeRollup storedRollup(RollupPeriod period, String periodStart) {
+        return rollupDao.getByAttributeMatch("id",
+                TimeRollup.createId("alice", "p", period, LocalDate.parse(periodStart)));
+    }
+
+    private void assertStored(RollupPeriod period, String periodStart, long durationSeconds, int entries) {
+        TimeRollup rollup = storedRollup(period, periodStart);
+        assertEquals(durationSeconds, rollup.getDurationSeconds(), period + " " + periodStart);
+        assertEquals(entries, rollup.getEntries(), period + " " + periodStart);
+    }
+
+}
@@ -0,0 +1,50 @@
+package dev.bluemedia.timechamp.db.persister;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EpochMillisLocalDateTimePersisterTest {
+
+    private final EpochMillisLocalDateTimePersister persister = EpochMillisLocalDateTimePersister.getSingleton();
+
+    @Test
+    void storesMillisecondsSinceTheEpochInUtc() {
+        assertEquals(0L, persister.javaToSqlArg(null, LocalDateTime.of(1970, 1, 1, 0, 0)));
+        assertEquals(1_700_000_000_123L,
+                persister.javaToSqlArg(null, LocalDateTime.of(2023, 11, 14, 22, 13, 20, 123_000_000)));
+    }
+
+    @Test
+    void roundTripsDateTimes() {
+        LocalDateTime[] dateTimes = {
+                LocalDateTime.of(2024, 2, 29, 23, 59, 59, 999_000_000),
+                // Wall clock times that don't exist or exist twice in zones with daylight saving time
+                LocalDateTime.of(2024, 3, 31, 2, 30),
+                LocalDateTime.of(2024, 10, 27, 2, 30),
+                // Before the epoch, the milliseconds are negative
+                LocalDateTime.of(1969, 12, 31, 23, 59, 59, 1_000_000),
+                LocalDateTime.of(1900, 1, 1, 0, 0, 0, 500_000_000)
+        };
+        for (LocalDateTime dateTime : dateTimes) {
+            Object stored = persister.javaToSqlArg(null, dateTime);
+            assertEquals(dateTime, persister.sqlArgToJava(null, stored, 0), dateTime.toString());
+        }
+    }
+
+    @Test
+    void truncatesToMilliseconds() {
+        LocalDateTime dateTime = LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_789);
+        Object stored = persister.javaToSqlArg(null, dateTime);
+        assertEquals(LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_000_000), persister.sqlArgToJava(null, stored, 0));
+    }
+
+    @Test
+    void storesNullAsNull() {
+        assertNull(persister.javaToSqlArg(null, null));
+    }
+
+}
@@ -0,0 +1,343 @@
+package dev.bluemedia.timechamp.db.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.table.DatabaseTable;
+import com.j256.ormlite.table.TableUtils;
+import dev.bluemedia.timechamp.db.dao.GenericDao;
+import dev.bluemedia.timechamp.model.config.WriteBehindConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindQueueTest {
+
+    @TempDir
+    Path directory;
+
+    private Path journal;
+
+    private JdbcConnectionSource connectionSource;
+
+    private NoteDao noteDao;
+
+    /** Latest opened queue, earlier queues of a test simulate a crashed instance and are never closed */
+    private WriteBehindQueue<Note> latestQueue;
+
+    @BeforeEach
+    void createDatabase() throws Exception {
+        journal = directory.resolve("notes.journal");
+        connectionSource = new JdbcConnectionSource("jdbc:h2:mem:writebehind;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        TableUtils.createTable(connectionSource, Note.class);
+        noteDao = new NoteDao(DaoManager.createDao(connectionSource, Note.class));
+    }
+
+    @AfterEach
+    void dropDatabase() throws Exception {
+        if (latestQueue != null) {
+            latestQueue.close();
+        }
+        TableUtils.dropTable(connectionSource, Note.class, false);
+        connectionSource.close();
+    }
+
+    @Test
+    void replaysJournalAfterCrash() throws Exception {
+        WriteBehindQueue<Note> crashed = openQueue(5);
+        crashed.save(new Note("a", "first"));
+        crashed.save(new Note("b", "first"));
+        crashed.save(new Note("a", "second"));
+        crashed.delete(new Note("c", "deleted"));
+
+        // The crashed queue is never closed, so nothing was flushed
+        WriteBehindQueue<Note> recovered = openQueue(5);
+
+        assertEquals(3, recovered.size());
+        assertEquals("second", recovered.getPending("a").getObject().text);
+        assertTrue(recovered.getPending("c").isDelete());
+        // The recovered journal is compacted to the latest write of every object
+        assertEquals(3, readJournal(journal).size());
+
+        recovered.flush();
+
+        assertEquals("second", noteDao.getByAttributeMatch("id", "a").text);
+        assertEquals("first", noteDao.getByAttributeMatch("id", "b").text);
+        assertEquals(0, recovered.size());
+        assertEquals(0, readJournal(journal).size());
+    }
+
+    @Test
+    void replaysFlushingJournalBeforeNewerWrites() throws Exception {
+        // A crash during a flush leaves the writes of the flush in the flushing journal
+        WriteBehindQueue<Note> crashed = openQueue(5);
+        crashed.save(new Note("a", "flushing"));
+        crashed.save(new Note("b", "flushing"));
+        Path flushing = Path.of(journal + ".flushing");
+        Files.move(journal, flushing);
+        Files.write(journal, readJournal(flushing).get(0).replace("flushing", "newer")
+                .concat("\n").getBytes(StandardCharsets.UTF_8));
+
+        WriteBehindQueue<Note> recovered = openQueue(5);
+
+        assertEquals("newer", recovered.getPending("a").getObject().text);
+        assertEquals("flushing", recovered.getPending("b").getObject().text);
+        assertFalse(Files.exists(flushing));
+    }
+
+    @Test
+    void skipsTruncatedLastRecord() throws Exception {
+        WriteBehindQueue<Note> crashed = openQueue(5);
+        crashed.save(new Note("a", "complete"));
+        crashed.save(new Note("b", "complete"));
+        // The crash interrupted the append of the last record, which was never acknowledged
+        Files.write(journal, "{\"op\":\"SAVE\",\"attempts\":0,\"data\":{\"id\":\"c\",\"te"
+                .getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        WriteBehindQueue<Note> recovered = openQueue(5);
+
+        assertEquals(2, recovered.size());
+        assertNull(recovered.getPending("c"));
+        assertEquals(List.of("a", "b"), journaledIds(journal));
+
+        // New writes are appended behind the compacted records instead of the damaged one
+        recovered.save(new Note("d", "after"));
+        assertEquals(List.of("a", "b", "d"), journaledIds(journal));
+    }
+
+    @Test
+    void skipsCorruptLastRecord() throws Exception {
+        WriteBehindQueue<Note> crashed = openQueue(5);
+        crashed.save(new Note("a", "complete"));
+        Files.write(journal, new byte[] {0, 0, 0, 0, '\n'}, StandardOpenOption.APPEND);
+
+        WriteBehindQueue<Note> recovered = openQueue(5);
+
+        assertEquals(1, recovered.size());
+        assertEquals(List.of("a"), journaledIds(journal));
+    }
+
+    @Test
+    void keepsFailedWritesOfPartiallySucceedingReplay() throws Exception {
+        WriteBehindQueue<Note> crashed = openQueue(5);
+        crashed.save(new Note("a", "replayed"));
+        crashed.save(new Note("b", "replayed"));
+        crashed.save(new Note("c", "replayed"));
+
+        noteDao.failing.put("b", new SQLException("Constraint violated"));
+        WriteBehindQueue<Note> recovered = openQueue(5);
+        recovered.flush();
+
+        assertEquals("replayed", noteDao.getByAttributeMatch("id", "a").text);
+        assertEquals("replayed", noteDao.getByAttributeMatch("id", "c").text);
+        assertNull(noteDao.getByAttributeMatch("id", "b"));
+        assertEquals(1, recovered.size());
+        assertEquals(1, recovered.getPending("b").getAttempts());
+        assertFalse(Files.exists(Path.of(journal + ".flushing")));
+
+        // The failed attempt survives another crash
+        WriteBehindQueue<Note> recoveredAgain = openQueue(5);
+        assertEquals(List.of("b"), journaledIds(journal));
+        assertEquals(1, recoveredAgain.getPending("b").getAttempts());
+
+        noteDao.failing.clear();
+        recoveredAgain.flush();
+
+        assertEquals("replayed", noteDao.getByAttributeMatch("id", "b").text);
+        assertEquals(0, recoveredAgain.size());
+    }
+
+    @Test
+    void requeuesFailedWritesBehindNewerWrites() throws Exception {
+        WriteBehindQueue<Note> queue = openQueue(5);
+        queue.save(new Note("a", "first"));
+        queue.save(new Note("b", "first"));
+        noteDao.failing.put("a", new SQLException("Constraint violated"));
+        // Writes arriving while the flush runs are queued for the next flush
+        noteDao.onWrite = note -> {
+            if (note.id.equals("a") && queue.getPending("a").getObject().text.equals("first")) {
+                saveQuietly(queue, new Note("a", "second"));
+                saveQuietly(queue, new Note("c", "during flush"));
+            }
+        };
+
+        queue.flush();
+
+        // The newer write of a replaces the failed one, also in the journal
+        assertEquals("second", queue.getPending("a").getObject().text);
+        assertEquals(0, queue.getPending("a").getAttempts());
+        assertEquals(List.of("a", "c"), journaledIds(journal));
+        assertEquals("first", noteDao.getByAttributeMatch("id", "b").text);
+
+        noteDao.failing.clear();
+        noteDao.onWrite = note -> { };
+        queue.flush();
+
+        assertEquals("second", noteDao.getByAttributeMatch("id", "a").text);
+        assertEquals("during flush", noteDao.getByAttributeMatch("id", "c").text);
+    }
+
+    @Test
+    void requeuedWriteDoesNotOverrideNewerWriteOnReplay() throws Exception {
+        WriteBehindQueue<Note> crashed = openQueue(5);
+        crashed.save(new Note("a", "first"));
+        crashed.save(new Note("b", "first"));
+        noteDao.failing.put("b", new SQLException("Constraint violated"));
+        crashed.flush();
+        crashed.save(new Note("b", "second"));
+        crashed.save(new Note("a", "second"));
+
+        WriteBehindQueue<Note> recovered = openQueue(5);
+
+        assertEquals("second", recovered.getPending("a").getObject().text);
+        assertEquals("second", recovered.getPending("b").getObject().text);
+        // The newer write of b replaced the requeued one and starts without failed attempts
+        assertEquals(0, recovered.getPending("b").getAttempts());
+    }
+
+    @Test
+    void movesWritesToDeadLetterFileAfterMaxAttempts() throws Exception {
+        WriteBehindQueue<Note> queue = openQueue(2);
+        queue.save(new Note("a", "valid"));
+        queue.save(new Note("b", "invalid"));
+        noteDao.failing.put("b", new SQLException("Constraint violated"));
+
+        queue.flush();
+        assertEquals(1, queue.getPending("b").getAttempts());
+
+        queue.flush();
+
+        assertEquals(0, queue.size());
+        Path deadLetters = Path.of(journal + ".dead");
+        assertEquals(List.of("b"), journaledIds(deadLetters));
+        assertTrue(readJournal(deadLetters).get(0).contains("\"attempts\":2"));
+        assertEquals(0, readJournal(journal).size());
+        assertEquals(0, openQueue(2).size());
+    }
+
+    @Test
+    void doesNotCountFailuresOfUnavailableDatabase() throws Exception {
+        WriteBehindQueue<Note> queue = openQueue(2);
+        queue.save(new Note("a", "valid"));
+        noteDao.failing.put("a", new SQLTransientConnectionException("Connection refused"));
+
+        queue.flush();
+        queue.flush();
+        queue.flush();
+
+        assertEquals(0, queue.getPending("a").getAttempts());
+        assertFalse(Files.exists(Path.of(journal + ".dead")));
+    }
+
+    private WriteBehindQueue<Note> openQueue(int maxAttempts) throws IOException {
+        // Flushes are only triggered by the tests
+        WriteBehindConfig config = new ObjectMapper().readValue(String.format(
+                "{\"journalFile\": \"%s\", \"batchSize\": 100, \"flushIntervalMillis\": 3600000, \"maxAttempts\": %d}",
+                journal.toString().replace("\\", "\\\\"), maxAttempts), WriteBehindConfig.class);
+        WriteBehindQueue<Note> queue = new WriteBehindQueue<>("Note", noteDao, Note.class, note -> note.id, config);
+        latestQueue = queue;
+        return queue;
+    }
+
+    private static List<String> readJournal(Path path) throws IOException {
+        List<String> records = new ArrayList<>();
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                records.add(line);
+            }
+        }
+        return records;
+    }
+
+    private static List<String> journaledIds(Path path) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> ids = new ArrayList<>();
+        for (String record : readJournal(path)) {
+            ids.add(mapper.readTree(record).get("data").get("id").asText());
+        }
+        return ids;
+    }
+
+    private static void saveQuietly(WriteBehindQueue<Note> queue, Note note) {
+        try {
+            queue.save(note);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @DatabaseTable(tableName = "write_behind_notes")
+    public static class Note {
+
+        @DatabaseField(id = true)
+        public String id;
+
+        @DatabaseField
+        public String text;
+
+        public Note() {}
+
+        Note(String id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+
+    }
+
+    /**
+     * DAO failing the writes of selected objects.
+     */
+    private static class NoteDao extends GenericDao<Note> {
+
+        private final Map<String, SQLException> failing = new HashMap<>();
+
+        private Consumer<Note> onWrite = note -> { };
+
+        private NoteDao(Dao<Note, String> dao) {
+            super(dao);
+        }
+
+        @Override
+        protected int createObject(Note object) throws SQLException {
+            check(object);
+            return super.createObject(object);
+        }
+
+        @Override
+        protected int updateObject(Note object) throws SQLException {
+            check(object);
+            return super.updateObject(object);
+        }
+
+        private void check(Note object) throws SQLException {
+            onWrite.accept(object);
+            SQLException failure = failing.get(object.id);
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,97 @@
+package dev.bluemedia.timechamp.overtime;
+
+import dev.bluemedia.timechamp.model.type.RollupPeriod;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OvertimeCalculatorTest {
+
+    /** Targets from Monday to Sunday, distinct per day so the weekday of every target can be told apart */
+    private static final int[] WEEKDAY_TARGETS = {480, 481, 482, 483, 484, 0, 1};
+
+    @Test
+    void weekdayIndexMatchesDayOfWeek() {
+        // Includes days before the epoch, which have a negative epoch day
+        for (long epochDay = -800; epochDay <= 800; epochDay++) {
+            int expected = LocalDate.ofEpochDay(epochDay).getDayOfWeek().getValue() - 1;
+            assertEquals(expected, OvertimeCalculator.weekdayIndex(epochDay), "epoch day " + epochDay);
+        }
+    }
+
+    @Test
+    void weekdayIndexOfEpoch() {
+        // 1970-01-01 was a Thursday
+        assertEquals(3, OvertimeCalculator.weekdayIndex(0));
+        assertEquals(2, OvertimeCalculator.weekdayIndex(-1));
+    }
+
+    @Test
+    void targetMinutesWrapAroundTheWeek() {
+        // 2024-03-09 is a Saturday
+        long firstDay = LocalDate.of(2024, 3, 9).toEpochDay();
+        assertArrayEquals(new int[] {0, 1, 480, 481, 482, 483, 484, 0, 1},
+                OvertimeCalculator.targetMinutes(firstDay, 9, WEEKDAY_TARGETS));
+    }
+
+    @Test
+    void targetMinutesRequireEveryWeekday() {
+        assertThrows(IllegalArgumentException.class, () -> OvertimeCalculator.targetMinutes(0, 7, new int[6]));
+    }
+
+    @Test
+    void runningBalanceAccumulatesDifferences() {
+        assertArrayEquals(new long[] {30, -30, -30, 60},
+                OvertimeCalculator.runningBalance(new int[] {510, 420, 480, 90}, new int[] {480, 480, 480, 0}));
+    }
+
+    @Test
+    void dayBoundariesStartEveryDay() {
+        assertArrayEquals(new int[] {0, 1, 2}, OvertimeCalculator.periodBoundaries(0, 3, RollupPeriod.DAY));
+    }
+
+    @Test
+    void boundariesOfEmptyRange() {
+        assertArrayEquals(new int[0], OvertimeCalculator.periodBoundaries(0, 0, RollupPeriod.WEEK));
+    }
+
+    @Test
+    void weekBoundariesAcrossTheYear() {
+        // 2020-12-30 is a Wednesday in ISO week 53 of 2020, the next weeks start on 2021-01-04 and 2021-01-11
+        long firstDay = LocalDate.of(2020, 12, 30).toEpochDay();
+        assertArrayEquals(new int[] {0, 5, 12}, OvertimeCalculator.periodBoundaries(firstDay, 14, RollupPeriod.WEEK));
+    }
+
+    @Test
+    void weekBoundariesStartingOnMonday() {
+        // 2024-12-30 is the Monday starting ISO week 1 of 2025
+        long firstDay = LocalDate.of(2024, 12, 30).toEpochDay();
+        assertArrayEquals(new int[] {0, 7}, OvertimeCalculator.periodBoundaries(firstDay, 8, RollupPeriod.WEEK));
+        assertArrayEquals(new int[] {0}, OvertimeCalculator.periodBoundaries(firstDay, 7, RollupPeriod.WEEK));
+    }
+
+    @Test
+    void monthBoundariesAcrossLeapFebruary() {
+        // Starts on the last day of January, February 2024 has 29 days
+        long firstDay = LocalDate.of(2024, 1, 31).toEpochDay();
+        assertArrayEquals(new int[] {0, 1, 30}, OvertimeCalculator.periodBoundaries(firstDay, 31, RollupPeriod.MONTH));
+    }
+
+    @Test
+    void monthBoundariesAcrossTheYear() {
+        long firstDay = LocalDate.of(2023, 12, 15).toEpochDay();
+        assertArrayEquals(new int[] {0, 17, 48}, OvertimeCalculator.periodBoundaries(firstDay, 60, RollupPeriod.MONTH));
+    }
+
+    @Test
+    void periodSumsUseTheBoundaries() {
+        int[] values = {1, 2, 3, 4, 5, 6};
+        assertArrayEquals(new long[] {3, 7, 11}, OvertimeCalculator.periodSums(values, new int[] {0, 2, 4}));
+        assertArrayEquals(new long[] {21}, OvertimeCalculator.periodSums(values, new int[] {0}));
+    }
+
+}
@@ -0,0 +1,92 @@
+package dev.bluemedia.timechamp.overtime;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.table.TableUtils;
+import dev.bluemedia.timechamp.db.dao.TimeRollupDaoImpl;
+import dev.bluemedia.timechamp.model.object.TimeRollup;
+import dev.bluemedia.timechamp.model.response.OvertimeBalance;
+import dev.bluemedia.timechamp.model.type.RollupPeriod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OvertimeEngineTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+
+    private JdbcConnectionSource connectionSource;
+
+    private Dao<TimeRollup, String> dao;
+
+    private TimeRollupDaoImpl rollupDao;
+
+    @BeforeEach
+    void createDatabase() throws Exception {
+        connectionSource = new JdbcConnectionSource("jdbc:h2:mem:overtime;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dao = DaoManager.createDao(connectionSource, TimeRollup.class);
+        TableUtils.createTable(connectionSource, TimeRollup.class);
+        rollupDao = new TimeRollupDaoImpl(dao, dao);
+    }
+
+    @AfterEach
+    void dropDatabase() throws Exception {
+        TableUtils.dropTable(connectionSource, TimeRollup.class, false);
+        connectionSource.close();
+    }
+
+    @Test
+    void addsUpSecondsOfAllProjectsBeforeRoundingPerDay() throws Exception {
+        // Three projects with 40 seconds each on the first day, 20 minutes 59 seconds on the second day
+        addDay("alice", "a", MONDAY, 40);
+        addDay("alice", "b", MONDAY, 40);
+        addDay("alice", "c", MONDAY, 40);
+        addDay("alice", "a", MONDAY.plusDays(1), 10 * 60 + 30);
+        addDay("alice", "b", MONDAY.plusDays(1), 10 * 60 + 29);
+
+        List<WorkTimeline> timelines = OvertimeEngine.loadTimelines(rollupDao, "alice", MONDAY, MONDAY.plusDays(2));
+
+        assertEquals(1, timelines.size());
+        assertArrayEquals(new int[] {2, 20, 0}, timelines.get(0).getWorkedMinutes());
+    }
+
+    @Test
+    void balanceKeepsPartialMinutesOverLongRanges() throws Exception {
+        // Two projects with 30 seconds every day for a year add up to one minute per day
+        LocalDate to = MONDAY.plusDays(364);
+        for (LocalDate day = MONDAY; !day.isAfter(to); day = day.plusDays(1)) {
+            addDay("bob", "a", day, 30);
+            addDay("bob", "b", day, 30);
+        }
+
+        List<WorkTimeline> timelines = OvertimeEngine.loadTimelines(rollupDao, null, MONDAY, to);
+        OvertimeBalance balance = new OvertimeEngine(new int[7]).calculate(timelines.get(0), null);
+
+        assertEquals("bob", balance.userId);
+        assertEquals(365, balance.workedMinutes);
+        assertEquals(365, balance.balanceMinutes);
+    }
+
+    @Test
+    void includesRequestedUserWithoutRollups() throws Exception {
+        List<WorkTimeline> timelines = OvertimeEngine.loadTimelines(rollupDao, "carol", MONDAY, MONDAY);
+
+        assertEquals(1, timelines.size());
+        assertArrayEquals(new int[] {0}, timelines.get(0).getWorkedMinutes());
+    }
+
+    /**
+     * Store the daily rollup of a project.
+     */
+    private void addDay(String userId, String projectId, LocalDate day, long seconds) throws Exception {
+        dao.create(new TimeRollup(userId, projectId, RollupPeriod.DAY, day, seconds, 1));
+    }
+
+}
@@ -0,0 +1,98 @@
+package dev.bluemedia.timechamp.util;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local load test of the web server thread pool. Sends GET requests to a running server from a fixed amount of
+ * concurrent clients and prints the throughput and latency percentiles. Not run by the test phase, start it
+ * against a server using the thread pool settings that should be compared, e.g.
+ * <pre>
+ * mvn -B test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=dev.bluemedia.timechamp.util.HttpLoadGenerator \
+ *     -Dexec.args="http://localhost:8080/api/reports/export/entries?userId=load 200 30"
+ * </pre>
+ */
+public class HttpLoadGenerator {
+
+    /**
+     * Run the load test.
+     * @param args URL, amount of concurrent clients and duration in seconds.
+     * @throws InterruptedException Exception thrown if the load test was interrupted.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length != 3) {
+            System.err.println("Usage: HttpLoadGenerator <url> <concurrency> <seconds>");
+            System.exit(1);
+        }
+        URI uri = URI.create(args[0]);
+        int concurrency = Integer.parseInt(args[1]);
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(args[2]));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(Math.min(concurrency, 64)))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+        AtomicLong errors = new AtomicLong();
+        List<List<Long>> latencies = new ArrayList<>();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        for (int i = 0; i < concurrency; i++) {
+            List<Long> clientLatencies = new ArrayList<>();
+            latencies.add(clientLatencies);
+            clients.execute(() -> {
+                while (System.nanoTime() < end) {
+                    long requestStart = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        clientLatencies.add(System.nanoTime() - requestStart);
+                    } catch (Exception ex) {
+                        errors.incrementAndGet();
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(durationNanos + TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        List<Long> all = new ArrayList<>();
+        latencies.forEach(all::addAll);
+        Collections.sort(all);
+        System.out.printf("%d requests in %.1f s (%.1f req/s), %d errors%n", all.size(), seconds,
+                all.size() / seconds, errors.get());
+        if (!all.isEmpty()) {
+            System.out.printf("latency p50 %.1f ms, p99 %.1f ms, max %.1f ms%n", percentile(all, 0.5),
+                    percentile(all, 0.99), all.get(all.size() - 1) / 1e6);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Get a percentile of the given sorted latencies.
+     * @param sorted Sorted latencies in nanoseconds.
+     * @param percentile Percentile between 0 and 1.
+     * @return Latency of the percentile in milliseconds.
+     */
+    private static double percentile(List<Long> sorted, double percentile) {
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.round(percentile * sorted.size()))) / 1e6;
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Writes gzip and brotli variants of the compressible build output next to the original files,
+ * so the backend can serve them precompressed instead of compressing on every request.
+ */
+const fs = require('fs');
+const path = require('path');
+const zlib = require('zlib');
+
+const distDir = path.resolve(__dirname, '..', 'dist');
+const compressible = /\.(js|css|html|svg|json|map|txt|ico)$/;
+// Compressing tiny files gains nothing and only adds lookups
+const minSize = 1024;
+
+const variants = [
+  {
+    extension: '.gz',
+    compress: (content) => zlib.gzipSync(content, { level: zlib.constants.Z_BEST_COMPRESSION }),
+  },
+  {
+    extension: '.br',
+    compress: (content) => zlib.brotliCompressSync(content, {
+      params: {
+        [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+        [zlib.constants.BROTLI_PARAM_SIZE_HINT]: content.length,
+      },
+    }),
+  },
+];
+
+function listFiles(dir) {
+  return fs.readdirSync(dir, { withFileTypes: true }).flatMap((entry) => {
+    const file = path.join(dir, entry.name);
+    return entry.isDirectory() ? listFiles(file) : [file];
+  });
+}
+
+let written = 0;
+for (const file of listFiles(distDir)) {
+  if (!compressible.test(file)) {
+    continue;
+  }
+  const content = fs.readFileSync(file);
+  if (content.length < minSize) {
+    continue;
+  }
+  for (const variant of variants) {
+    const compressed = variant.compress(content);
+    // Only keep variants that are actually smaller than the original
+    if (compressed.length < content.length) {
+      fs.writeFileSync(file + variant.extension, compressed);
+      written++;
+    }
+  }
+}
+console.log(`Wrote ${written} precompressed files to ${distDir}`);